@@ -0,0 +1,198 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link CompletableFuture} of the asynchronous execution of a query, whose {@link #cancel(boolean)} also cancels the
+ * statement being executed via {@link Statement#cancel()}.
+ * <p>
+ * An execution that is cancelled while it's running completes the future (exceptionally with a
+ * {@link CancellationException}) only when it has stopped using its connection, so that the connection can be used
+ * again as soon as the future completes.
+ *
+ * @param <T> type of the result of the query
+ */
+
+class AsyncExecution<T> extends CompletableFuture<T> {
+    /**
+     * Executes each task on a new virtual thread
+     */
+    static final Executor VIRTUAL_THREAD_EXECUTOR = task -> Thread.ofVirtual().name("sql4j-async").start(task);
+
+    /**
+     * The statement prepared by the execution, null until it's prepared
+     */
+    private volatile Statement stmt;
+
+    private static final int NEW = 0;
+    private static final int RUNNING = 1;
+    private static final int CANCELLING = 2;
+    private static final int ENDED = 3;
+
+    /**
+     * The state of the execution: {@link #NEW}, {@link #RUNNING}, {@link #CANCELLING} (while a running execution is
+     * being stopped) or {@link #ENDED}
+     */
+    private final AtomicInteger state = new AtomicInteger(NEW);
+
+    private AsyncExecution() {
+    }
+
+    /**
+     * Executes the given query execution on the given executor, with a connection that tracks the statement prepared
+     * by the execution so that it can be cancelled
+     *
+     * @return a future of the result of the execution
+     */
+    static <T> CompletableFuture<T> start(Connection con, Executor executor, QueryExecution<T> execution) {
+        AsyncExecution<T> future = new AsyncExecution<>();
+        Connection trackingCon = future.tracking(con);
+        return future.run(executor, () -> execution.execute(trackingCon));
+    }
+
+    /**
+     * Same as {@link #start(Connection, Executor, QueryExecution)} with a connection got from the given provider when
+     * the execution starts, which is closed when it ends
+     */
+    static <T> CompletableFuture<T> start(ConnectionProvider provider, Executor executor, QueryExecution<T> execution) {
+        AsyncExecution<T> future = new AsyncExecution<>();
+        return future.run(executor, () -> {
+            try (Connection con = provider.getConnection()) {
+                return execution.execute(future.tracking(con));
+            }
+        });
+    }
+
+    /**
+     * @return a connection that delegates to the given connection, and tracks the statements it prepares
+     */
+    private Connection tracking(Connection con) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new TrackingHandler(con));
+    }
+
+    private CompletableFuture<T> run(Executor executor, Callable<T> task) {
+        try {
+            executor.execute(() -> {
+                if (!state.compareAndSet(NEW, RUNNING)) {
+                    // Cancelled before it started
+                    return;
+                }
+                T result = null;
+                Throwable failure = null;
+                try {
+                    result = task.call();
+                } catch (Throwable e) {
+                    failure = e;
+                }
+                if (!state.compareAndSet(RUNNING, ENDED)) {
+                    // Cancelled while it was running, and it's done with the connection now
+                    completeExceptionally(new CancellationException("execution of the query is cancelled"));
+                } else if (failure != null) {
+                    completeExceptionally(failure);
+                } else {
+                    complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            // e.g. RejectedExecutionException
+            if (state.compareAndSet(NEW, ENDED)) {
+                completeExceptionally(e);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Cancels the execution: if it hasn't started yet, the future is cancelled right away, otherwise the statement
+     * being executed is cancelled and the future is cancelled when the execution has stopped
+     *
+     * @param mayInterruptIfRunning this value has no effect, as the execution is stopped by cancelling its statement
+     * @return true if the execution is (or is being) cancelled
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (state.compareAndSet(NEW, ENDED)) {
+            return super.cancel(mayInterruptIfRunning);
+        }
+        if (state.compareAndSet(RUNNING, CANCELLING)) {
+            Statement stmt = this.stmt;
+            if (stmt != null) {
+                try {
+                    stmt.cancel();
+                } catch (SQLException e) {
+                    // The statement may be closed already, in which case there is nothing to cancel anyway
+                }
+            }
+            return true;
+        }
+        return state.get() == CANCELLING || isCancelled();
+    }
+
+    private class TrackingHandler implements Utils.ConnectionWrapper {
+        private final Connection con;
+
+        private TrackingHandler(Connection con) {
+            this.con = con;
+        }
+
+        @Override
+        public Connection wrapped() {
+            return con;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> "AsyncExecution connection of " + con;
+                default -> {
+                    Object result = Utils.invoke(con, method, args);
+                    if (result instanceof Statement stmt) {
+                        AsyncExecution.this.stmt = stmt;
+                        if (state.get() == CANCELLING) {
+                            stmt.close();
+                            throw new SQLException("execution of the query is cancelled");
+                        }
+                    }
+                    yield result;
+                }
+            };
+        }
+    }
+
+    @FunctionalInterface
+    interface QueryExecution<T> {
+        T execute(Connection con) throws SQLException;
+    }
+}
@@ -20,14 +20,13 @@ package org.sql4j.sql.query;
  * ===============================LICENSE_END===============================
  */
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 
 import java.sql.Types;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Stream;
 
 /**
  * Class representing a column used in sql queries
@@ -49,20 +48,27 @@ public class Column<T> {
     private final int sqlType;
     private final String alias;
     private final Order order;
+    /**
+     * True if the column is an aggregate (e.g. via {@link #max()}) or the {@code DISTINCT} values (via
+     * {@link #distinct()}) of a column, whose values aren't one per matching row
+     */
+    @Getter(AccessLevel.NONE)
+    private final boolean aggregated;
 
     private Column(@NonNull String name, int sqlType) {
         this(name, sqlType, null);
     }
 
     private Column(@NonNull String name, int sqlType, String alias) {
-        this(name, sqlType, alias, null);
+        this(name, sqlType, alias, null, false);
     }
 
-    private Column(@NonNull String name, int sqlType, String alias, Order order) {
+    private Column(@NonNull String name, int sqlType, String alias, Order order, boolean aggregated) {
         this.name = name;
         this.sqlType = sqlType;
         this.alias = alias;
         this.order = order;
+        this.aggregated = aggregated;
     }
 
     /**
@@ -102,21 +108,21 @@ public class Column<T> {
      * @return a copy of the caller Column object with the given {@code alias}
      */
     public Column<T> as(String alias) {
-        return new Column<>(name, sqlType, Utils.enquoteAliasWithSpaces(alias), order);
+        return new Column<>(name, sqlType, Utils.enquoteAliasWithSpaces(alias), order, aggregated);
     }
 
     /**
      * @return a copy of the caller Column object with the {@code ASC} order used in {@code ORDER BY} clause
      */
     public Column<T> asc() {
-        return new Column<>(name, sqlType, alias, Order.ASC);
+        return new Column<>(name, sqlType, alias, Order.ASC, aggregated);
     }
 
     /**
      * @return a copy of the caller Column object with the {@code DESC} order used in {@code ORDER BY} clause
      */
     public Column<T> desc() {
-        return new Column<>(name, sqlType, alias, Order.DESC);
+        return new Column<>(name, sqlType, alias, Order.DESC, aggregated);
     }
 
     /**
@@ -126,56 +132,56 @@ public class Column<T> {
      * @return a copy of the caller Column object with qualified name
      */
     public Column<T> of(@NonNull Table table) {
-        return new Column<>(Optional.ofNullable(table.getAlias()).orElse(table.getName()) + "." + name, sqlType, alias, order);
+        return new Column<>((table.getAlias() != null ? table.getAlias() : table.getName()) + "." + name, sqlType, alias, order, aggregated);
     }
 
     /**
      * @return a copy of the caller Column object with a new name {@code MIN(<column name>)} used to return minimum value of this column
      */
     public Column<T> min() {
-        return new Column<>("MIN(" + name + ")", sqlType, alias, order);
+        return new Column<>("MIN(" + name + ")", sqlType, alias, order, true);
     }
 
     /**
      * @return a copy of the caller Column object with a new name {@code MAX(<column name>)} used to return maximum value of this column
      */
     public Column<T> max() {
-        return new Column<>("MAX(" + name + ")", sqlType, alias, order);
+        return new Column<>("MAX(" + name + ")", sqlType, alias, order, true);
     }
 
     /**
      * @return a copy of the caller Column object with a new name {@code SUM(<column name>)} used to return sum of all values of this column
      */
     public Column<T> sum() {
-        return new Column<>("SUM(" + name + ")", sqlType, alias, order);
+        return new Column<>("SUM(" + name + ")", sqlType, alias, order, true);
     }
 
     /**
      * @return a copy of the caller Column object with a new name {@code AVG(<column name>)} used to return average of all values of this column
      */
     public Column<T> avg() {
-        return new Column<>("AVG(" + name + ")", sqlType, alias, order);
+        return new Column<>("AVG(" + name + ")", sqlType, alias, order, true);
     }
 
     /**
      * @return a copy of the caller Column object with a new name {@code COUNT(<column name>)} used to return a count of all values of this column
      */
     public Column<T> count() {
-        return new Column<>("COUNT(" + name + ")", sqlType, alias, order);
+        return new Column<>("COUNT(" + name + ")", sqlType, alias, order, true);
     }
 
     /**
      * @return a copy of the caller Column object with a new name {@code DISTINCT <column name>} used to return distinct values of this column
      */
     public Column<T> distinct() {
-        return new Column<>("DISTINCT " + name, sqlType, alias, order);
+        return new Column<>("DISTINCT " + name, sqlType, alias, order, true);
     }
 
     /**
      * @return a copy of the caller Column object with a new name {@code COUNT(DISTINCT <column name>)} used to return a count of distinct values of this column
      */
     public Column<T> countDistinct() {
-        return new Column<>("COUNT(DISTINCT " + name + ")", sqlType, alias, order);
+        return new Column<>("COUNT(DISTINCT " + name + ")", sqlType, alias, order, true);
     }
 
     /**
@@ -186,12 +192,31 @@ public class Column<T> {
         return new ColumnValue(name, sqlType, value);
     }
 
+    /**
+     * Same as {@link #value(Object)} but with a {@link Param} in place of the value, so that the value can be bound
+     * when executing the query.
+     *
+     * @param param a {@link Param} for a value of the caller Column, to be inserted or updated in a table
+     * @return a {@link ColumnValue} object representing the caller Column and its given {@code param}
+     */
+    public ColumnValue param(@NonNull Param<T> param) {
+        return new ColumnValue(name, sqlType, param);
+    }
+
     /**
      * @param value a value of the caller Column
      * @return a {@link Filter} object with the condition {@code column = value}
      */
     public Filter equalTo(@NonNull T value) {
-        return new Filter(name + " = ?", List.of(value));
+        return new Filter(name + " = ?", List.of(value), sqlType);
+    }
+
+    /**
+     * @param param a {@link Param} for a value of the caller Column
+     * @return a {@link Filter} object with the condition {@code column = param}
+     */
+    public Filter equalTo(@NonNull Param<T> param) {
+        return new Filter(name + " = ?", List.of(param), sqlType);
     }
 
     /**
@@ -199,7 +224,15 @@ public class Column<T> {
      * @return a {@link Filter} object with the condition {@code column != value}
      */
     public Filter notEqualTo(@NonNull T value) {
-        return new Filter(name + " != ?", List.of(value));
+        return new Filter(name + " != ?", List.of(value), sqlType);
+    }
+
+    /**
+     * @param param a {@link Param} for a value of the caller Column
+     * @return a {@link Filter} object with the condition {@code column != param}
+     */
+    public Filter notEqualTo(@NonNull Param<T> param) {
+        return new Filter(name + " != ?", List.of(param), sqlType);
     }
 
     /**
@@ -207,7 +240,15 @@ public class Column<T> {
      * @return a {@link Filter} object with the condition {@code column > value}
      */
     public Filter greaterThan(@NonNull T value) {
-        return new Filter(name + " > ?", List.of(value));
+        return new Filter(name + " > ?", List.of(value), sqlType);
+    }
+
+    /**
+     * @param param a {@link Param} for a value of the caller Column
+     * @return a {@link Filter} object with the condition {@code column > param}
+     */
+    public Filter greaterThan(@NonNull Param<T> param) {
+        return new Filter(name + " > ?", List.of(param), sqlType);
     }
 
     /**
@@ -215,7 +256,15 @@ public class Column<T> {
      * @return a {@link Filter} object with the condition {@code column >= value}
      */
     public Filter greaterThanOrEqualTo(@NonNull T value) {
-        return new Filter(name + " >= ?", List.of(value));
+        return new Filter(name + " >= ?", List.of(value), sqlType);
+    }
+
+    /**
+     * @param param a {@link Param} for a value of the caller Column
+     * @return a {@link Filter} object with the condition {@code column >= param}
+     */
+    public Filter greaterThanOrEqualTo(@NonNull Param<T> param) {
+        return new Filter(name + " >= ?", List.of(param), sqlType);
     }
 
     /**
@@ -223,7 +272,15 @@ public class Column<T> {
      * @return a {@link Filter} object with the condition {@code column < value}
      */
     public Filter lessThan(@NonNull T value) {
-        return new Filter(name + " < ?", List.of(value));
+        return new Filter(name + " < ?", List.of(value), sqlType);
+    }
+
+    /**
+     * @param param a {@link Param} for a value of the caller Column
+     * @return a {@link Filter} object with the condition {@code column < param}
+     */
+    public Filter lessThan(@NonNull Param<T> param) {
+        return new Filter(name + " < ?", List.of(param), sqlType);
     }
 
     /**
@@ -231,7 +288,15 @@ public class Column<T> {
      * @return a {@link Filter} object with the condition {@code column <= value}
      */
     public Filter lessThanOrEqualTo(@NonNull T value) {
-        return new Filter(name + " <= ?", List.of(value));
+        return new Filter(name + " <= ?", List.of(value), sqlType);
+    }
+
+    /**
+     * @param param a {@link Param} for a value of the caller Column
+     * @return a {@link Filter} object with the condition {@code column <= param}
+     */
+    public Filter lessThanOrEqualTo(@NonNull Param<T> param) {
+        return new Filter(name + " <= ?", List.of(param), sqlType);
     }
 
     /**
@@ -240,7 +305,16 @@ public class Column<T> {
      * @return a {@link Filter} object with the condition {@code column BETWEEN value1 AND value2}
      */
     public Filter between(@NonNull T value1, @NonNull T value2) {
-        return new Filter(name + " BETWEEN ? AND ?", List.of(value1, value2));
+        return new Filter(name + " BETWEEN ? AND ?", List.of(value1, value2), sqlType);
+    }
+
+    /**
+     * @param param1 a {@link Param} for a value of the caller Column
+     * @param param2 a {@link Param} for another value of the caller Column
+     * @return a {@link Filter} object with the condition {@code column BETWEEN param1 AND param2}
+     */
+    public Filter between(@NonNull Param<T> param1, @NonNull Param<T> param2) {
+        return new Filter(name + " BETWEEN ? AND ?", List.of(param1, param2), sqlType);
     }
 
     /**
@@ -249,7 +323,16 @@ public class Column<T> {
      * @return a {@link Filter} object with the condition {@code column NOT BETWEEN value1 AND value2}
      */
     public Filter notBetween(@NonNull T value1, @NonNull T value2) {
-        return new Filter(name + " NOT BETWEEN ? AND ?", List.of(value1, value2));
+        return new Filter(name + " NOT BETWEEN ? AND ?", List.of(value1, value2), sqlType);
+    }
+
+    /**
+     * @param param1 a {@link Param} for a value of the caller Column
+     * @param param2 a {@link Param} for another value of the caller Column
+     * @return a {@link Filter} object with the condition {@code column NOT BETWEEN param1 AND param2}
+     */
+    public Filter notBetween(@NonNull Param<T> param1, @NonNull Param<T> param2) {
+        return new Filter(name + " NOT BETWEEN ? AND ?", List.of(param1, param2), sqlType);
     }
 
     /**
@@ -257,7 +340,15 @@ public class Column<T> {
      * @return a {@link Filter} object with the condition {@code column LIKE value}
      */
     public Filter like(@NonNull T value) {
-        return new Filter(name + " LIKE ?", List.of(value));
+        return new Filter(name + " LIKE ?", List.of(value), sqlType);
+    }
+
+    /**
+     * @param param a {@link Param} for a value of the caller Column
+     * @return a {@link Filter} object with the condition {@code column LIKE param}
+     */
+    public Filter like(@NonNull Param<T> param) {
+        return new Filter(name + " LIKE ?", List.of(param), sqlType);
     }
 
     /**
@@ -265,7 +356,15 @@ public class Column<T> {
      * @return a {@link Filter} object with the condition {@code column NOT LIKE value}
      */
     public Filter notLike(@NonNull T value) {
-        return new Filter(name + " NOT LIKE ?", List.of(value));
+        return new Filter(name + " NOT LIKE ?", List.of(value), sqlType);
+    }
+
+    /**
+     * @param param a {@link Param} for a value of the caller Column
+     * @return a {@link Filter} object with the condition {@code column NOT LIKE param}
+     */
+    public Filter notLike(@NonNull Param<T> param) {
+        return new Filter(name + " NOT LIKE ?", List.of(param), sqlType);
     }
 
     /**
@@ -275,7 +374,32 @@ public class Column<T> {
      */
     public Filter in(@NonNull T value, @NonNull T... values) {
         Utils.requireNonNulls(values);
-        return new Filter(name + " IN (?" + ", ?".repeat(values.length) + ")", (List<Object>) Stream.concat(Stream.of(value), Arrays.stream(values)).toList());
+        return Filter.inList(name, sqlType, Utils.listOf(value, values), InListPadding.NONE);
+    }
+
+    /**
+     * Same as {@link #in(Object, Object[])} but for a collection of values, which may be very large, see e.g.
+     * {@link SelectQuery.ExecutableSelectQuery#executeInChunks(java.util.List, ResultSetMapper, int)}
+     *
+     * @param values values of the caller Column
+     * @return a {@link Filter} object with the condition {@code column IN (<values separated by comma>)}
+     */
+    public Filter in(@NonNull Collection<? extends T> values) {
+        return in(values, InListPadding.NONE);
+    }
+
+    /**
+     * Same as {@link #in(Collection)} but with the values padded as per the given {@code padding}, so that e.g. with
+     * {@link InListPadding#POWERS_OF_TWO} there are only a few distinct sql statements for lists of any size
+     *
+     * @param values values of the caller Column
+     * @param padding an {@link InListPadding} object specifying the sizes to which the values are padded (by repeating
+     *                the last value)
+     * @return a {@link Filter} object with the condition {@code column IN (<padded values separated by comma>)}
+     */
+    public Filter in(@NonNull Collection<? extends T> values, @NonNull InListPadding padding) {
+        // List.copyOf() also rejects null values
+        return Filter.inList(name, sqlType, List.copyOf(values), padding);
     }
 
     /**
@@ -285,21 +409,53 @@ public class Column<T> {
      */
     public Filter notIn(@NonNull T value, @NonNull T... values) {
         Utils.requireNonNulls(values);
-        return new Filter(name + " NOT IN (?" + ", ?".repeat(values.length) + ")", (List<Object>) Stream.concat(Stream.of(value), Arrays.stream(values)).toList());
+        return new Filter(name + " NOT IN (?" + ", ?".repeat(values.length) + ")", Utils.listOf(value, values), sqlType);
+    }
+
+    /**
+     * @param values values of the caller Column
+     * @return a {@link Filter} object with the condition {@code column NOT IN (<values separated by comma>)}
+     */
+    public Filter notIn(@NonNull Collection<? extends T> values) {
+        return notIn(values, InListPadding.NONE);
+    }
+
+    /**
+     * Same as {@link #notIn(Collection)} but with the values padded as per the given {@code padding}
+     *
+     * @param values values of the caller Column
+     * @param padding an {@link InListPadding} object specifying the sizes to which the values are padded (by repeating
+     *                the last value)
+     * @return a {@link Filter} object with the condition {@code column NOT IN (<padded values separated by comma>)}
+     */
+    public Filter notIn(@NonNull Collection<? extends T> values, @NonNull InListPadding padding) {
+        // List.copyOf() also rejects null values
+        return Filter.notInList(name, sqlType, List.copyOf(values), padding);
     }
 
     /**
      * @return a {@link Filter} object with the condition {@code column IS NULL}
      */
     public Filter isNull() {
-        return new Filter(name + " IS NULL", List.of());
+        return new Filter(name + " IS NULL", List.of(), sqlType);
     }
 
     /**
      * @return a {@link Filter} object with the condition {@code column IS NOT NULL}
      */
     public Filter isNotNull() {
-        return new Filter(name + " IS NOT NULL", List.of());
+        return new Filter(name + " IS NOT NULL", List.of(), sqlType);
+    }
+
+    /**
+     * @return true if this column is used with the {@code DESC} order in {@code ORDER BY} clause
+     */
+    boolean isAggregated() {
+        return aggregated;
+    }
+
+    boolean isDescending() {
+        return order == Order.DESC;
     }
 
     private enum Order {
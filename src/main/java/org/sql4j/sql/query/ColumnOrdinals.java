@@ -0,0 +1,125 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Ordinals (positions starting from 1) of {@link Column}s in the results of a {@code SELECT} query, resolved once from
+ * the {@link ResultSetMetaData} of the results
+ */
+
+class ColumnOrdinals {
+    /**
+     * Ordinals of the columns (instances) selected by the query, except the ones not resolved e.g. {@link Column#ALL}
+     */
+    private final Map<Column<?>, Integer> ordinalsByColumn;
+    /**
+     * Ordinals of the results by their upper case labels, used for other columns than the selected ones (or other
+     * instances of them e.g. with another alias)
+     */
+    private final Map<String, Integer> ordinalsByLabel;
+    /**
+     * Ordinals of the selected columns by their upper case names, used for columns that aren't in the results by their
+     * label, e.g. a column of an {@code ORDER BY} clause that is selected with an alias
+     */
+    private final Map<String, Integer> ordinalsByName;
+
+    ColumnOrdinals(Column<?>[] columns, ResultSetMetaData metaData) throws SQLException {
+        this.ordinalsByColumn = new IdentityHashMap<>(columns.length);
+        this.ordinalsByLabel = new HashMap<>();
+        this.ordinalsByName = new HashMap<>();
+        for (int i = metaData.getColumnCount(); i >= 1; --i) {
+            // Iterating backwards, so that the first of the columns with the same label wins
+            ordinalsByLabel.put(metaData.getColumnLabel(i).toUpperCase(Locale.ROOT), i);
+        }
+
+        boolean selectsAll = false;
+        for (Column<?> column : columns) {
+            selectsAll |= column.getName().equals(Column.ALL.getName());
+        }
+        if (!selectsAll && metaData.getColumnCount() == columns.length) {
+            // Each selected column is a column of the results, in the same order
+            for (int i = 0; i < columns.length; ++i) {
+                // The first of the same instances selected more than once wins
+                ordinalsByColumn.putIfAbsent(columns[i], i + 1);
+                ordinalsByName.putIfAbsent(columns[i].getName().toUpperCase(Locale.ROOT), i + 1);
+            }
+        } else {
+            for (Column<?> column : columns) {
+                Integer ordinal = ordinalsByLabel.get(label(column));
+                if (ordinal != null) {
+                    ordinalsByColumn.putIfAbsent(column, ordinal);
+                    ordinalsByName.putIfAbsent(column.getName().toUpperCase(Locale.ROOT), ordinal);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the ordinal of the given column in the results if it's one of the selected columns (the same instance),
+     * otherwise 0
+     */
+    int ofSelected(Column<?> column) {
+        Integer ordinal = ordinalsByColumn.get(column);
+        return ordinal != null ? ordinal : 0;
+    }
+
+    /**
+     * @return the ordinal of the given column in the results, i.e. of the column with the same label, or else of the
+     * selected column with the same name (e.g. selected with an alias)
+     * @throws IllegalArgumentException if the column isn't in the results
+     */
+    int of(Column<?> column) {
+        int selectedOrdinal = ofSelected(column);
+        if (selectedOrdinal > 0) {
+            return selectedOrdinal;
+        }
+        Integer ordinal = ordinalsByLabel.get(label(column));
+        if (ordinal == null) {
+            ordinal = ordinalsByName.get(column.getName().toUpperCase(Locale.ROOT));
+        }
+        if (ordinal == null) {
+            throw new IllegalArgumentException("column " + column.getName() + " is not in the results");
+        }
+        return ordinal;
+    }
+
+    /**
+     * @return the (upper case) label of the given column in the results i.e. its alias if any, otherwise its name
+     * without table qualifier
+     */
+    private static String label(Column<?> column) {
+        String label;
+        if (column.getAlias() != null) {
+            label = column.getAlias().startsWith("\"") ? column.getAlias().substring(1, column.getAlias().length() - 1) : column.getAlias();
+        } else {
+            String name = column.getName();
+            label = name.contains("(") ? name : name.substring(name.lastIndexOf('.') + 1);
+        }
+        return label.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,325 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import lombok.NonNull;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only results of a {@code SELECT} query stored column by column (see
+ * {@link SelectQuery.ExecutableSelectQuery#executeColumnar}), instead of as a list of objects, one per row. Values of
+ * integer and floating point columns are stored in {@code int[]}, {@code long[]} or {@code double[]} arrays, and values
+ * of string columns as {@code int} codes into a dictionary of their distinct values, with a bitmap of the nulls of each
+ * column. This takes a fraction of the memory of a list of row objects and allows scanning a column in a tight loop e.g.
+ * <blockquote><pre>
+ *     ColumnarResult result = SqlQuery.select(COL_1, COL_2).from(TABLE_1).executeColumnar(connection);
+ *     int col2 = result.indexOf(COL_2);
+ *     long sum = 0;
+ *     for (int row = 0; row &lt; result.getRowCount(); ++row) {
+ *         sum += result.getInt(col2, row);
+ *     }
+ * </pre></blockquote>
+ * Columns are identified by their index (starting from 0) in the results, which can be resolved once via
+ * {@link #indexOf(Column)}.
+ */
+
+public class ColumnarResult {
+    private final ColumnOrdinals ordinals;
+    private final ColumnData[] columns;
+    private final int rowCount;
+
+    private ColumnarResult(ColumnOrdinals ordinals, ColumnData[] columns, int rowCount) {
+        this.ordinals = ordinals;
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Reads all the (remaining) rows of the given result set
+     */
+    static ColumnarResult read(ResultSet rs, Column<?>[] selectedColumns) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        ColumnData[] columns = new ColumnData[metaData.getColumnCount()];
+        for (int i = 0; i < columns.length; ++i) {
+            columns[i] = new ColumnData(Kind.of(metaData.getColumnType(i + 1)), Utils.INITIAL_RESULTS_CAPACITY);
+        }
+        ColumnOrdinals ordinals = new ColumnOrdinals(selectedColumns, metaData);
+
+        int rowCount = 0;
+        int capacity = Utils.INITIAL_RESULTS_CAPACITY;
+        while (rs.next()) {
+            if (rowCount == capacity) {
+                capacity *= 2;
+                for (ColumnData column : columns) {
+                    column.resize(capacity);
+                }
+            }
+            for (int i = 0; i < columns.length; ++i) {
+                columns[i].read(rs, i + 1, rowCount);
+            }
+            ++rowCount;
+        }
+        for (ColumnData column : columns) {
+            column.resize(rowCount);
+            column.codesByValue = null;
+        }
+
+        return new ColumnarResult(ordinals, columns, rowCount);
+    }
+
+    /**
+     * @return number of rows in the results
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return number of columns in the results
+     */
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * @param column a column in the results
+     * @return index (starting from 0) of the given column in the results
+     * @throws IllegalArgumentException if the column isn't in the results
+     */
+    public int indexOf(@NonNull Column<?> column) {
+        return ordinals.of(column) - 1;
+    }
+
+    /**
+     * @param column index of a column in the results
+     * @param row index of a row in the results
+     * @return true if the value of the column in the row is null
+     */
+    public boolean isNull(int column, int row) {
+        checkRow(row);
+        return columns[column].nulls.get(row);
+    }
+
+    /**
+     * @param column index of an integer column e.g. {@code INTEGER}, {@code SMALLINT} or {@code TINYINT}
+     * @param row index of a row in the results
+     * @return the value of the column in the row, 0 if it's null
+     * @throws IllegalStateException if the column isn't an integer column
+     */
+    public int getInt(int column, int row) {
+        return column(column, Kind.INT).ints[row];
+    }
+
+    /**
+     * @param column index of an integer or {@code BIGINT} column
+     * @param row index of a row in the results
+     * @return the value of the column in the row, 0 if it's null
+     * @throws IllegalStateException if the column isn't an integer or {@code BIGINT} column
+     */
+    public long getLong(int column, int row) {
+        ColumnData data = columns[column];
+        return data.kind == Kind.INT ? data.ints[row] : column(column, Kind.LONG).longs[row];
+    }
+
+    /**
+     * @param column index of a numeric column i.e. an integer, {@code BIGINT} or floating point column
+     * @param row index of a row in the results
+     * @return the value of the column in the row, 0 if it's null
+     * @throws IllegalStateException if the column isn't a numeric column
+     */
+    public double getDouble(int column, int row) {
+        ColumnData data = columns[column];
+        return switch (data.kind) {
+            case INT -> data.ints[row];
+            case LONG -> data.longs[row];
+            default -> column(column, Kind.DOUBLE).doubles[row];
+        };
+    }
+
+    /**
+     * @param column index of a string column e.g. {@code VARCHAR}
+     * @param row index of a row in the results
+     * @return the value of the column in the row, null if it's null
+     * @throws IllegalStateException if the column isn't a string column
+     */
+    public String getString(int column, int row) {
+        ColumnData data = column(column, Kind.STRING);
+        int code = data.ints[row];
+        return code >= 0 ? data.dictionary.get(code) : null;
+    }
+
+    /**
+     * @param column index of a string column e.g. {@code VARCHAR}
+     * @param row index of a row in the results
+     * @return the code of the value of the column in the row i.e. its index in {@link #getDictionary(int)}, -1 if
+     * it's null
+     * @throws IllegalStateException if the column isn't a string column
+     */
+    public int getCode(int column, int row) {
+        return column(column, Kind.STRING).ints[row];
+    }
+
+    /**
+     * @param column index of a string column e.g. {@code VARCHAR}
+     * @return the distinct values of the column, in the order of their first occurrence in the results
+     * @throws IllegalStateException if the column isn't a string column
+     */
+    public List<String> getDictionary(int column) {
+        return Collections.unmodifiableList(column(column, Kind.STRING).dictionary);
+    }
+
+    /**
+     * @param column index of a column in the results
+     * @param row index of a row in the results
+     * @return the value of the column in the row (boxed if it's a number), null if it's null
+     */
+    public Object getObject(int column, int row) {
+        ColumnData data = columns[column];
+        if (isNull(column, row)) {
+            return null;
+        }
+        return switch (data.kind) {
+            case INT -> data.ints[row];
+            case LONG -> data.longs[row];
+            case DOUBLE -> data.doubles[row];
+            case STRING -> data.dictionary.get(data.ints[row]);
+            case OBJECT -> data.objects[row];
+        };
+    }
+
+    private ColumnData column(int column, Kind kind) {
+        ColumnData data = columns[column];
+        if (data.kind != kind) {
+            throw new IllegalStateException("column " + column + " of the results is a " + data.kind + " column, not a " + kind + " column");
+        }
+        return data;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("row " + row + " is out of bounds for " + rowCount + " rows");
+        }
+    }
+
+    private enum Kind {
+        INT, LONG, DOUBLE, STRING, OBJECT;
+
+        private static Kind of(int sqlType) {
+            return switch (sqlType) {
+                case Types.TINYINT, Types.SMALLINT, Types.INTEGER -> INT;
+                case Types.BIGINT -> LONG;
+                case Types.REAL, Types.FLOAT, Types.DOUBLE -> DOUBLE;
+                case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR -> STRING;
+                default -> OBJECT;
+            };
+        }
+    }
+
+    /**
+     * Values of a column, in the array for its kind (codes of the values in {@link #ints} for strings), and its nulls
+     */
+    private static class ColumnData {
+        private final Kind kind;
+        private final BitSet nulls = new BitSet();
+        private int[] ints;
+        private long[] longs;
+        private double[] doubles;
+        private Object[] objects;
+        private final List<String> dictionary;
+        private Map<String, Integer> codesByValue;
+
+        private ColumnData(Kind kind, int capacity) {
+            this.kind = kind;
+            switch (kind) {
+                case INT, STRING -> ints = new int[capacity];
+                case LONG -> longs = new long[capacity];
+                case DOUBLE -> doubles = new double[capacity];
+                case OBJECT -> objects = new Object[capacity];
+            }
+            this.dictionary = kind == Kind.STRING ? new ArrayList<>() : null;
+            this.codesByValue = kind == Kind.STRING ? new HashMap<>() : null;
+        }
+
+        private void read(ResultSet rs, int ordinal, int row) throws SQLException {
+            switch (kind) {
+                case INT -> {
+                    ints[row] = rs.getInt(ordinal);
+                    if (ints[row] == 0 && rs.wasNull()) {
+                        nulls.set(row);
+                    }
+                }
+                case LONG -> {
+                    longs[row] = rs.getLong(ordinal);
+                    if (longs[row] == 0 && rs.wasNull()) {
+                        nulls.set(row);
+                    }
+                }
+                case DOUBLE -> {
+                    doubles[row] = rs.getDouble(ordinal);
+                    if (doubles[row] == 0 && rs.wasNull()) {
+                        nulls.set(row);
+                    }
+                }
+                case STRING -> {
+                    String value = rs.getString(ordinal);
+                    if (value == null) {
+                        ints[row] = -1;
+                        nulls.set(row);
+                    } else {
+                        Integer code = codesByValue.get(value);
+                        if (code == null) {
+                            code = dictionary.size();
+                            dictionary.add(value);
+                            codesByValue.put(value, code);
+                        }
+                        ints[row] = code;
+                    }
+                }
+                case OBJECT -> {
+                    objects[row] = rs.getObject(ordinal);
+                    if (objects[row] == null) {
+                        nulls.set(row);
+                    }
+                }
+            }
+        }
+
+        private void resize(int capacity) {
+            switch (kind) {
+                case INT, STRING -> ints = Arrays.copyOf(ints, capacity);
+                case LONG -> longs = Arrays.copyOf(longs, capacity);
+                case DOUBLE -> doubles = Arrays.copyOf(doubles, capacity);
+                case OBJECT -> objects = Arrays.copyOf(objects, capacity);
+            }
+        }
+    }
+}
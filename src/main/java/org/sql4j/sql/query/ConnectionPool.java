@@ -0,0 +1,567 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import lombok.NonNull;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link ConnectionProvider} that keeps the connections it opens in a pool of at most {@code maxSize} connections,
+ * so that they are reused instead of being opened for every execution, e.g.
+ * <blockquote><pre>
+ *     try (ConnectionPool pool = ConnectionPool.forUrl(url, user, password, 10)) {
+ *         List{@code <String>} results =
+ *                 SqlQuery.select(COL_1)
+ *                         .from(TABLE_1)
+ *                         .execute(pool, rs -> rs.getString(COL_1.getName()));
+ *     }
+ * </pre></blockquote>
+ * Closing a connection got via {@link #getConnection()} returns it to the pool, after resetting the auto-commit,
+ * read-only and transaction isolation settings that were changed via the connection (rolling back the transaction
+ * first if auto-commit is off). The pool tracks these settings, so that calls that wouldn't change them aren't sent
+ * to the driver, neither by the caller nor by the reset.
+ * <p>
+ * The pool is guarded by a {@link ReentrantLock} (instead of {@code synchronized}), so that virtual threads waiting
+ * for a connection don't pin their carrier threads. Idle connections are reused most recently returned first, and
+ * callers waiting for a connection get one in the order they started waiting: a returned connection is handed over to
+ * the longest waiting caller directly, so that other callers can't take it first.
+ * <p>
+ * A connection older than the max lifetime is closed instead of being reused, and an idle connection is validated
+ * (via {@link Connection#isValid(int)}, or a validation query if one is set) before it's reused, unless it was
+ * returned less than half a second ago.
+ */
+
+public class ConnectionPool implements ConnectionProvider, AutoCloseable {
+    /**
+     * Idle connections returned to the pool within this time aren't validated before they are reused
+     */
+    private static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final ConnectionProvider provider;
+    private final int maxSize;
+    private volatile long maxLifetimeNanos = Duration.ofMinutes(30).toNanos();
+    private volatile long borrowTimeoutNanos = Duration.ofSeconds(30).toNanos();
+    private volatile String validationQuery;
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * Idle connections, the most recently returned first
+     */
+    private final ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+    /**
+     * Callers waiting for a connection, the longest waiting first
+     */
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    /**
+     * Number of open connections, idle or in use (or being opened)
+     */
+    private int size;
+    private boolean closed;
+
+    private ConnectionPool(ConnectionProvider provider, int maxSize) {
+        this.provider = provider;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param url a database url of the form {@code jdbc:subprotocol:subname}
+     * @param user the database user on whose behalf the connections are made
+     * @param password the user's password
+     * @param maxSize maximum number of open connections
+     * @return a ConnectionPool of connections opened via {@link java.sql.DriverManager#getConnection(String, String, String)}
+     */
+    public static ConnectionPool forUrl(@NonNull String url, String user, String password, int maxSize) {
+        return forProvider(ConnectionProvider.forUrl(url, user, password), maxSize);
+    }
+
+    /**
+     * @param provider a {@link ConnectionProvider} that opens a new connection every time
+     * @param maxSize maximum number of open connections
+     * @return a ConnectionPool of connections opened via the given {@code provider}
+     */
+    public static ConnectionPool forProvider(@NonNull ConnectionProvider provider, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive but is " + maxSize);
+        }
+        return new ConnectionPool(provider, maxSize);
+    }
+
+    /**
+     * @param maxLifetime the time after which a connection is closed instead of being reused, 30 minutes by default
+     */
+    public void setMaxLifetime(@NonNull Duration maxLifetime) {
+        maxLifetimeNanos = requirePositive(maxLifetime, "maxLifetime").toNanos();
+    }
+
+    /**
+     * @param borrowTimeout the maximum time {@link #getConnection()} waits for a connection, 30 seconds by default
+     */
+    public void setBorrowTimeout(@NonNull Duration borrowTimeout) {
+        borrowTimeoutNanos = requirePositive(borrowTimeout, "borrowTimeout").toNanos();
+    }
+
+    /**
+     * @param validationQuery a cheap query e.g. {@code SELECT 1} executed to validate an idle connection before it's
+     *                        reused, null (the default) to validate it via {@link Connection#isValid(int)} instead
+     */
+    public void setValidationQuery(String validationQuery) {
+        this.validationQuery = validationQuery;
+    }
+
+    /**
+     * Gets an idle connection of the pool, or opens a new one if there is none and there are less than
+     * {@code maxSize} open connections, otherwise waits for a connection to be returned to the pool.
+     *
+     * @return a connection, which is returned to the pool when it's closed
+     * @throws SQLTimeoutException if no connection is available within the borrow timeout
+     * @throws SQLException if a database access error occurs, or this pool is closed
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        long deadline = System.nanoTime() + borrowTimeoutNanos;
+        while (true) {
+            PooledConnection pooled = acquire(deadline);
+            if (pooled == null) {
+                pooled = open();
+            } else if (!isUsable(pooled)) {
+                discard(pooled);
+                continue;
+            }
+            return lease(pooled);
+        }
+    }
+
+    /**
+     * @return number of open connections, idle or in use
+     */
+    public int getSize() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of idle connections
+     */
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes all the idle connections, connections that are in use are closed when they are returned to the pool.
+     * Callers waiting for a connection get an {@link SQLException}.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    public void close() throws SQLException {
+        List<PooledConnection> idleConnections;
+        lock.lock();
+        try {
+            closed = true;
+            idleConnections = new ArrayList<>(idle);
+            size -= idle.size();
+            idle.clear();
+            for (Waiter waiter : waiters) {
+                waiter.done = true;
+                waiter.condition.signal();
+            }
+            waiters.clear();
+        } finally {
+            lock.unlock();
+        }
+
+        SQLException exception = null;
+        for (PooledConnection pooled : idleConnections) {
+            try {
+                pooled.con.close();
+            } catch (SQLException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * @return an idle connection, or null if the caller may open a new connection
+     */
+    private PooledConnection acquire(long deadline) throws SQLException {
+        lock.lock();
+        try {
+            requireOpen();
+            PooledConnection pooled = idle.pollFirst();
+            if (pooled != null) {
+                return pooled;
+            }
+            if (size < maxSize) {
+                ++size;
+                return null;
+            }
+
+            Waiter waiter = new Waiter(lock.newCondition());
+            waiters.addLast(waiter);
+            try {
+                while (!waiter.done) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        waiters.remove(waiter);
+                        throw new SQLTimeoutException("no connection is available within " + Duration.ofNanos(borrowTimeoutNanos));
+                    }
+                    waiter.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                if (!waiter.done) {
+                    waiters.remove(waiter);
+                } else if (waiter.connection != null) {
+                    handOver(waiter.connection);
+                } else if (waiter.slot) {
+                    releaseSlot();
+                }
+                Thread.currentThread().interrupt();
+                throw new SQLException("interrupted while waiting for a connection", e);
+            }
+            if (waiter.connection == null && !waiter.slot) {
+                // Woken up by close()
+                requireOpen();
+            }
+            return waiter.connection;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection con = null;
+        try {
+            con = provider.getConnection();
+            return new PooledConnection(con);
+        } catch (SQLException | RuntimeException e) {
+            if (con != null) {
+                try {
+                    con.close();
+                } catch (SQLException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            lock.lock();
+            try {
+                releaseSlot();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return a connection that delegates to the given connection until it's closed, which returns the given connection
+     * to the pool
+     */
+    private Connection lease(PooledConnection pooled) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new LeaseHandler(pooled));
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        long now = System.nanoTime();
+        if (now - pooled.openedAt > maxLifetimeNanos) {
+            return false;
+        }
+        if (now - pooled.returnedAt < VALIDATION_BYPASS_NANOS) {
+            return true;
+        }
+        String validationQuery = this.validationQuery;
+        try {
+            if (validationQuery == null) {
+                return pooled.con.isValid(VALIDATION_TIMEOUT_SECONDS);
+            }
+            try (Statement stmt = pooled.con.createStatement()) {
+                stmt.setQueryTimeout(VALIDATION_TIMEOUT_SECONDS);
+                stmt.execute(validationQuery);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the given connection to the pool, or closes it if it can't be reused
+     */
+    private void release(PooledConnection pooled) {
+        boolean reusable;
+        try {
+            pooled.reset();
+            reusable = System.nanoTime() - pooled.openedAt <= maxLifetimeNanos;
+        } catch (SQLException e) {
+            // e.g. the connection is broken
+            reusable = false;
+        }
+        if (reusable) {
+            lock.lock();
+            try {
+                if (!closed) {
+                    handOver(pooled);
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        discard(pooled);
+    }
+
+    /**
+     * Closes the given connection, so that another one can be opened in its place
+     */
+    private void discard(PooledConnection pooled) {
+        try {
+            pooled.con.close();
+        } catch (SQLException e) {
+            // The connection is no longer used anyway
+        }
+        lock.lock();
+        try {
+            releaseSlot();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands over the given connection to the longest waiting caller if any, otherwise makes it idle. Must be called
+     * with the lock held.
+     */
+    private void handOver(PooledConnection pooled) {
+        Waiter waiter = waiters.pollFirst();
+        if (waiter != null) {
+            waiter.connection = pooled;
+            waiter.done = true;
+            waiter.condition.signal();
+        } else {
+            idle.addFirst(pooled);
+        }
+    }
+
+    /**
+     * Releases the slot of a connection that is closed (or couldn't be opened), letting the longest waiting caller if
+     * any open a new connection in its place. Must be called with the lock held.
+     */
+    private void releaseSlot() {
+        Waiter waiter = closed ? null : waiters.pollFirst();
+        if (waiter != null) {
+            waiter.slot = true;
+            waiter.done = true;
+            waiter.condition.signal();
+        } else {
+            --size;
+        }
+    }
+
+    private void requireOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("connection pool is closed");
+        }
+    }
+
+    private static Duration requirePositive(Duration duration, String name) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException(name + " must be positive but is " + duration);
+        }
+        return duration;
+    }
+
+    /**
+     * A caller waiting for a connection, which is done waiting when it's handed over a connection, or a slot to open a
+     * new one, or when the pool is closed
+     */
+    private static class Waiter {
+        private final Condition condition;
+        private PooledConnection connection;
+        private boolean slot;
+        private boolean done;
+
+        private Waiter(Condition condition) {
+            this.condition = condition;
+        }
+    }
+
+    /**
+     * A connection of the pool, and its settings that are reset when it's returned to the pool
+     */
+    private static class PooledConnection {
+        private final Connection con;
+        private final long openedAt;
+        private long returnedAt;
+        private final boolean defaultAutoCommit;
+        private final boolean defaultReadOnly;
+        private final int defaultTransactionIsolation;
+        private boolean autoCommit;
+        private boolean readOnly;
+        private int transactionIsolation;
+
+        private PooledConnection(Connection con) throws SQLException {
+            this.con = con;
+            this.openedAt = System.nanoTime();
+            this.returnedAt = openedAt;
+            this.defaultAutoCommit = con.getAutoCommit();
+            this.defaultReadOnly = con.isReadOnly();
+            this.defaultTransactionIsolation = con.getTransactionIsolation();
+            this.autoCommit = defaultAutoCommit;
+            this.readOnly = defaultReadOnly;
+            this.transactionIsolation = defaultTransactionIsolation;
+        }
+
+        private void reset() throws SQLException {
+            if (!autoCommit) {
+                con.rollback();
+            }
+            if (autoCommit != defaultAutoCommit) {
+                con.setAutoCommit(defaultAutoCommit);
+                autoCommit = defaultAutoCommit;
+            }
+            if (readOnly != defaultReadOnly) {
+                con.setReadOnly(defaultReadOnly);
+                readOnly = defaultReadOnly;
+            }
+            if (transactionIsolation != defaultTransactionIsolation) {
+                con.setTransactionIsolation(defaultTransactionIsolation);
+                transactionIsolation = defaultTransactionIsolation;
+            }
+            con.clearWarnings();
+            returnedAt = System.nanoTime();
+        }
+    }
+
+    private class LeaseHandler implements Utils.ConnectionWrapper {
+        private final PooledConnection pooled;
+        private boolean closed;
+
+        private LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Connection wrapped() {
+            return pooled.con;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        try {
+                            release(pooled);
+                        } finally {
+                            // The transaction (if any) is rolled back when the connection is returned to the pool
+                            ResultCache.transactionEnded((Connection) proxy);
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || pooled.con.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConnectionPool connection of " + pooled.con;
+                default:
+                    if (closed) {
+                        throw new SQLException("connection is closed");
+                    }
+            }
+            // Settings that are tracked by the pool are read from (and set only if they change) the tracked values
+            switch (method.getName()) {
+                case "getAutoCommit":
+                    return pooled.autoCommit;
+                case "setAutoCommit":
+                    if ((boolean) args[0] != pooled.autoCommit) {
+                        pooled.con.setAutoCommit((boolean) args[0]);
+                        pooled.autoCommit = (boolean) args[0];
+                        if (pooled.autoCommit) {
+                            // Enabling auto-commit commits the transaction
+                            ResultCache.transactionEnded((Connection) proxy);
+                        }
+                    }
+                    return null;
+                case "commit":
+                    pooled.con.commit();
+                    ResultCache.transactionEnded((Connection) proxy);
+                    return null;
+                case "rollback":
+                    Object result = Utils.invoke(pooled.con, method, args);
+                    if (args == null) {
+                        // Rolling back to a savepoint doesn't end the transaction
+                        ResultCache.transactionEnded((Connection) proxy);
+                    }
+                    return result;
+                case "isReadOnly":
+                    return pooled.readOnly;
+                case "setReadOnly":
+                    if ((boolean) args[0] != pooled.readOnly) {
+                        pooled.con.setReadOnly((boolean) args[0]);
+                        pooled.readOnly = (boolean) args[0];
+                    }
+                    return null;
+                case "getTransactionIsolation":
+                    return pooled.transactionIsolation;
+                case "setTransactionIsolation":
+                    if ((int) args[0] != pooled.transactionIsolation) {
+                        pooled.con.setTransactionIsolation((int) args[0]);
+                        pooled.transactionIsolation = (int) args[0];
+                    }
+                    return null;
+                default:
+                    return Utils.invoke(pooled.con, method, args);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import lombok.NonNull;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * A source of {@link Connection}s, used by the execute methods of queries that take a provider instead of a connection:
+ * such a method gets a connection from the provider, executes the query with it and closes it, e.g.
+ * <blockquote><pre>
+ *     ConnectionProvider provider = ConnectionPool.forUrl(url, user, password, 10);
+ *     List{@code <String>} results =
+ *             SqlQuery.select(COL_1)
+ *                     .from(TABLE_1)
+ *                     .execute(provider, rs -> rs.getString(COL_1.getName()));
+ * </pre></blockquote>
+ * Any {@link javax.sql.DataSource} can be used as a provider via {@code dataSource::getConnection}.
+ */
+
+@FunctionalInterface
+public interface ConnectionProvider {
+    /**
+     * @return a connection, which is closed by the caller when it's no longer used, e.g. to return it to a pool
+     * @throws SQLException if a database access error occurs
+     */
+    Connection getConnection() throws SQLException;
+
+    /**
+     * @param url a database url of the form {@code jdbc:subprotocol:subname}
+     * @param user the database user on whose behalf the connections are made
+     * @param password the user's password
+     * @return a {@link ConnectionProvider} that opens a new connection via
+     * {@link DriverManager#getConnection(String, String, String)} every time, see {@link ConnectionPool} to reuse them
+     */
+    static ConnectionProvider forUrl(@NonNull String url, String user, String password) {
+        return () -> DriverManager.getConnection(url, user, password);
+    }
+}
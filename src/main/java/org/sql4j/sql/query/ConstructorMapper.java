@@ -0,0 +1,218 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import java.beans.ConstructorProperties;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link ResultSetMapper} that maps each row to an object of a record class (via its canonical constructor) or of a
+ * class with a constructor annotated with {@link ConstructorProperties}, by passing the value of the column matching
+ * each of the constructor's parameters by name. See {@link ResultSetMapper#forType(Class)}.
+ * <p>
+ * For the labels of the columns of a {@link ResultSet}, the mapping is compiled (only once per type, for all the
+ * mappers of the type) into a {@link MethodHandle} which reads each column by its position via the getter specific to
+ * the parameter's type e.g. {@link ResultSet#getInt(int)}, and invokes the constructor, without any reflection.
+ */
+
+class ConstructorMapper<T> implements ResultSetMapper<T> {
+    private static final MethodType MAPPER_TYPE = MethodType.methodType(Object.class, ResultSet.class);
+    private static final Map<Class<?>, String> GETTERS = Map.ofEntries(
+            Map.entry(boolean.class, "getBoolean"),
+            Map.entry(byte.class, "getByte"),
+            Map.entry(short.class, "getShort"),
+            Map.entry(int.class, "getInt"),
+            Map.entry(long.class, "getLong"),
+            Map.entry(float.class, "getFloat"),
+            Map.entry(double.class, "getDouble"),
+            Map.entry(byte[].class, "getBytes"),
+            Map.entry(String.class, "getString"),
+            Map.entry(BigDecimal.class, "getBigDecimal"),
+            Map.entry(Date.class, "getDate"),
+            Map.entry(Time.class, "getTime"),
+            Map.entry(Timestamp.class, "getTimestamp"));
+    /**
+     * The compiled mappings of each type, by the column labels of the results they are compiled for
+     */
+    private static final ClassValue<Map<List<String>, MethodHandle>> MAPPINGS = new ClassValue<>() {
+        @Override
+        protected Map<List<String>, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final String[] paramNames;
+    /**
+     * The mapping compiled for the last result set mapped by this mapper
+     */
+    private Mapping mapping;
+
+    ConstructorMapper(Class<T> type) {
+        this.type = type;
+        Constructor<?> constructor = constructorOf(type);
+        if (type.isRecord()) {
+            RecordComponent[] components = type.getRecordComponents();
+            this.paramNames = new String[components.length];
+            for (int i = 0; i < components.length; ++i) {
+                paramNames[i] = components[i].getName();
+            }
+        } else {
+            this.paramNames = constructor.getAnnotation(ConstructorProperties.class).value();
+            if (paramNames.length != constructor.getParameterCount()) {
+                throw new IllegalArgumentException("@ConstructorProperties of " + type.getName() + " must name all the constructor's parameters");
+            }
+        }
+        try {
+            constructor.setAccessible(true);
+            this.constructor = MethodHandles.lookup().unreflectConstructor(constructor);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("constructor of " + type.getName() + " isn't accessible", e);
+        }
+    }
+
+    @Override
+    public T map(ResultSet rs) throws SQLException {
+        Mapping mapping = this.mapping;
+        if (mapping == null || mapping.rs().get() != rs) {
+            mapping = new Mapping(new WeakReference<>(rs), compiled(rs.getMetaData()));
+            this.mapping = mapping;
+        }
+        try {
+            return type.cast((Object) mapping.handle().invokeExact(rs));
+        } catch (SQLException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private MethodHandle compiled(ResultSetMetaData metaData) throws SQLException {
+        List<String> labels = new ArrayList<>(metaData.getColumnCount());
+        for (int i = 1; i <= metaData.getColumnCount(); ++i) {
+            labels.add(metaData.getColumnLabel(i));
+        }
+        Map<List<String>, MethodHandle> mappings = MAPPINGS.get(type);
+        MethodHandle handle = mappings.get(labels);
+        if (handle == null) {
+            handle = compile(labels);
+            mappings.putIfAbsent(labels, handle);
+        }
+        return handle;
+    }
+
+    private MethodHandle compile(List<String> labels) {
+        Class<?>[] paramTypes = constructor.type().parameterArray();
+        MethodHandle[] getters = new MethodHandle[paramTypes.length];
+        for (int i = 0; i < paramTypes.length; ++i) {
+            getters[i] = getter(paramTypes[i], ordinal(paramNames[i], labels));
+        }
+        // (ResultSet, ..., ResultSet) -> T, with the i-th ResultSet passed to the getter of the i-th parameter, and then
+        // (ResultSet) -> T by passing the same ResultSet to all the getters
+        MethodHandle handle = MethodHandles.filterArguments(constructor, 0, getters);
+        handle = paramTypes.length == 0
+                ? MethodHandles.dropArguments(handle, 0, ResultSet.class)
+                : MethodHandles.permuteArguments(handle, MethodType.methodType(type, ResultSet.class), new int[paramTypes.length]);
+        return handle.asType(MAPPER_TYPE);
+    }
+
+    private int ordinal(String paramName, List<String> labels) {
+        String name = normalized(paramName);
+        for (int i = 0; i < labels.size(); ++i) {
+            if (normalized(labels.get(i)).equals(name)) {
+                return i + 1;
+            }
+        }
+        throw new IllegalArgumentException("no column in the results matches " + paramName + " of " + type.getName() + ", columns are " + labels);
+    }
+
+    /**
+     * @return (ResultSet) -> paramType reading the column at the given ordinal
+     */
+    private static MethodHandle getter(Class<?> paramType, int ordinal) {
+        try {
+            String getterName = GETTERS.get(paramType);
+            if (getterName != null) {
+                MethodHandle getter = MethodHandles.publicLookup().findVirtual(ResultSet.class, getterName, MethodType.methodType(paramType, int.class));
+                return MethodHandles.insertArguments(getter, 1, ordinal);
+            }
+            MethodHandle getter = MethodHandles.publicLookup().findVirtual(ResultSet.class, "getObject", MethodType.methodType(Object.class, int.class, Class.class));
+            return MethodHandles.insertArguments(getter, 1, ordinal, paramType)
+                    .asType(MethodType.methodType(paramType, ResultSet.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the given name in upper case and without underscores, so that e.g. {@code col1} matches {@code COL_1}
+     */
+    private static String normalized(String name) {
+        return name.replace("_", "").toUpperCase(Locale.ROOT);
+    }
+
+    private static Constructor<?> constructorOf(Class<?> type) {
+        try {
+            if (type.isRecord()) {
+                RecordComponent[] components = type.getRecordComponents();
+                Class<?>[] componentTypes = new Class<?>[components.length];
+                for (int i = 0; i < components.length; ++i) {
+                    componentTypes[i] = components[i].getType();
+                }
+                return type.getDeclaredConstructor(componentTypes);
+            }
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+        Constructor<?>[] constructors = Arrays.stream(type.getDeclaredConstructors())
+                .filter(c -> c.isAnnotationPresent(ConstructorProperties.class))
+                .toArray(Constructor<?>[]::new);
+        if (constructors.length != 1) {
+            throw new IllegalArgumentException(type.getName() + " must be a record or have exactly one constructor annotated with @ConstructorProperties");
+        }
+        return constructors[0];
+    }
+
+    /**
+     * The result set is weakly referenced, so that this mapper doesn't keep its rows in memory after it's closed
+     */
+    private record Mapping(WeakReference<ResultSet> rs, MethodHandle handle) {
+    }
+}
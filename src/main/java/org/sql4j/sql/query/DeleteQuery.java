@@ -24,9 +24,12 @@ import lombok.NonNull;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Class used to build and execute sql {@code DELETE} queries
@@ -44,6 +47,7 @@ public class DeleteQuery {
      * @return a {@link ConditionableDeleteQuery} with the given {@code table} in {@code FROM} clause e.g. {@code DELETE FROM table ...}
      */
     public ConditionableDeleteQuery from(@NonNull Table table) {
+        context.table = table.getName();
         context.sqlBuilder.append("FROM\n    ")
                 .append(table.getName())
                 .append("\n");
@@ -51,8 +55,56 @@ public class DeleteQuery {
     }
 
     private static class Context {
-        private final StringBuilder sqlBuilder = new StringBuilder();
-        private final List<Object> params = new ArrayList<>();
+        private final StringBuilder sqlBuilder;
+        private final List<Object> params;
+        /**
+         * The SQL types of the params as defined in {@link java.sql.Types}, {@link java.sql.Types#NULL} if not known
+         */
+        private final List<Integer> paramSqlTypes;
+        private String sql;
+        private Filter.Position filterPosition;
+        private ParamBinder[] paramBinders;
+        /**
+         * The name of the table to delete rows from
+         */
+        private String table;
+
+        private Context() {
+            this.sqlBuilder = new StringBuilder(Utils.SQL_BUILDER_CAPACITY);
+            this.params = new ArrayList<>();
+            this.paramSqlTypes = new ArrayList<>();
+        }
+
+        private Context(String table, String sql, List<Object> params, List<Integer> paramSqlTypes, Filter.Position filterPosition) {
+            this(table, sql, params, paramSqlTypes, filterPosition, null);
+        }
+
+        private Context(String table, String sql, List<Object> params, List<Integer> paramSqlTypes, Filter.Position filterPosition,
+                        ParamBinder[] paramBinders) {
+            this.table = table;
+            this.sqlBuilder = null;
+            this.params = params;
+            this.paramSqlTypes = paramSqlTypes;
+            this.sql = sql;
+            this.filterPosition = filterPosition;
+            this.paramBinders = paramBinders;
+        }
+
+        private String sql() {
+            // sqlBuilder is append-only, so the cached sql is stale only if its length differs from sqlBuilder's length
+            if (sqlBuilder != null && (sql == null || sql.length() != sqlBuilder.length())) {
+                sql = sqlBuilder.toString();
+            }
+            return sql;
+        }
+
+        private ParamBinder[] paramBinders() {
+            // params are append-only, so the cached binders are stale only if their number differs from the params'
+            if (paramBinders == null || paramBinders.length != params.size()) {
+                paramBinders = ParamBinder.forParams(params, paramSqlTypes);
+            }
+            return paramBinders;
+        }
     }
 
     /**
@@ -69,10 +121,12 @@ public class DeleteQuery {
          * @return an {@link ExecutableDeleteQuery} that is ready for execution
          */
         public ExecutableDeleteQuery where(@NonNull Filter filter) {
-            context.sqlBuilder.append("WHERE\n    ")
-                    .append(filter.getCondition())
-                    .append("\n");
-            context.params.addAll(filter.getParams());
+            StringBuilder sqlBuilder = context.sqlBuilder.append("WHERE\n    ");
+            int sqlStart = sqlBuilder.length();
+            int paramsStart = context.params.size();
+            filter.appendTo(sqlBuilder, context.params, context.paramSqlTypes);
+            context.filterPosition = new Filter.Position(filter, sqlStart, sqlBuilder.length(), paramsStart);
+            sqlBuilder.append("\n");
             return this;
         }
     }
@@ -94,19 +148,307 @@ public class DeleteQuery {
          */
         public int execute(Connection con) throws SQLException {
             try (PreparedStatement stmt = con.prepareStatement(sql())) {
-                for (int i = 0; i < context.params.size(); ++i) {
-                    stmt.setObject(i + 1, context.params.get(i));
-                }
+                setParams(stmt, context.params, context.paramBinders());
 
                 return stmt.executeUpdate();
+            } finally {
+                ResultCache.invalidateAll(con, context.table);
+            }
+        }
+
+        /**
+         * Same as {@link #execute(Connection)}, but returns the deleted rows (as they were before the delete) instead of
+         * their number, e.g. to publish the changes without selecting the rows before deleting them.
+         * <p>
+         * On H2 the rows are returned by the delete itself, via {@code SELECT * FROM OLD TABLE (DELETE ...)}. On other
+         * databases the delete is preceded by {@code SELECT * FROM table WHERE ... FOR UPDATE} with the same
+         * {@code WHERE} clause in the same transaction (a new one if auto-commit is enabled), which locks the selected
+         * rows until they are deleted. Rows inserted by other transactions meanwhile may be deleted without being
+         * returned, unless the isolation level of the transaction prevents that. Note that some databases (e.g. SQL
+         * Server) don't support {@code FOR UPDATE}.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param <T> a java class type to represent a deleted row
+         * @return a list of objects of type {@code <T>} representing the deleted rows
+         * @throws SQLException if a database access error occurs
+         */
+        public <T> List<T> executeReturning(Connection con, @NonNull ResultSetMapper<T> resultSetMapper) throws SQLException {
+            List<T> rows = new ArrayList<>();
+
+            try {
+                String changedRowsSql = Dialect.of(con).changedRowsSql(sql(), true);
+                if (changedRowsSql != null) {
+                    try (PreparedStatement stmt = con.prepareStatement(changedRowsSql)) {
+                        setParams(stmt, context.params, context.paramBinders());
+
+                        ResultSet rs = stmt.executeQuery();
+                        while (rs.next()) {
+                            rows.add(resultSetMapper.map(rs));
+                        }
+                    }
+                } else {
+                    Utils.inTransaction(con, () -> {
+                        // DELETE FROM table WHERE ... -> SELECT * FROM table WHERE ... FOR UPDATE
+                        String selectSql = "SELECT\n    *\n" + sql().substring("DELETE\n".length()) + "FOR UPDATE\n";
+                        try (PreparedStatement stmt = con.prepareStatement(selectSql)) {
+                            setParams(stmt, context.params, context.paramBinders());
+
+                            ResultSet rs = stmt.executeQuery();
+                            while (rs.next()) {
+                                rows.add(resultSetMapper.map(rs));
+                            }
+                        }
+                        try (PreparedStatement stmt = con.prepareStatement(sql())) {
+                            setParams(stmt, context.params, context.paramBinders());
+
+                            stmt.executeUpdate();
+                        }
+                    });
+                }
+            } finally {
+                ResultCache.invalidateAll(con, context.table);
+            }
+
+            return rows;
+        }
+
+        /**
+         * Same as {@link #executeAsync(Connection, Executor)} executing the query on a new virtual thread.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @return a future of the number of deleted rows in the table
+         */
+        public CompletableFuture<Integer> executeAsync(Connection con) {
+            return executeAsync(con, AsyncExecution.VIRTUAL_THREAD_EXECUTOR);
+        }
+
+        /**
+         * Executes the query asynchronously on the given executor, as {@link #execute(Connection)} does.
+         * <p>
+         * The given connection is used by the execution until the returned future completes, so it must not be used by
+         * the caller (or by other executions) meanwhile, as JDBC connections aren't meant to be used concurrently: use a
+         * separate connection for each of the queries executed concurrently. Cancelling the returned future cancels the
+         * statement being executed via {@link java.sql.Statement#cancel()}.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param executor an executor to execute the query on
+         * @return a future of the number of deleted rows in the table
+         */
+        public CompletableFuture<Integer> executeAsync(@NonNull Connection con, @NonNull Executor executor) {
+            return AsyncExecution.start(con, executor, this::execute);
+        }
+
+        /**
+         * Same as {@link #executeInChunks(List, int)} with a single connection, i.e. the chunks are executed sequentially.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param chunkSize maximum number of values of the IN list used in one execution of the query
+         * @return number of deleted rows in the table
+         * @throws SQLException if a database access error occurs
+         */
+        public int executeInChunks(Connection con, int chunkSize) throws SQLException {
+            return executeInChunks(List.of(con), chunkSize);
+        }
+
+        /**
+         * Executes the query once for each chunk of at most {@code chunkSize} values of its largest IN list (created via
+         * {@link Column#in}), so that queries with a very large IN list don't exceed the limits of the driver or the
+         * database on the number of params in a statement.
+         * <p>
+         * An IN list is split into chunks only if it's the whole {@code WHERE} condition or one of the operands of a chain
+         * of {@code AND}s (without any {@code OR}), otherwise (or if it has at most {@code chunkSize} values) the query is
+         * executed as a whole via {@link #execute}.
+         * <p>
+         * If more than one connection is given, the chunks are executed in parallel, on a virtual thread per connection.
+         * Note that each connection then deletes its chunks in its own transaction.
+         *
+         * @param cons {@link java.sql.Connection} objects that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param chunkSize maximum number of values of the IN list used in one execution of the query
+         * @return number of deleted rows in the table, summed over all the chunks
+         * @throws SQLException if a database access error occurs
+         */
+        public int executeInChunks(@NonNull List<Connection> cons, int chunkSize) throws SQLException {
+            InListChunks chunks = InListChunks.of(sql(), context.params, context.paramSqlTypes, context.filterPosition, chunkSize);
+            if (chunks == null) {
+                return execute(cons.getFirst());
             }
+
+            int rowCount = 0;
+            for (int chunkRowCount : Utils.executeChunks(cons, chunks.count(), (con, chunk) ->
+                    new ExecutableDeleteQuery(new Context(context.table, chunks.sql(chunk), chunks.params(chunk), chunks.sqlTypes(chunk), null))
+                            .execute(con))) {
+                rowCount += chunkRowCount;
+            }
+            return rowCount;
+        }
+
+        /**
+         * Same as {@link #executeBatch(Connection, List, int)} with a batch size of {@code 1000} sets of param values.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param paramValueSets sets of values of all the {@link Param}s used in this query, one set per execution
+         * @return number of deleted rows in the table for each of the sets of param values in the given order
+         * @throws SQLException if a database access error occurs
+         */
+        public int[] executeBatch(Connection con, List<ParamValue[]> paramValueSets) throws SQLException {
+            return executeBatch(con, paramValueSets, Utils.DEFAULT_BATCH_SIZE);
+        }
+
+        /**
+         * Executes this query once for each of the given sets of param values via a single
+         * {@link java.sql.PreparedStatement} by adding them to JDBC batches of at most {@code batchSize} sets, so that
+         * each batch is sent to the database in one round trip. The values that differ between the executions are
+         * {@link Param}s of this query, while its other values are the same in all executions, e.g.
+         * <blockquote><pre>
+         *     Param<String> col1 = Param.forName("COL_1");
+         *     SqlQuery.delete()
+         *             .from(TABLE_1)
+         *             .where(COL_1.equalTo(col1))
+         *             .executeBatch(connection, List.of(
+         *                     new ParamValue[] {col1.value("test1")},
+         *                     new ParamValue[] {col1.value("test2")}));
+         * </pre></blockquote>
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param paramValueSets sets of values of all the {@link Param}s used in this query, one set per execution
+         * @param batchSize maximum number of sets of param values sent to the database in one batch
+         * @return number of deleted rows in the table for each of the sets of param values in the given order, as reported
+         * by the driver (which may be {@link java.sql.Statement#SUCCESS_NO_INFO})
+         * @throws SQLException if a database access error occurs
+         * @throws IllegalArgumentException if a set has no value for a param of this query
+         */
+        public int[] executeBatch(Connection con, @NonNull List<ParamValue[]> paramValueSets, int batchSize) throws SQLException {
+            Utils.requirePositiveBatchSize(batchSize);
+            List<Object> values = context.params;
+            for (ParamValue[] paramValues : paramValueSets) {
+                Utils.requireParamValues(values, paramValues);
+            }
+
+            // Binders are chosen from the SQL types of the params or else from the classes of the values of the first set
+            ParamBinder[] paramBinders = ParamBinder.forParams(paramValueSets.isEmpty() ? context.params : Utils.bindParams(context.params, paramValueSets.getFirst()), context.paramSqlTypes);
+            try (PreparedStatement stmt = con.prepareStatement(sql())) {
+                return Utils.executeBatch(stmt, paramValueSets, batchSize, (batchStmt, paramValues) -> setParams(batchStmt, paramValues, paramBinders));
+            } finally {
+                ResultCache.invalidateAll(con, context.table);
+            }
+        }
+
+        /**
+         * Same as {@link #execute(Connection)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @return number of deleted rows in the table
+         * @throws SQLException if a database access error occurs
+         */
+        public int execute(@NonNull ConnectionProvider provider) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return execute(con);
+            }
+        }
+
+        /**
+         * Same as {@link #executeReturning(Connection, ResultSetMapper)} with a connection got from the given provider,
+         * which is closed (e.g. returned to its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param <T> a java class type to represent a deleted row
+         * @return a list of objects of type {@code <T>} representing the deleted rows
+         * @throws SQLException if a database access error occurs
+         */
+        public <T> List<T> executeReturning(@NonNull ConnectionProvider provider, ResultSetMapper<T> resultSetMapper) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeReturning(con, resultSetMapper);
+            }
+        }
+
+        /**
+         * Same as {@link #executeAsync(ConnectionProvider, Executor)} executing the query on a new virtual thread.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @return a future of the number of deleted rows in the table
+         */
+        public CompletableFuture<Integer> executeAsync(ConnectionProvider provider) {
+            return executeAsync(provider, AsyncExecution.VIRTUAL_THREAD_EXECUTOR);
+        }
+
+        /**
+         * Same as {@link #executeAsync(Connection, Executor)} with a connection got from the given provider when the
+         * execution starts, which is closed (e.g. returned to its pool) when it ends.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param executor an executor to execute the query on
+         * @return a future of the number of deleted rows in the table
+         */
+        public CompletableFuture<Integer> executeAsync(@NonNull ConnectionProvider provider, @NonNull Executor executor) {
+            return AsyncExecution.start(provider, executor, this::execute);
+        }
+
+        /**
+         * Same as {@link #executeInChunks(List, int)} with {@code parallelism} connections got from the given provider,
+         * which are closed (e.g. returned to their pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connections from
+         * @param parallelism number of connections executing the chunks in parallel
+         * @param chunkSize maximum number of values of the IN list used in one execution of the query
+         * @return number of deleted rows in the table, summed over all the chunks
+         * @throws SQLException if a database access error occurs
+         */
+        public int executeInChunks(@NonNull ConnectionProvider provider, int parallelism, int chunkSize) throws SQLException {
+            return Utils.withConnections(provider, parallelism, cons -> executeInChunks(cons, chunkSize));
+        }
+
+        /**
+         * Same as {@link #executeBatch(Connection, List)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param paramValueSets sets of values of all the {@link Param}s used in this query, one set per execution
+         * @return number of deleted rows in the table for each of the sets of param values in the given order
+         * @throws SQLException if a database access error occurs
+         */
+        public int[] executeBatch(@NonNull ConnectionProvider provider, List<ParamValue[]> paramValueSets) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeBatch(con, paramValueSets);
+            }
+        }
+
+        /**
+         * Same as {@link #executeBatch(Connection, List, int)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param paramValueSets sets of values of all the {@link Param}s used in this query, one set per execution
+         * @param batchSize maximum number of sets of param values sent to the database in one batch
+         * @return number of deleted rows in the table for each of the sets of param values in the given order
+         * @throws SQLException if a database access error occurs
+         */
+        public int[] executeBatch(@NonNull ConnectionProvider provider, List<ParamValue[]> paramValueSets, int batchSize) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeBatch(con, paramValueSets, batchSize);
+            }
+        }
+
+        /**
+         * Binds values to the {@link Param}s used in this query. The sql statement of this query is built only once and
+         * shared with the returned query, so a query built with params can be kept as an immutable template and executed
+         * many times (also concurrently) with different values.
+         *
+         * @param paramValues values of all the {@link Param}s used in this query
+         * @return a copy of this query, with the given values bound to its params, that is ready for execution
+         */
+        public ExecutableDeleteQuery bind(@NonNull ParamValue... paramValues) {
+            return new ExecutableDeleteQuery(new Context(context.table, context.sql(), Utils.bindParams(context.params, paramValues), context.paramSqlTypes,
+                    context.filterPosition, context.paramBinders()));
         }
 
         /**
          * @return the sql statement used to execute the sql query, callers may want to log it for debugging/information
          */
         public String sql() {
-            return context.sqlBuilder.toString();
+            return context.sql();
         }
 
         /**
@@ -115,5 +457,17 @@ public class DeleteQuery {
         public List<Object> params() {
             return context.params;
         }
+
+        private static void setParams(PreparedStatement stmt, List<Object> params, ParamBinder[] paramBinders) throws SQLException {
+            for (int i = 0; i < paramBinders.length; ++i) {
+                paramBinders[i].bind(stmt, i + 1, Utils.requireBound(params.get(i)));
+            }
+        }
+
+        private void setParams(PreparedStatement stmt, ParamValue[] paramValues, ParamBinder[] paramBinders) throws SQLException {
+            for (int i = 0; i < paramBinders.length; ++i) {
+                paramBinders[i].bind(stmt, i + 1, Utils.bindParam(context.params.get(i), paramValues));
+            }
+        }
     }
 }
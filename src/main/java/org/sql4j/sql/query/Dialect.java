@@ -0,0 +1,255 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The sql dialects of the databases, for the few statements and clauses that are rendered differently by different
+ * databases. A query's sql statement is built in the standard dialect and rendered in the dialect of the database at
+ * execution time.
+ */
+
+enum Dialect {
+    /**
+     * Standard sql e.g. of PostgreSQL, Oracle, SQL Server and DB2. Note that SQL Server accepts the
+     * {@code OFFSET ... FETCH} clause of a limit only after an {@code ORDER BY} clause.
+     */
+    STANDARD,
+    /**
+     * Sql of H2, which is standard sql with a few extensions
+     */
+    H2 {
+        @Override
+        String upsertSql(String table, List<String> columns, List<String> keyColumns) {
+            StringBuilder sqlBuilder = new StringBuilder(Utils.SQL_BUILDER_CAPACITY)
+                    .append("MERGE\nINTO\n    ")
+                    .append(table)
+                    .append("\n    (");
+            appendList(sqlBuilder, columns);
+            sqlBuilder.append(")\nKEY\n    (");
+            appendList(sqlBuilder, keyColumns);
+            sqlBuilder.append(")\nVALUES\n    (");
+            appendPlaceholders(sqlBuilder, columns.size());
+            return sqlBuilder.append(")\n").toString();
+        }
+
+        @Override
+        String changedRowsSql(String sql, boolean deleted) {
+            return "SELECT\n    *\nFROM\n    " + (deleted ? "OLD" : "FINAL") + " TABLE (\n" + sql + ")\n";
+        }
+    },
+    /**
+     * Sql of MySQL (8.0.19 or later)
+     */
+    MYSQL {
+        @Override
+        String limitClause(int rowCount, long offset) {
+            return mysqlLimitClause(rowCount, offset);
+        }
+
+        @Override
+        String upsertSql(String table, List<String> columns, List<String> keyColumns) {
+            // The inserted row is referred to via a row alias, as VALUES(column) is deprecated since MySQL 8.0.20
+            return mysqlUpsertSql(table, columns, keyColumns, " AS NEW", "NEW.", "");
+        }
+    },
+    /**
+     * Sql of MariaDB, which is the sql of MySQL except for the row alias of {@code INSERT} statements
+     */
+    MARIADB {
+        @Override
+        String limitClause(int rowCount, long offset) {
+            return mysqlLimitClause(rowCount, offset);
+        }
+
+        @Override
+        String upsertSql(String table, List<String> columns, List<String> keyColumns) {
+            return mysqlUpsertSql(table, columns, keyColumns, "", "VALUES(", ")");
+        }
+    };
+
+    /**
+     * The dialects of the physical connections, so that the database metadata is read once per connection rather than
+     * once per lease of a pooled connection
+     */
+    private static final Map<Connection, Dialect> DIALECTS = new WeakHashMap<>();
+    private static final ReentrantLock DIALECTS_LOCK = new ReentrantLock();
+
+    /**
+     * @return the dialect of the database of the given connection, which is read from the connection's metadata when
+     * the connection is first used and cached until the connection is garbage collected
+     * @throws SQLException if a database access error occurs
+     */
+    static Dialect of(Connection con) throws SQLException {
+        Connection physicalCon = Utils.physicalConnection(con);
+        Dialect dialect;
+        DIALECTS_LOCK.lock();
+        try {
+            dialect = DIALECTS.get(physicalCon);
+        } finally {
+            DIALECTS_LOCK.unlock();
+        }
+        if (dialect == null) {
+            // The metadata is read outside the lock, so that other connections aren't blocked meanwhile
+            dialect = switch (con.getMetaData().getDatabaseProductName()) {
+                case "H2" -> H2;
+                case "MySQL" -> MYSQL;
+                case "MariaDB" -> MARIADB;
+                default -> STANDARD;
+            };
+            DIALECTS_LOCK.lock();
+            try {
+                DIALECTS.put(physicalCon, dialect);
+            } finally {
+                DIALECTS_LOCK.unlock();
+            }
+        }
+        return dialect;
+    }
+
+    /**
+     * @return true if the dialect renders limit clauses as {@code LIMIT offset, rowCount}
+     */
+    boolean isMysql() {
+        return this == MYSQL || this == MARIADB;
+    }
+
+    /**
+     * @param rowCount maximum number of rows in the results
+     * @param offset number of rows skipped before the first row in the results
+     * @return the clause limiting the results of a {@code SELECT} query
+     */
+    String limitClause(int rowCount, long offset) {
+        // The offset is rendered even if it's 0, as SQL Server requires it before FETCH
+        return "OFFSET " + offset + " ROWS\nFETCH FIRST " + rowCount + " ROWS ONLY\n";
+    }
+
+    /**
+     * @param table the table to upsert rows into
+     * @param columns the columns of the upserted rows, whose values are params in the same order
+     * @param keyColumns the columns identifying the rows that are already in the table
+     * @return the statement inserting a row, or updating it if a row with the same key is already in the table
+     */
+    String upsertSql(String table, List<String> columns, List<String> keyColumns) {
+        StringBuilder sqlBuilder = new StringBuilder(Utils.SQL_BUILDER_CAPACITY)
+                .append("MERGE\nINTO\n    ")
+                .append(table)
+                .append("\nUSING\n    (VALUES (");
+        appendPlaceholders(sqlBuilder, columns.size());
+        sqlBuilder.append(")) AS SOURCE (");
+        appendList(sqlBuilder, columns);
+        sqlBuilder.append(")\nON\n    ");
+        for (int i = 0; i < keyColumns.size(); ++i) {
+            String keyColumn = keyColumns.get(i);
+            sqlBuilder.append(i > 0 ? " AND " : "")
+                    .append(table).append('.').append(keyColumn).append(" = SOURCE.").append(keyColumn);
+        }
+        List<String> updatedColumns = nonKeyColumns(columns, keyColumns);
+        if (!updatedColumns.isEmpty()) {
+            sqlBuilder.append("\nWHEN MATCHED THEN\n    UPDATE SET ");
+            for (int i = 0; i < updatedColumns.size(); ++i) {
+                String column = updatedColumns.get(i);
+                sqlBuilder.append(i > 0 ? ", " : "").append(column).append(" = SOURCE.").append(column);
+            }
+        }
+        sqlBuilder.append("\nWHEN NOT MATCHED THEN\n    INSERT (");
+        appendList(sqlBuilder, columns);
+        sqlBuilder.append(") VALUES (");
+        appendList(sqlBuilder, columns, "SOURCE.");
+        return sqlBuilder.append(")\n").toString();
+    }
+
+    /**
+     * @param sql an {@code UPDATE} or {@code DELETE} statement
+     * @param deleted true if the statement is a {@code DELETE} statement
+     * @return a query executing the given statement and returning the changed rows (as they are after an update or
+     * were before a delete) e.g. via a data change delta table, null if the dialect has no such queries
+     */
+    String changedRowsSql(String sql, boolean deleted) {
+        return null;
+    }
+
+    private static String mysqlLimitClause(int rowCount, long offset) {
+        return "LIMIT " + (offset > 0 ? offset + ", " : "") + rowCount + "\n";
+    }
+
+    /**
+     * @return an {@code INSERT ... ON DUPLICATE KEY UPDATE} statement, whose updated columns are set to the values of
+     * the inserted row referred to via the given row alias clause, prefix and suffix of the column names
+     */
+    private static String mysqlUpsertSql(String table, List<String> columns, List<String> keyColumns,
+                                         String rowAlias, String valuePrefix, String valueSuffix) {
+        StringBuilder sqlBuilder = new StringBuilder(Utils.SQL_BUILDER_CAPACITY)
+                .append("INSERT\nINTO\n    ")
+                .append(table)
+                .append("\n    (");
+        appendList(sqlBuilder, columns);
+        sqlBuilder.append(")\nVALUES\n    (");
+        appendPlaceholders(sqlBuilder, columns.size());
+        sqlBuilder.append(')').append(rowAlias).append("\nON DUPLICATE KEY UPDATE\n    ");
+        List<String> updatedColumns = nonKeyColumns(columns, keyColumns);
+        if (updatedColumns.isEmpty()) {
+            // Rows that are already there are left as they are
+            String keyColumn = keyColumns.getFirst();
+            sqlBuilder.append(keyColumn).append(" = ").append(keyColumn);
+        } else {
+            for (int i = 0; i < updatedColumns.size(); ++i) {
+                String column = updatedColumns.get(i);
+                sqlBuilder.append(i > 0 ? ",\n    " : "").append(column).append(" = ")
+                        .append(valuePrefix).append(column).append(valueSuffix);
+            }
+        }
+        return sqlBuilder.append("\n").toString();
+    }
+
+    private static void appendList(StringBuilder sqlBuilder, List<String> columns) {
+        appendList(sqlBuilder, columns, "");
+    }
+
+    private static void appendList(StringBuilder sqlBuilder, List<String> columns, String prefix) {
+        for (int i = 0; i < columns.size(); ++i) {
+            sqlBuilder.append(i > 0 ? ", " : "").append(prefix).append(columns.get(i));
+        }
+    }
+
+    private static void appendPlaceholders(StringBuilder sqlBuilder, int count) {
+        for (int i = 0; i < count; ++i) {
+            sqlBuilder.append(i > 0 ? ", ?" : "?");
+        }
+    }
+
+    private static List<String> nonKeyColumns(List<String> columns, List<String> keyColumns) {
+        List<String> nonKeyColumns = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            if (!keyColumns.contains(column)) {
+                nonKeyColumns.add(column);
+            }
+        }
+        return nonKeyColumns;
+    }
+}
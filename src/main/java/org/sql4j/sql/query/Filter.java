@@ -20,33 +20,110 @@ package org.sql4j.sql.query;
  * ===============================LICENSE_END===============================
  */
 
-import lombok.Getter;
 import lombok.NonNull;
 
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Stream;
 
 /**
  * Class representing a condition used in {@code WHERE} clause to filter results in sql queries
+ * <p>
+ * A filter is an immutable expression tree of predicates (created via {@link Column} methods e.g.
+ * {@link Column#equalTo}) combined via {@link #and}, {@link #or} and {@link #negate}. Combining filters doesn't copy
+ * their conditions or params, a chain of {@code and}/{@code or} calls is kept as a left-deep tree which is rendered as
+ * one flat sequence of conditions, so that the condition of a filter built from N predicates is rendered in O(N) time
+ * (once, when it's needed for the first time).
  */
 
-@Getter
 public class Filter {
-    @NonNull
-    private final String condition;
-    @NonNull
-    private final List<Object> params;
-    private final boolean isComposite;
+    private final Kind kind;
+    /**
+     * The condition of a {@link Kind#PREDICATE} filter
+     */
+    private final String predicate;
+    /**
+     * The params of a {@link Kind#PREDICATE} filter
+     */
+    private final List<Object> predicateParams;
+    /**
+     * The SQL type (as defined in {@link java.sql.Types}) of the params of a {@link Kind#PREDICATE} filter, i.e. of its
+     * column
+     */
+    private final int predicateSqlType;
+    /**
+     * The column name of a {@link Kind#PREDICATE} filter with the condition {@code column IN (<values>)}, null for
+     * other predicates
+     */
+    private final String inListColumn;
+    /**
+     * The padding of the values of a {@link Kind#PREDICATE} filter with the condition {@code column IN (<values>)}, null
+     * for other predicates
+     */
+    private final InListPadding inListPadding;
+    /**
+     * The left operand of an {@link Kind#AND}/{@link Kind#OR} filter, or the operand of a {@link Kind#NOT} filter
+     */
+    private final Filter left;
+    /**
+     * The right operand of an {@link Kind#AND}/{@link Kind#OR} filter
+     */
+    private final Filter right;
+    /**
+     * The condition and params of an {@link Kind#AND}/{@link Kind#OR}/{@link Kind#NOT} filter, rendered when needed
+     * for the first time
+     */
+    private Rendered rendered;
 
-    Filter(@NonNull String condition, @NonNull List<Object> params) {
-        this(condition, params, false);
+    Filter(@NonNull String condition, @NonNull List<Object> params, int sqlType) {
+        this(condition, params, sqlType, null, null);
     }
 
-    private Filter(@NonNull String condition, @NonNull List<Object> params, boolean isComposite) {
+    private Filter(String condition, List<Object> params, int sqlType, String inListColumn, InListPadding inListPadding) {
         Utils.requireNonNulls(params);
-        this.condition = condition;
-        this.params = params;
-        this.isComposite = isComposite;
+        this.kind = Kind.PREDICATE;
+        this.predicate = condition;
+        this.predicateParams = params;
+        this.predicateSqlType = sqlType;
+        this.inListColumn = inListColumn;
+        this.inListPadding = inListPadding;
+        this.left = null;
+        this.right = null;
+    }
+
+    private Filter(Kind kind, Filter left, Filter right) {
+        this.kind = kind;
+        this.predicate = null;
+        this.predicateParams = null;
+        this.predicateSqlType = Types.NULL;
+        this.inListColumn = null;
+        this.inListPadding = null;
+        this.left = left;
+        this.right = right;
+    }
+
+    /**
+     * @return a filter with the condition {@code column IN (<values padded as per the given padding>)}
+     */
+    static Filter inList(String column, int sqlType, List<Object> values, InListPadding padding) {
+        List<Object> paddedValues = padInList(values, padding);
+        return new Filter(column + " IN (?" + ", ?".repeat(paddedValues.size() - 1) + ")", paddedValues, sqlType, column, padding);
+    }
+
+    /**
+     * @return a filter with the condition {@code column NOT IN (<values padded as per the given padding>)}
+     */
+    static Filter notInList(String column, int sqlType, List<Object> values, InListPadding padding) {
+        List<Object> paddedValues = padInList(values, padding);
+        return new Filter(column + " NOT IN (?" + ", ?".repeat(paddedValues.size() - 1) + ")", paddedValues, sqlType);
+    }
+
+    private static List<Object> padInList(List<Object> values, InListPadding padding) {
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("at least one value is required in IN list");
+        }
+        return padding.pad(values);
     }
 
     /**
@@ -54,9 +131,7 @@ public class Filter {
      * @return a new filter representing a logical {@code AND} of the caller filter and the given {@code other} filter
      */
     public Filter and(@NonNull Filter other) {
-        return new Filter(condition + "\n    AND " + conditionStr(other.condition, other.isComposite),
-                Stream.concat(params.stream(), other.params.stream()).toList(),
-                true);
+        return new Filter(Kind.AND, this, other);
     }
 
     /**
@@ -64,19 +139,264 @@ public class Filter {
      * @return a new filter representing a logical {@code OR} of the caller filter and the given {@code other} filter
      */
     public Filter or(@NonNull Filter other) {
-        return new Filter(condition + "\n     OR " + conditionStr(other.condition, other.isComposite),
-                Stream.concat(params.stream(), other.params.stream()).toList(),
-                true);
+        return new Filter(Kind.OR, this, other);
     }
 
     /**
      * @return a new filter representing a logical {@code NOT} of the caller filter
      */
     public Filter negate() {
-        return new Filter("NOT " + conditionStr(condition, isComposite), params.stream().toList());
+        return new Filter(Kind.NOT, this, null);
+    }
+
+    /**
+     * @return the condition of this filter as used in {@code WHERE} clause, with a {@code ?} for each of its params
+     */
+    public String getCondition() {
+        return kind == Kind.PREDICATE ? predicate : rendered().condition();
+    }
+
+    /**
+     * @return the values of the params used in the condition of this filter, in the same order as their {@code ?}s
+     */
+    public List<Object> getParams() {
+        return kind == Kind.PREDICATE ? predicateParams : rendered().params();
+    }
+
+    /**
+     * @return true if this filter is a logical {@code AND} or {@code OR} of other filters
+     */
+    public boolean isComposite() {
+        return kind == Kind.AND || kind == Kind.OR;
+    }
+
+    /**
+     * Renders the condition of this filter directly into the given sql builder, and its params and their SQL types into
+     * the given lists
+     */
+    void appendTo(StringBuilder sqlBuilder, List<Object> params, List<Integer> sqlTypes) {
+        appendTo(sqlBuilder, params, sqlTypes, null);
+    }
+
+    /**
+     * @return the SQL type of the params of this filter if it's a predicate
+     */
+    int getSqlType() {
+        return predicateSqlType;
+    }
+
+    /**
+     * @return the IN list predicate (with the most values) of this filter that can be split into chunks, or null if
+     * there is no such predicate. A filter with an IN list is true for a row iff it's true for the row with the IN list
+     * replaced by exactly one of the chunks of the IN list, only if the IN list is the filter itself or one of the
+     * operands of a chain of {@code AND}s (without any {@code OR}). As the same predicate may also occur elsewhere in
+     * the filter, only that occurrence of it is identified as the one to be split.
+     */
+    ChunkableInList chunkableInList() {
+        // The operands of the chain of ANDs, in the order they're rendered in
+        List<Filter> operands = new ArrayList<>();
+        Filter filter = this;
+        while (filter.kind == Kind.AND) {
+            operands.add(filter.right);
+            filter = filter.left;
+        }
+        if (filter.kind == Kind.OR) {
+            return null;
+        }
+        operands.add(filter);
+        Collections.reverse(operands);
+
+        int inListIndex = -1;
+        for (int i = 0; i < operands.size(); ++i) {
+            Filter operand = operands.get(i);
+            if (operand.inListColumn != null
+                    && (inListIndex < 0 || operand.predicateParams.size() >= operands.get(inListIndex).predicateParams.size())) {
+                inListIndex = i;
+            }
+        }
+        if (inListIndex < 0) {
+            return null;
+        }
+        Filter inList = operands.get(inListIndex);
+        int occurrence = 0;
+        for (int i = 0; i < inListIndex; ++i) {
+            occurrence += operands.get(i).occurrencesOf(inList);
+        }
+        return new ChunkableInList(inList, occurrence);
+    }
+
+    /**
+     * @return the number of times the given filter occurs in this filter
+     */
+    private int occurrencesOf(Filter filter) {
+        int occurrences = 0;
+        // Traversed iteratively (instead of recursively), as filters can be as deep as the chain of and/or calls used
+        // to build them
+        List<Filter> pending = new ArrayList<>();
+        pending.add(this);
+        while (!pending.isEmpty()) {
+            Filter next = pending.removeLast();
+            if (next == filter) {
+                ++occurrences;
+            } else if (next.kind != Kind.PREDICATE) {
+                pending.add(next.left);
+                if (next.right != null) {
+                    pending.add(next.right);
+                }
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Renders this filter, with the given chunk's IN list predicate replaced by an IN list of the chunk's values
+     */
+    void appendTo(StringBuilder sqlBuilder, List<Object> params, List<Integer> sqlTypes, InListChunk chunk) {
+        Rendered rendered = chunk == null ? this.rendered : null;
+        if (rendered != null) {
+            // Already rendered e.g. a filter that is reused in other filters
+            sqlBuilder.append(rendered.condition());
+            params.addAll(rendered.params());
+            sqlTypes.addAll(rendered.sqlTypes());
+            return;
+        }
+        switch (kind) {
+            case PREDICATE -> {
+                if (chunk != null && chunk.inList == this && chunk.isNextOccurrenceChunked()) {
+                    sqlBuilder.append(inListColumn).append(" IN (?");
+                    for (int i = 1; i < chunk.size; ++i) {
+                        sqlBuilder.append(", ?");
+                    }
+                    sqlBuilder.append(')');
+                    chunk.paramsStart = params.size();
+                    chunk.addValuesTo(params);
+                    addSqlTypesTo(sqlTypes, chunk.size);
+                } else {
+                    sqlBuilder.append(predicate);
+                    params.addAll(predicateParams);
+                    addSqlTypesTo(sqlTypes, predicateParams.size());
+                }
+            }
+            case NOT -> {
+                sqlBuilder.append("NOT ");
+                left.appendOperandTo(sqlBuilder, params, sqlTypes, chunk);
+            }
+            default -> {
+                // Walk down the left spine iteratively (instead of recursively), as it's as long as the chain of
+                // and/or calls used to build this filter
+                List<Filter> spine = new ArrayList<>();
+                Filter filter = this;
+                while (filter.isComposite() && (chunk != null || filter.rendered == null)) {
+                    spine.add(filter);
+                    filter = filter.left;
+                }
+                filter.appendTo(sqlBuilder, params, sqlTypes, chunk);
+                for (int i = spine.size() - 1; i >= 0; --i) {
+                    Filter composite = spine.get(i);
+                    sqlBuilder.append(composite.kind == Kind.AND ? "\n    AND " : "\n     OR ");
+                    composite.right.appendOperandTo(sqlBuilder, params, sqlTypes, chunk);
+                }
+            }
+        }
+    }
+
+    private void addSqlTypesTo(List<Integer> sqlTypes, int count) {
+        for (int i = 0; i < count; ++i) {
+            sqlTypes.add(predicateSqlType);
+        }
+    }
+
+    private void appendOperandTo(StringBuilder sqlBuilder, List<Object> params, List<Integer> sqlTypes, InListChunk chunk) {
+        if (isComposite()) {
+            sqlBuilder.append('(');
+            appendTo(sqlBuilder, params, sqlTypes, chunk);
+            sqlBuilder.append(')');
+        } else {
+            appendTo(sqlBuilder, params, sqlTypes, chunk);
+        }
+    }
+
+    private Rendered rendered() {
+        Rendered rendered = this.rendered;
+        if (rendered == null) {
+            StringBuilder conditionBuilder = new StringBuilder(Utils.SQL_BUILDER_CAPACITY);
+            List<Object> params = new ArrayList<>();
+            List<Integer> sqlTypes = new ArrayList<>();
+            appendTo(conditionBuilder, params, sqlTypes);
+            rendered = new Rendered(conditionBuilder.toString(), Collections.unmodifiableList(params), sqlTypes);
+            this.rendered = rendered;
+        }
+        return rendered;
+    }
+
+    private record Rendered(String condition, List<Object> params, List<Integer> sqlTypes) {
+    }
+
+    /**
+     * Position of a filter's condition in the sql statement of a query, and of its params in the params of the query
+     */
+    record Position(Filter filter, int sqlStart, int sqlEnd, int paramsStart) {
+    }
+
+    /**
+     * An IN list predicate that can be split into chunks, and which of its occurrences in a filter (in the order they're
+     * rendered in) is split
+     */
+    record ChunkableInList(Filter inList, int occurrence) {
+    }
+
+    /**
+     * A range of values of an IN list predicate, padded as per the padding of the IN list (but not beyond the size of a
+     * full chunk)
+     */
+    static class InListChunk {
+        private final Filter inList;
+        private final int occurrence;
+        private final int from;
+        private final int to;
+        private final int size;
+        /**
+         * Index of the first value of this chunk in the params of the filter rendered with this chunk
+         */
+        private int paramsStart;
+        /**
+         * Number of occurrences of the IN list predicate rendered so far with this chunk
+         */
+        private int renderedOccurrences;
+
+        InListChunk(ChunkableInList chunkable, int from, int to, int chunkSize) {
+            this.inList = chunkable.inList();
+            this.occurrence = chunkable.occurrence();
+            this.from = from;
+            this.to = to;
+            this.size = Math.min(inList.inListPadding.paddedSize(to - from), chunkSize);
+        }
+
+        /**
+         * @return true if the next occurrence of the IN list predicate being rendered is the one replaced by this chunk
+         */
+        private boolean isNextOccurrenceChunked() {
+            return renderedOccurrences++ == occurrence;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void addValuesTo(List<Object> params) {
+            List<Object> values = inList.predicateParams;
+            params.addAll(values.subList(from, to));
+            for (int i = to - from; i < size; ++i) {
+                params.add(values.get(to - 1));
+            }
+        }
+
+        int getParamsStart() {
+            return paramsStart;
+        }
     }
 
-    private String conditionStr(String condition, boolean isComposite) {
-        return isComposite ? ("(" + condition + ")") : condition;
+    private enum Kind {
+        PREDICATE, AND, OR, NOT
     }
 }
@@ -0,0 +1,128 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class used to split the values of the largest IN list in the filter of a query into chunks of a bounded size, and to
+ * render the sql statement and params of the query for each of the chunks
+ */
+
+class InListChunks {
+    private final List<Object> params;
+    private final List<Integer> sqlTypes;
+    private final Filter.ChunkableInList chunkable;
+    private final Filter inList;
+    private final int chunkSize;
+    private final int count;
+    /**
+     * Index of the first value of the IN list in the params of the query
+     */
+    private final int inListParamsStart;
+    private final String fullChunkSql;
+    private final String lastChunkSql;
+
+    private InListChunks(String sql, List<Object> params, List<Integer> sqlTypes, Filter.Position position,
+                         Filter.ChunkableInList chunkable, int chunkSize) {
+        this.params = params;
+        this.sqlTypes = sqlTypes;
+        this.chunkable = chunkable;
+        this.inList = chunkable.inList();
+        this.chunkSize = chunkSize;
+        int size = inList.getParams().size();
+        this.count = (size + chunkSize - 1) / chunkSize;
+
+        Filter.InListChunk fullChunk = new Filter.InListChunk(chunkable, 0, chunkSize, chunkSize);
+        this.fullChunkSql = sql(sql, position, fullChunk);
+        this.inListParamsStart = position.paramsStart() + fullChunk.getParamsStart();
+        this.lastChunkSql = size % chunkSize == 0
+                ? fullChunkSql
+                : sql(sql, position, new Filter.InListChunk(chunkable, (count - 1) * chunkSize, size, chunkSize));
+    }
+
+    /**
+     * @param sql the sql statement of a query
+     * @param params the params of the query
+     * @param sqlTypes the SQL types of the params of the query
+     * @param position the position of the query's filter in its sql statement and params, null if there is no filter
+     * @param chunkSize maximum number of values of the IN list in a chunk
+     * @return the chunks of the largest IN list of the filter that can be split into chunks, or null if there is no such
+     * IN list with more than {@code chunkSize} values
+     */
+    static InListChunks of(String sql, List<Object> params, List<Integer> sqlTypes, Filter.Position position, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive but is " + chunkSize);
+        }
+        if (position == null) {
+            return null;
+        }
+        Filter.ChunkableInList chunkable = position.filter().chunkableInList();
+        if (chunkable == null || chunkable.inList().getParams().size() <= chunkSize) {
+            return null;
+        }
+        return new InListChunks(sql, params, sqlTypes, position, chunkable, chunkSize);
+    }
+
+    int count() {
+        return count;
+    }
+
+    String sql(int chunk) {
+        return chunk < count - 1 ? fullChunkSql : lastChunkSql;
+    }
+
+    List<Object> params(int chunk) {
+        int size = inList.getParams().size();
+        int from = chunk * chunkSize;
+        int to = Math.min(from + chunkSize, size);
+
+        List<Object> chunkParams = new ArrayList<>(params.size() - size + chunkSize);
+        chunkParams.addAll(params.subList(0, inListParamsStart));
+        new Filter.InListChunk(chunkable, from, to, chunkSize).addValuesTo(chunkParams);
+        chunkParams.addAll(params.subList(inListParamsStart + size, params.size()));
+        return chunkParams;
+    }
+
+    List<Integer> sqlTypes(int chunk) {
+        int size = inList.getParams().size();
+        int from = chunk * chunkSize;
+        int to = Math.min(from + chunkSize, size);
+        int chunkParamCount = new Filter.InListChunk(chunkable, from, to, chunkSize).size();
+
+        List<Integer> chunkSqlTypes = new ArrayList<>(sqlTypes.size() - size + chunkParamCount);
+        chunkSqlTypes.addAll(sqlTypes.subList(0, inListParamsStart));
+        for (int i = 0; i < chunkParamCount; ++i) {
+            chunkSqlTypes.add(inList.getSqlType());
+        }
+        chunkSqlTypes.addAll(sqlTypes.subList(inListParamsStart + size, sqlTypes.size()));
+        return chunkSqlTypes;
+    }
+
+    private static String sql(String sql, Filter.Position position, Filter.InListChunk chunk) {
+        StringBuilder sqlBuilder = new StringBuilder(sql.length());
+        sqlBuilder.append(sql, 0, position.sqlStart());
+        position.filter().appendTo(sqlBuilder, new ArrayList<>(), new ArrayList<>(), chunk);
+        sqlBuilder.append(sql, position.sqlEnd(), sql.length());
+        return sqlBuilder.toString();
+    }
+}
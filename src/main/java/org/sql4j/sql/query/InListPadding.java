@@ -0,0 +1,102 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class representing the sizes to which IN lists are padded (by repeating the last value, which doesn't change the
+ * result of an IN/NOT IN condition), so that lists of different sizes share the same sql statement, see e.g.
+ * {@link Column#in(java.util.Collection, InListPadding)}. This bounds the number of distinct sql statements of a query,
+ * which makes caching of prepared statements (see {@link StatementCache}) and of their execution plans by the database
+ * more effective.
+ */
+
+public class InListPadding {
+    /**
+     * IN lists are not padded
+     */
+    public static final InListPadding NONE = new InListPadding(new int[0]);
+    /**
+     * IN lists are padded to the next power of two e.g. a list of 5 values is padded to 8 values
+     */
+    public static final InListPadding POWERS_OF_TWO = new InListPadding(null);
+
+    /**
+     * Ascending bucket sizes, or null for powers of two
+     */
+    private final int[] bucketSizes;
+
+    private InListPadding(int[] bucketSizes) {
+        this.bucketSizes = bucketSizes;
+    }
+
+    /**
+     * @param bucketSizes sizes to which IN lists are padded e.g. {@code 10, 50, 100}; a list larger than the largest
+     *                    size is padded to a multiple of the largest size
+     * @return an InListPadding object padding IN lists to the smallest of the given sizes that is not smaller than the
+     * list
+     */
+    public static InListPadding toBuckets(@NonNull int... bucketSizes) {
+        int[] sortedBucketSizes = bucketSizes.clone();
+        Arrays.sort(sortedBucketSizes);
+        if (sortedBucketSizes.length == 0 || sortedBucketSizes[0] <= 0) {
+            throw new IllegalArgumentException("at least one bucket size is required and bucket sizes must be positive");
+        }
+        return new InListPadding(sortedBucketSizes);
+    }
+
+    /**
+     * @param size number of values of an IN list
+     * @return number of values of the IN list after padding
+     */
+    int paddedSize(int size) {
+        if (bucketSizes == null) {
+            return size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
+        }
+        if (bucketSizes.length == 0) {
+            return size;
+        }
+        for (int bucketSize : bucketSizes) {
+            if (size <= bucketSize) {
+                return bucketSize;
+            }
+        }
+        int largestBucketSize = bucketSizes[bucketSizes.length - 1];
+        return (size + largestBucketSize - 1) / largestBucketSize * largestBucketSize;
+    }
+
+    /**
+     * @return the given values padded to {@link #paddedSize(int)} by repeating the last value
+     */
+    List<Object> pad(List<Object> values) {
+        int paddedSize = paddedSize(values.size());
+        if (paddedSize == values.size()) {
+            return values;
+        }
+        Object[] paddedValues = values.toArray(new Object[paddedSize]);
+        Arrays.fill(paddedValues, values.size(), paddedSize, values.getLast());
+        return List.of(paddedValues);
+    }
+}
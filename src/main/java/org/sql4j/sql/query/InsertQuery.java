@@ -24,12 +24,15 @@ import lombok.NonNull;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
+import java.sql.Statement;
 import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Class used to build and execute sql {@code INSERT} queries
@@ -47,6 +50,7 @@ public class InsertQuery {
      * @return a {@link ValuableInsertQuery} with the given {@code table} in {@code INTO} clause e.g. {@code INSERT INTO table ...}
      */
     public ValuableInsertQuery into(@NonNull Table table) {
+        context.table = table.getName();
         context.sqlBuilder.append("INTO\n    ")
                 .append(table.getName())
                 .append("\n    ");
@@ -54,8 +58,69 @@ public class InsertQuery {
     }
 
     private static class Context {
-        private final StringBuilder sqlBuilder = new StringBuilder();
-        private final List<ColumnValue> valueParams = new ArrayList<>();
+        private final StringBuilder sqlBuilder;
+        private final List<ColumnValue> valueParams;
+        /**
+         * The params of the {@code SELECT} query whose results are inserted (if any), and their SQL types as defined in
+         * {@link java.sql.Types}, {@link java.sql.Types#NULL} if not known
+         */
+        private final List<Object> selectParams;
+        private final List<Integer> selectParamSqlTypes;
+        private String sql;
+        /**
+         * The sql statement with the limit clause of the {@code SELECT} query rendered in the dialect of MySQL and
+         * MariaDB, null if there is no such limit
+         */
+        private String mysqlSql;
+        private ParamBinder[] paramBinders;
+        /**
+         * The name of the table to insert rows into
+         */
+        private String table;
+
+        private Context() {
+            this.sqlBuilder = new StringBuilder(Utils.SQL_BUILDER_CAPACITY);
+            this.valueParams = new ArrayList<>();
+            this.selectParams = new ArrayList<>();
+            this.selectParamSqlTypes = new ArrayList<>();
+        }
+
+        private Context(Context source, List<ColumnValue> valueParams, List<Object> selectParams) {
+            this.table = source.table;
+            this.sqlBuilder = null;
+            this.valueParams = valueParams;
+            this.selectParams = selectParams;
+            this.selectParamSqlTypes = source.selectParamSqlTypes;
+            this.sql = source.sql();
+            this.mysqlSql = source.mysqlSql;
+            this.paramBinders = source.paramBinders();
+        }
+
+        private String sql() {
+            // sqlBuilder is append-only, so the cached sql is stale only if its length differs from sqlBuilder's length
+            if (sqlBuilder != null && (sql == null || sql.length() != sqlBuilder.length())) {
+                sql = sqlBuilder.toString();
+            }
+            return sql;
+        }
+
+        /**
+         * @return the sql statement rendered in the dialect of the given connection's database
+         */
+        private String sql(Connection con) throws SQLException {
+            return mysqlSql != null && Dialect.of(con).isMysql() ? mysqlSql : sql();
+        }
+
+        private ParamBinder[] paramBinders() {
+            // Params are append-only, so the cached binders are stale only if their number differs
+            if (paramBinders == null || paramBinders.length != valueParams.size() + selectParams.size()) {
+                ParamBinder[] valueBinders = ParamBinder.forColumnValues(valueParams);
+                ParamBinder[] selectBinders = ParamBinder.forParams(selectParams, selectParamSqlTypes);
+                paramBinders = Arrays.copyOf(valueBinders, valueBinders.length + selectBinders.length);
+                System.arraycopy(selectBinders, 0, paramBinders, valueBinders.length, selectBinders.length);
+            }
+            return paramBinders;
+        }
     }
 
     /**
@@ -75,15 +140,87 @@ public class InsertQuery {
          */
         public ExecutableInsertQuery values(@NonNull ColumnValue colValue, @NonNull ColumnValue... colValues) {
             Utils.requireNonNulls(colValues);
-            context.sqlBuilder.append("(")
-                    .append(Stream.concat(Stream.of(colValue), Arrays.stream(colValues))
-                            .map(ColumnValue::getName)
-                            .collect(Collectors.joining(", ")))
-                    .append(")\n");
-            context.sqlBuilder.append("VALUES\n    (?")
-                    .append(", ?".repeat(colValues.length))
-                    .append(")\n");
-            context.valueParams.addAll(Stream.concat(Stream.of(colValue), Arrays.stream(colValues)).toList());
+            context.valueParams.add(colValue);
+            Collections.addAll(context.valueParams, colValues);
+            appendColumnsAndValues(context.valueParams);
+            return new ExecutableInsertQuery(context);
+        }
+
+        /**
+         * Used to insert many rows by executing the same {@code INSERT} statement in JDBC batches, one parameter set per row.
+         *
+         * @param rows rows of {@link ColumnValue}s to be inserted, all rows must have the same columns in the same order
+         * @return a {@link BatchInsertQuery} that is ready for execution
+         */
+        public BatchInsertQuery values(@NonNull List<List<ColumnValue>> rows) {
+            List<List<ColumnValue>> rowsCopy = Utils.copyRows(rows);
+            appendColumnsAndValues(rowsCopy.getFirst());
+            return new BatchInsertQuery(context, rowsCopy);
+        }
+
+        private void appendColumnsAndValues(List<ColumnValue> colValues) {
+            StringBuilder sqlBuilder = context.sqlBuilder.append('(');
+            for (int i = 0; i < colValues.size(); ++i) {
+                if (i > 0) {
+                    sqlBuilder.append(", ");
+                }
+                sqlBuilder.append(colValues.get(i).getName());
+            }
+            sqlBuilder.append(")\nVALUES\n    (?");
+            for (int i = 1; i < colValues.size(); ++i) {
+                sqlBuilder.append(", ?");
+            }
+            sqlBuilder.append(")\n");
+        }
+
+        /**
+         * Used to insert the results of a {@code SELECT} query, see {@link SelectableInsertQuery#select}.
+         *
+         * @param column a column to be inserted
+         * @param columns other columns to be inserted
+         * @return a {@link SelectableInsertQuery} with the given columns e.g. {@code INSERT INTO table (column, <columns separated by comma>) ...}
+         */
+        public SelectableInsertQuery columns(@NonNull Column<?> column, @NonNull Column<?>... columns) {
+            Utils.requireNonNulls(columns);
+            StringBuilder sqlBuilder = context.sqlBuilder.append('(').append(column.getName());
+            for (Column<?> c : columns) {
+                sqlBuilder.append(", ").append(c.getName());
+            }
+            sqlBuilder.append(")\n");
+            return new SelectableInsertQuery(context);
+        }
+    }
+
+    /**
+     * Class to represent an {@code INSERT} query that can be used to add a {@code SELECT} query as the source of the
+     * inserted rows
+     */
+    public static class SelectableInsertQuery {
+        private final Context context;
+
+        private SelectableInsertQuery(Context context) {
+            this.context = context;
+        }
+
+        /**
+         * Inserts the results of the given query e.g. {@code INSERT INTO table (columns) SELECT ...}, so that rows are
+         * copied within the database, without reading them. The results must have as many columns as are inserted, in
+         * the same order. The params of the query (also unbound {@link Param}s, which can be bound via
+         * {@link ExecutableInsertQuery#bind}) are the params of the returned query, and a limit of the query (see
+         * {@link SelectQuery.LimitableSelectQuery#limit}) is rendered in the dialect of the database at execution time.
+         *
+         * @param query a {@code SELECT} query whose results are inserted
+         * @return an {@link ExecutableInsertQuery} that is ready for execution
+         */
+        public ExecutableInsertQuery select(@NonNull SelectQuery.ExecutableSelectQuery query) {
+            String sql = query.sql();
+            String mysqlSql = query.sql(Dialect.MYSQL);
+            if (!mysqlSql.equals(sql)) {
+                context.mysqlSql = context.sqlBuilder + mysqlSql;
+            }
+            context.sqlBuilder.append(sql);
+            context.selectParams.addAll(query.params());
+            context.selectParamSqlTypes.addAll(query.paramSqlTypes());
             return new ExecutableInsertQuery(context);
         }
     }
@@ -104,33 +241,466 @@ public class InsertQuery {
          * @throws SQLException if a database access error occurs
          */
         public int execute(Connection con) throws SQLException {
-            try (PreparedStatement stmt = con.prepareStatement(sql())) {
-                for (int i = 0; i < context.valueParams.size(); ++i) {
-                    ColumnValue colValue = context.valueParams.get(i);
-
-                    if (colValue.getValue() != null) {
-                        stmt.setObject(i + 1, colValue.getValue());
-                    } else {
-                        stmt.setNull(i + 1, colValue.getSqlType());
-                    }
-                }
+            try (PreparedStatement stmt = con.prepareStatement(context.sql(con))) {
+                setParams(stmt, context);
 
                 return stmt.executeUpdate();
+            } finally {
+                ResultCache.invalidateAll(con, context.table);
+            }
+        }
+
+        /**
+         * Same as {@link #execute(Connection)}, but also returns the keys generated by the database for the inserted
+         * rows (e.g. of an auto-increment column), read via {@link Statement#getGeneratedKeys()} in the same execution,
+         * without a separate {@code SELECT}.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param resultSetMapper a {@link ResultSetMapper} to map a row of generated keys to an object of type {@code <T>}
+         * @param keyColumns the columns whose generated values are returned, if none are given the driver chooses them
+         *                   (see {@link Statement#RETURN_GENERATED_KEYS}) e.g. the identity columns of the table
+         * @param <T> a java class type to represent the generated keys of a row
+         * @return the generated keys of each of the inserted rows
+         * @throws SQLException if a database access error occurs
+         */
+        public <T> List<T> executeReturningKeys(Connection con, @NonNull ResultSetMapper<T> resultSetMapper,
+                                                @NonNull Column<?>... keyColumns) throws SQLException {
+            List<T> keys = new ArrayList<>();
+
+            try (PreparedStatement stmt = prepareReturningKeys(con, context.sql(con), keyColumns)) {
+                setParams(stmt, context);
+
+                stmt.executeUpdate();
+                readKeys(stmt, resultSetMapper, keys);
+            } finally {
+                ResultCache.invalidateAll(con, context.table);
             }
+
+            return keys;
+        }
+
+        /**
+         * Same as {@link #executeReturningKeys(Connection, ResultSetMapper, Column[])} for a single generated key of
+         * an integer type (e.g. of an auto-increment column), which is read directly into a {@code long[]} via
+         * {@link ResultSet#getLong(int)}.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param keyColumns the column whose generated values are returned, if none is given the driver chooses it
+         * @return the generated key of each of the inserted rows
+         * @throws SQLException if a database access error occurs
+         */
+        public long[] executeReturningKeys(Connection con, @NonNull Column<?>... keyColumns) throws SQLException {
+            try (PreparedStatement stmt = prepareReturningKeys(con, context.sql(con), keyColumns)) {
+                setParams(stmt, context);
+
+                stmt.executeUpdate();
+                return readLongKeys(stmt, new long[0]);
+            } finally {
+                ResultCache.invalidateAll(con, context.table);
+            }
+        }
+
+        /**
+         * Same as {@link #executeAsync(Connection, Executor)} executing the query on a new virtual thread.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @return a future of the number of inserted rows in the table
+         */
+        public CompletableFuture<Integer> executeAsync(Connection con) {
+            return executeAsync(con, AsyncExecution.VIRTUAL_THREAD_EXECUTOR);
+        }
+
+        /**
+         * Executes the query asynchronously on the given executor, as {@link #execute(Connection)} does.
+         * <p>
+         * The given connection is used by the execution until the returned future completes, so it must not be used by
+         * the caller (or by other executions) meanwhile, as JDBC connections aren't meant to be used concurrently: use a
+         * separate connection for each of the queries executed concurrently. Cancelling the returned future cancels the
+         * statement being executed via {@link java.sql.Statement#cancel()}.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param executor an executor to execute the query on
+         * @return a future of the number of inserted rows in the table
+         */
+        public CompletableFuture<Integer> executeAsync(@NonNull Connection con, @NonNull Executor executor) {
+            return AsyncExecution.start(con, executor, this::execute);
+        }
+
+        /**
+         * Same as {@link #execute(Connection)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @return number of inserted rows in the table
+         * @throws SQLException if a database access error occurs
+         */
+        public int execute(@NonNull ConnectionProvider provider) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return execute(con);
+            }
+        }
+
+        /**
+         * Same as {@link #executeReturningKeys(Connection, ResultSetMapper, Column[])} with a connection got from the given
+         * provider, which is closed (e.g. returned to its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param resultSetMapper a {@link ResultSetMapper} to map a row of generated keys to an object of type {@code <T>}
+         * @param keyColumns the columns whose generated values are returned, if none are given the driver chooses them
+         * @param <T> a java class type to represent the generated keys of a row
+         * @return the generated keys of each of the inserted rows
+         * @throws SQLException if a database access error occurs
+         */
+        public <T> List<T> executeReturningKeys(@NonNull ConnectionProvider provider, ResultSetMapper<T> resultSetMapper,
+                                                Column<?>... keyColumns) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeReturningKeys(con, resultSetMapper, keyColumns);
+            }
+        }
+
+        /**
+         * Same as {@link #executeReturningKeys(Connection, Column[])} with a connection got from the given provider, which
+         * is closed (e.g. returned to its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param keyColumns the column whose generated values are returned, if none is given the driver chooses it
+         * @return the generated key of each of the inserted rows
+         * @throws SQLException if a database access error occurs
+         */
+        public long[] executeReturningKeys(@NonNull ConnectionProvider provider, Column<?>... keyColumns) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeReturningKeys(con, keyColumns);
+            }
+        }
+
+        /**
+         * Same as {@link #executeAsync(ConnectionProvider, Executor)} executing the query on a new virtual thread.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @return a future of the number of inserted rows in the table
+         */
+        public CompletableFuture<Integer> executeAsync(ConnectionProvider provider) {
+            return executeAsync(provider, AsyncExecution.VIRTUAL_THREAD_EXECUTOR);
+        }
+
+        /**
+         * Same as {@link #executeAsync(Connection, Executor)} with a connection got from the given provider when the
+         * execution starts, which is closed (e.g. returned to its pool) when it ends.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param executor an executor to execute the query on
+         * @return a future of the number of inserted rows in the table
+         */
+        public CompletableFuture<Integer> executeAsync(@NonNull ConnectionProvider provider, @NonNull Executor executor) {
+            return AsyncExecution.start(provider, executor, this::execute);
+        }
+
+        /**
+         * Binds values to the {@link Param}s used in this query. The sql statement of this query is built only once and
+         * shared with the returned query, so a query built with params can be kept as an immutable template and executed
+         * many times (also concurrently) with different values.
+         *
+         * @param paramValues values of all the {@link Param}s used in this query
+         * @return a copy of this query, with the given values bound to its params, that is ready for execution
+         */
+        public ExecutableInsertQuery bind(@NonNull ParamValue... paramValues) {
+            return new ExecutableInsertQuery(new Context(context, Utils.bindColumnValues(context.valueParams, paramValues),
+                    Utils.bindParams(context.selectParams, paramValues)));
         }
 
         /**
          * @return the sql statement used to execute the sql query, callers may want to log it for debugging/information
          */
         public String sql() {
-            return context.sqlBuilder.toString();
+            return context.sql();
         }
 
         /**
          * @return the values of parameters used in sql statement, callers may want to log it for debugging/information
          */
         public List<Object> params() {
-            return context.valueParams.stream().map(ColumnValue::getValue).toList();
+            List<Object> params = new ArrayList<>(context.valueParams.size() + context.selectParams.size());
+            for (ColumnValue colValue : context.valueParams) {
+                params.add(colValue.getValue());
+            }
+            params.addAll(context.selectParams);
+            return Collections.unmodifiableList(params);
+        }
+    }
+
+    /**
+     * Class to represent an {@code INSERT} query of many rows that is ready for execution in JDBC batches
+     */
+    public static class BatchInsertQuery {
+        private final Context context;
+        private final List<List<ColumnValue>> rows;
+
+        private BatchInsertQuery(Context context, List<List<ColumnValue>> rows) {
+            this.context = context;
+            this.rows = rows;
+        }
+
+        /**
+         * Same as {@link #execute(Connection, int)} with a batch size of {@code 1000} rows.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @return number of inserted rows in the table for each of the rows in the given order
+         * @throws SQLException if a database access error occurs
+         */
+        public int[] execute(Connection con) throws SQLException {
+            return execute(con, Utils.DEFAULT_BATCH_SIZE);
+        }
+
+        /**
+         * Inserts the rows via a single {@link java.sql.PreparedStatement} by adding them to JDBC batches of at most
+         * {@code batchSize} rows, so that each batch is sent to the database in one round trip.
+         * <p>
+         * Note that some drivers need additional settings to send a batch as one multi-row statement e.g. MySQL requires
+         * {@code rewriteBatchedStatements=true} in the connection url.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param batchSize maximum number of rows sent to the database in one batch
+         * @return number of inserted rows in the table for each of the rows in the given order, as reported by the driver
+         * (which may be {@link java.sql.Statement#SUCCESS_NO_INFO})
+         * @throws SQLException if a database access error occurs
+         */
+        public int[] execute(Connection con, int batchSize) throws SQLException {
+            Utils.requirePositiveBatchSize(batchSize);
+
+            // Binders are chosen from the SQL types of the columns or else from the classes of the values of the first row
+            ParamBinder[] paramBinders = ParamBinder.forColumnValues(rows.getFirst());
+            try (PreparedStatement stmt = con.prepareStatement(sql())) {
+                return Utils.executeBatch(stmt, rows, batchSize, (batchStmt, row) -> setParams(batchStmt, row, paramBinders));
+            } finally {
+                ResultCache.invalidateAll(con, context.table);
+            }
+        }
+
+        /**
+         * Same as {@link #executeReturningKeys(Connection, int, ResultSetMapper, Column[])} with a batch size of
+         * {@code 1000} rows.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param resultSetMapper a {@link ResultSetMapper} to map a row of generated keys to an object of type {@code <T>}
+         * @param keyColumns the columns whose generated values are returned, if none are given the driver chooses them
+         * @param <T> a java class type to represent the generated keys of a row
+         * @return the generated keys of the inserted rows in the given order
+         * @throws SQLException if a database access error occurs
+         */
+        public <T> List<T> executeReturningKeys(Connection con, ResultSetMapper<T> resultSetMapper, Column<?>... keyColumns)
+                throws SQLException {
+            return executeReturningKeys(con, Utils.DEFAULT_BATCH_SIZE, resultSetMapper, keyColumns);
+        }
+
+        /**
+         * Same as {@link #execute(Connection, int)}, but also returns the keys generated by the database for the inserted
+         * rows (e.g. of an auto-increment column), read via {@link Statement#getGeneratedKeys()} after each batch, without
+         * a separate {@code SELECT}.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param batchSize maximum number of rows sent to the database in one batch
+         * @param resultSetMapper a {@link ResultSetMapper} to map a row of generated keys to an object of type {@code <T>}
+         * @param keyColumns the columns whose generated values are returned, if none are given the driver chooses them
+         *                   (see {@link Statement#RETURN_GENERATED_KEYS}) e.g. the identity columns of the table
+         * @param <T> a java class type to represent the generated keys of a row
+         * @return the generated keys of the inserted rows in the given order
+         * @throws SQLException if a database access error occurs
+         */
+        public <T> List<T> executeReturningKeys(Connection con, int batchSize, @NonNull ResultSetMapper<T> resultSetMapper,
+                                                @NonNull Column<?>... keyColumns) throws SQLException {
+            Utils.requirePositiveBatchSize(batchSize);
+            List<T> keys = new ArrayList<>(rows.size());
+
+            ParamBinder[] paramBinders = ParamBinder.forColumnValues(rows.getFirst());
+            try (PreparedStatement stmt = prepareReturningKeys(con, sql(), keyColumns)) {
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    List<List<ColumnValue>> batch = rows.subList(from, Math.min(from + batchSize, rows.size()));
+                    Utils.executeBatch(stmt, batch, batchSize, (batchStmt, row) -> setParams(batchStmt, row, paramBinders));
+                    readKeys(stmt, resultSetMapper, keys);
+                }
+            } finally {
+                ResultCache.invalidateAll(con, context.table);
+            }
+
+            return keys;
+        }
+
+        /**
+         * Same as {@link #executeReturningKeys(Connection, int, Column[])} with a batch size of {@code 1000} rows.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param keyColumns the column whose generated values are returned, if none is given the driver chooses it
+         * @return the generated keys of the inserted rows in the given order
+         * @throws SQLException if a database access error occurs
+         */
+        public long[] executeReturningKeys(Connection con, Column<?>... keyColumns) throws SQLException {
+            return executeReturningKeys(con, Utils.DEFAULT_BATCH_SIZE, keyColumns);
+        }
+
+        /**
+         * Same as {@link #executeReturningKeys(Connection, int, ResultSetMapper, Column[])} for a single generated key of
+         * an integer type (e.g. of an auto-increment column), which is read directly into a {@code long[]} via
+         * {@link ResultSet#getLong(int)}.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param batchSize maximum number of rows sent to the database in one batch
+         * @param keyColumns the column whose generated values are returned, if none is given the driver chooses it
+         * @return the generated keys of the inserted rows in the given order
+         * @throws SQLException if a database access error occurs
+         */
+        public long[] executeReturningKeys(Connection con, int batchSize, @NonNull Column<?>... keyColumns) throws SQLException {
+            Utils.requirePositiveBatchSize(batchSize);
+            long[] keys = new long[0];
+
+            ParamBinder[] paramBinders = ParamBinder.forColumnValues(rows.getFirst());
+            try (PreparedStatement stmt = prepareReturningKeys(con, sql(), keyColumns)) {
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    List<List<ColumnValue>> batch = rows.subList(from, Math.min(from + batchSize, rows.size()));
+                    Utils.executeBatch(stmt, batch, batchSize, (batchStmt, row) -> setParams(batchStmt, row, paramBinders));
+                    keys = readLongKeys(stmt, keys);
+                }
+            } finally {
+                ResultCache.invalidateAll(con, context.table);
+            }
+
+            return keys;
+        }
+
+        /**
+         * Same as {@link #execute(Connection)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @return number of inserted rows in the table for each of the rows in the given order
+         * @throws SQLException if a database access error occurs
+         */
+        public int[] execute(@NonNull ConnectionProvider provider) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return execute(con);
+            }
+        }
+
+        /**
+         * Same as {@link #execute(Connection, int)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param batchSize maximum number of rows sent to the database in one batch
+         * @return number of inserted rows in the table for each of the rows in the given order
+         * @throws SQLException if a database access error occurs
+         */
+        public int[] execute(@NonNull ConnectionProvider provider, int batchSize) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return execute(con, batchSize);
+            }
+        }
+
+        /**
+         * Same as {@link #executeReturningKeys(Connection, ResultSetMapper, Column[])} with a connection got from the given
+         * provider, which is closed (e.g. returned to its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param resultSetMapper a {@link ResultSetMapper} to map a row of generated keys to an object of type {@code <T>}
+         * @param keyColumns the columns whose generated values are returned, if none are given the driver chooses them
+         * @param <T> a java class type to represent the generated keys of a row
+         * @return the generated keys of the inserted rows in the given order
+         * @throws SQLException if a database access error occurs
+         */
+        public <T> List<T> executeReturningKeys(@NonNull ConnectionProvider provider, ResultSetMapper<T> resultSetMapper,
+                                                Column<?>... keyColumns) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeReturningKeys(con, resultSetMapper, keyColumns);
+            }
+        }
+
+        /**
+         * Same as {@link #executeReturningKeys(Connection, Column[])} with a connection got from the given provider, which
+         * is closed (e.g. returned to its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param keyColumns the column whose generated values are returned, if none is given the driver chooses it
+         * @return the generated keys of the inserted rows in the given order
+         * @throws SQLException if a database access error occurs
+         */
+        public long[] executeReturningKeys(@NonNull ConnectionProvider provider, Column<?>... keyColumns) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeReturningKeys(con, keyColumns);
+            }
+        }
+
+        /**
+         * @return the sql statement used to execute the sql query, callers may want to log it for debugging/information
+         */
+        public String sql() {
+            return context.sql();
+        }
+
+        /**
+         * @return the values of parameters used in sql statement for each of the rows, callers may want to log it for debugging/information
+         */
+        public List<List<Object>> params() {
+            return rows.stream()
+                    .map(row -> row.stream().map(ColumnValue::getValue).toList())
+                    .toList();
+        }
+    }
+
+    /**
+     * Prepares the given statement to return the generated values of the given columns, or of the columns chosen by the
+     * driver if none are given
+     */
+    private static PreparedStatement prepareReturningKeys(Connection con, String sql, Column<?>[] keyColumns) throws SQLException {
+        Utils.requireNonNulls(keyColumns);
+        if (keyColumns.length == 0) {
+            return con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        }
+        String[] keyColumnNames = new String[keyColumns.length];
+        for (int i = 0; i < keyColumns.length; ++i) {
+            keyColumnNames[i] = keyColumns[i].getName();
+        }
+        return con.prepareStatement(sql, keyColumnNames);
+    }
+
+    private static <T> void readKeys(PreparedStatement stmt, ResultSetMapper<T> resultSetMapper, List<T> keys) throws SQLException {
+        try (ResultSet rs = stmt.getGeneratedKeys()) {
+            while (rs.next()) {
+                keys.add(resultSetMapper.map(rs));
+            }
+        }
+    }
+
+    /**
+     * @return the given keys followed by the generated keys of the last execution of the given statement
+     */
+    private static long[] readLongKeys(PreparedStatement stmt, long[] keys) throws SQLException {
+        int size = keys.length;
+        keys = Arrays.copyOf(keys, size + Utils.INITIAL_RESULTS_CAPACITY);
+
+        try (ResultSet rs = stmt.getGeneratedKeys()) {
+            while (rs.next()) {
+                if (size == keys.length) {
+                    keys = Arrays.copyOf(keys, 2 * size);
+                }
+                keys[size++] = rs.getLong(1);
+            }
+        }
+
+        return size == keys.length ? keys : Arrays.copyOf(keys, size);
+    }
+
+    private static void setParams(PreparedStatement stmt, Context context) throws SQLException {
+        ParamBinder[] paramBinders = context.paramBinders();
+        setParams(stmt, context.valueParams, paramBinders);
+        int valueCount = context.valueParams.size();
+        for (int i = 0; i < context.selectParams.size(); ++i) {
+            paramBinders[valueCount + i].bind(stmt, valueCount + i + 1, Utils.requireBound(context.selectParams.get(i)));
+        }
+    }
+
+    private static void setParams(PreparedStatement stmt, List<ColumnValue> colValues, ParamBinder[] paramBinders) throws SQLException {
+        for (int i = 0; i < colValues.size(); ++i) {
+            // null values are bound as nulls of the column's sql type
+            paramBinders[i].bind(stmt, i + 1, Utils.requireBound(colValues.get(i).getValue()));
         }
     }
 }
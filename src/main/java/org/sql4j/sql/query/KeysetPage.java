@@ -0,0 +1,56 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A page of the results of a {@code SELECT} query read via keyset pagination, see
+ * {@link SelectQuery.ExecutableSelectQuery#executePage(java.sql.Connection, ResultSetMapper, int, List)}
+ *
+ * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+ */
+
+@Getter
+public class KeysetPage<T> {
+    /**
+     * The rows of this page
+     */
+    private final List<T> rows;
+    /**
+     * The values of the {@code ORDER BY} columns of the last row of this page, in the order of the columns, used to read
+     * the next page; null if this page is empty
+     */
+    private final List<Object> lastKey;
+    /**
+     * True if this page has fewer rows than the page size, so there is no next page (while a full page may be followed
+     * by an empty one)
+     */
+    private final boolean last;
+
+    KeysetPage(List<T> rows, List<Object> lastKey, boolean last) {
+        this.rows = rows;
+        this.lastKey = lastKey;
+        this.last = last;
+    }
+}
@@ -0,0 +1,70 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Class representing a bind placeholder that can be used in place of a value while building sql queries, so that a
+ * query can be built once as a template and then executed many times with only the values of its params supplied e.g.
+ * <blockquote><pre>
+ *     static final Param{@code <String>} NAME = Param.forName("NAME");
+ *     static final ExecutableSelectQuery QUERY = SqlQuery.select(COL_2).from(TABLE_1).where(COL_1.equalTo(NAME));
+ *     ...
+ *     QUERY.bind(NAME.value("test1")).execute(connection, rs -> rs.getInt(COL_2.getName()));
+ * </pre></blockquote>
+ * Params are matched by identity (not by name) when binding their values.
+ *
+ * @param <T> Java class type of the values of this param e.g. String, Integer etc.
+ */
+
+@Getter
+public class Param<T> {
+    @NonNull
+    private final String name;
+
+    private Param(@NonNull String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param name a name of the param, used only for debugging/information e.g. in error messages and in {@code params()} of queries
+     * @return a Param object with the given {@code name}
+     * @param <T> Java class type of the values of this param
+     */
+    public static <T> Param<T> forName(@NonNull String name) {
+        return new Param<>(name);
+    }
+
+    /**
+     * @param value a value to be bound to the caller Param
+     * @return a {@link ParamValue} object representing the caller Param and its given {@code value}
+     */
+    public ParamValue value(T value) {
+        return new ParamValue(this, value);
+    }
+
+    @Override
+    public String toString() {
+        return ":" + name;
+    }
+}
@@ -0,0 +1,149 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binds a value to a parameter of a {@link PreparedStatement} via the setter specific to the parameter's type e.g.
+ * {@link PreparedStatement#setInt}, instead of {@link PreparedStatement#setObject(int, Object)} which makes drivers
+ * infer the type of every value. The binders of a query are chosen once per query, from the SQL types of the columns
+ * of its params (see {@link Column#forNameAndType}) or else from the classes of its values, so that binding a param is
+ * a direct call of the same setter every time the query is executed. They're shared with the copies of the query made
+ * by {@code bind()}, so the values of {@link Param}s of columns without a known SQL type are bound via
+ * {@link PreparedStatement#setObject(int, Object)}.
+ */
+
+@FunctionalInterface
+interface ParamBinder {
+    /**
+     * Binds values of any class via {@link PreparedStatement#setObject(int, Object)}, and nulls as untyped nulls
+     */
+    ParamBinder OBJECT = forSqlType(Types.NULL, Object.class, PreparedStatement::setObject);
+
+    /**
+     * Binders for the SQL types as defined in {@link java.sql.Types}
+     */
+    Map<Integer, ParamBinder> BY_SQL_TYPE = Map.ofEntries(
+            Map.entry(Types.BOOLEAN, forSqlType(Types.BOOLEAN, Boolean.class, PreparedStatement::setBoolean)),
+            Map.entry(Types.BIT, forSqlType(Types.BIT, Boolean.class, PreparedStatement::setBoolean)),
+            Map.entry(Types.TINYINT, forSqlType(Types.TINYINT, Integer.class, PreparedStatement::setInt)),
+            Map.entry(Types.SMALLINT, forSqlType(Types.SMALLINT, Integer.class, PreparedStatement::setInt)),
+            Map.entry(Types.INTEGER, forSqlType(Types.INTEGER, Integer.class, PreparedStatement::setInt)),
+            Map.entry(Types.BIGINT, forSqlType(Types.BIGINT, Long.class, PreparedStatement::setLong)),
+            Map.entry(Types.REAL, forSqlType(Types.REAL, Float.class, PreparedStatement::setFloat)),
+            Map.entry(Types.FLOAT, forSqlType(Types.FLOAT, Double.class, PreparedStatement::setDouble)),
+            Map.entry(Types.DOUBLE, forSqlType(Types.DOUBLE, Double.class, PreparedStatement::setDouble)),
+            Map.entry(Types.NUMERIC, forSqlType(Types.NUMERIC, BigDecimal.class, PreparedStatement::setBigDecimal)),
+            Map.entry(Types.DECIMAL, forSqlType(Types.DECIMAL, BigDecimal.class, PreparedStatement::setBigDecimal)),
+            Map.entry(Types.CHAR, forSqlType(Types.CHAR, String.class, PreparedStatement::setString)),
+            Map.entry(Types.VARCHAR, forSqlType(Types.VARCHAR, String.class, PreparedStatement::setString)),
+            Map.entry(Types.LONGVARCHAR, forSqlType(Types.LONGVARCHAR, String.class, PreparedStatement::setString)),
+            Map.entry(Types.NCHAR, forSqlType(Types.NCHAR, String.class, PreparedStatement::setNString)),
+            Map.entry(Types.NVARCHAR, forSqlType(Types.NVARCHAR, String.class, PreparedStatement::setNString)),
+            Map.entry(Types.DATE, forSqlType(Types.DATE, Date.class, PreparedStatement::setDate)),
+            Map.entry(Types.TIME, forSqlType(Types.TIME, Time.class, PreparedStatement::setTime)),
+            Map.entry(Types.TIMESTAMP, forSqlType(Types.TIMESTAMP, Timestamp.class, PreparedStatement::setTimestamp)));
+
+    /**
+     * Binders for the classes of values whose SQL type isn't known
+     */
+    Map<Class<?>, ParamBinder> BY_CLASS = Map.of(
+            Boolean.class, forSqlType(Types.NULL, Boolean.class, PreparedStatement::setBoolean),
+            Integer.class, forSqlType(Types.NULL, Integer.class, PreparedStatement::setInt),
+            Long.class, forSqlType(Types.NULL, Long.class, PreparedStatement::setLong),
+            Float.class, forSqlType(Types.NULL, Float.class, PreparedStatement::setFloat),
+            Double.class, forSqlType(Types.NULL, Double.class, PreparedStatement::setDouble),
+            BigDecimal.class, forSqlType(Types.NULL, BigDecimal.class, PreparedStatement::setBigDecimal),
+            String.class, forSqlType(Types.NULL, String.class, PreparedStatement::setString),
+            Date.class, forSqlType(Types.NULL, Date.class, PreparedStatement::setDate),
+            Time.class, forSqlType(Types.NULL, Time.class, PreparedStatement::setTime),
+            Timestamp.class, forSqlType(Types.NULL, Timestamp.class, PreparedStatement::setTimestamp));
+
+    /**
+     * @param stmt a prepared statement
+     * @param parameterIndex index of the parameter (starting from 1)
+     * @param value value of the parameter, may be null
+     */
+    void bind(PreparedStatement stmt, int parameterIndex, Object value) throws SQLException;
+
+    /**
+     * @param values values of params (of which only the classes are used), may contain nulls
+     * @param sqlTypes SQL types of the params, {@link Types#NULL} if not known
+     * @return a binder for each of the params
+     */
+    static ParamBinder[] forParams(List<?> values, List<Integer> sqlTypes) {
+        ParamBinder[] binders = new ParamBinder[sqlTypes.size()];
+        for (int i = 0; i < binders.length; ++i) {
+            binders[i] = forParam(values.get(i), sqlTypes.get(i));
+        }
+        return binders;
+    }
+
+    /**
+     * @param columnValues values of columns (with their SQL types)
+     * @return a binder for each of the column values
+     */
+    static ParamBinder[] forColumnValues(List<ColumnValue> columnValues) {
+        ParamBinder[] binders = new ParamBinder[columnValues.size()];
+        for (int i = 0; i < binders.length; ++i) {
+            binders[i] = forParam(columnValues.get(i).getValue(), columnValues.get(i).getSqlType());
+        }
+        return binders;
+    }
+
+    private static ParamBinder forParam(Object value, int sqlType) {
+        if (sqlType != Types.NULL) {
+            ParamBinder binder = BY_SQL_TYPE.get(sqlType);
+            return binder != null ? binder : forSqlType(sqlType, Object.class, PreparedStatement::setObject);
+        }
+        return value != null ? BY_CLASS.getOrDefault(value.getClass(), OBJECT) : OBJECT;
+    }
+
+    /**
+     * @return a binder which binds values of the given class via the given setter, nulls as nulls of the given SQL type
+     * and values of any other class via {@link PreparedStatement#setObject(int, Object)}
+     */
+    private static <V> ParamBinder forSqlType(int sqlType, Class<V> valueClass, Setter<V> setter) {
+        return (stmt, parameterIndex, value) -> {
+            if (valueClass.isInstance(value)) {
+                setter.set(stmt, parameterIndex, valueClass.cast(value));
+            } else if (value == null) {
+                stmt.setNull(parameterIndex, sqlType);
+            } else {
+                stmt.setObject(parameterIndex, value);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    interface Setter<V> {
+        void set(PreparedStatement stmt, int parameterIndex, V value) throws SQLException;
+    }
+}
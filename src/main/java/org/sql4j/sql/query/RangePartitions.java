@@ -0,0 +1,225 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Class used to split the range of values of a column into partitions, and to render the sql statement and params of a
+ * query for each of the partitions, i.e. with the condition {@code bound <= column < nextBound} (or
+ * {@code bound <= column <= max} for the last partition) added to its {@code WHERE} clause
+ */
+
+class RangePartitions {
+    private final List<Object> params;
+    private final List<Integer> sqlTypes;
+    /**
+     * The bounds of the partitions, the first and last ones being the min and max of the range
+     */
+    private final List<Object> bounds;
+    private final String sql;
+    private final String lastSql;
+
+    private RangePartitions(String sql, List<Object> params, List<Integer> sqlTypes, Filter.Position position,
+                            int whereStart, Column<?> column, List<Object> bounds) {
+        this.params = params;
+        this.bounds = bounds;
+        this.sqlTypes = new ArrayList<>(sqlTypes.size() + 2);
+        this.sqlTypes.addAll(sqlTypes);
+        this.sqlTypes.add(column.getSqlType());
+        this.sqlTypes.add(column.getSqlType());
+
+        this.sql = Utils.addCondition(sql, position, whereStart, column.getName() + " >= ? AND " + column.getName() + " < ?");
+        this.lastSql = Utils.addCondition(sql, position, whereStart, column.getName() + " >= ? AND " + column.getName() + " <= ?");
+    }
+
+    /**
+     * @param sql the sql statement of a query, whose params are all in its {@code WHERE} clause
+     * @param params the params of the query
+     * @param sqlTypes the SQL types of the params of the query
+     * @param position the position of the query's filter in its sql statement and params, null if there is no filter
+     * @param whereStart the position in the sql statement where the {@code WHERE} clause starts (or would start)
+     * @param column the column whose range of values is partitioned
+     * @param min the min of the range, null if the range is empty
+     * @param max the max of the range, null if the range is empty
+     * @param maxCount maximum number of partitions
+     * @return the partitions of the range, of which there are fewer than {@code maxCount} if the range is too small
+     * @throws IllegalArgumentException if the values of the range are of an unsupported type
+     */
+    static RangePartitions of(String sql, List<Object> params, List<Integer> sqlTypes, Filter.Position position,
+                              int whereStart, Column<?> column, Object min, Object max, int maxCount) {
+        if (maxCount <= 0) {
+            throw new IllegalArgumentException("at least one connection is required");
+        }
+        return new RangePartitions(sql, params, sqlTypes, position, whereStart, column, bounds(min, max, maxCount));
+    }
+
+    int count() {
+        return Math.max(bounds.size() - 1, 0);
+    }
+
+    String sql(int partition) {
+        return partition < count() - 1 ? sql : lastSql;
+    }
+
+    List<Object> params(int partition) {
+        List<Object> partitionParams = new ArrayList<>(params.size() + 2);
+        partitionParams.addAll(params);
+        partitionParams.add(bounds.get(partition));
+        partitionParams.add(bounds.get(partition + 1));
+        return partitionParams;
+    }
+
+    List<Integer> sqlTypes() {
+        return sqlTypes;
+    }
+
+    /**
+     * Merges the rows of partitions, each one sorted by the values of the {@code ORDER BY} columns of its rows, into
+     * one list sorted the same way. Values are compared via {@link Comparable#compareTo}, with nulls ordered first (as
+     * by H2 and MySQL), and rows with equal values keep the order of the partitions.
+     *
+     * @param descending for each of the {@code ORDER BY} columns, true if it's ordered {@code DESC}
+     */
+    static <T> List<T> merge(List<OrderedRows<T>> partitions, boolean[] descending) {
+        int size = 0;
+        for (OrderedRows<T> partition : partitions) {
+            size += partition.rows().size();
+        }
+        List<T> results = new ArrayList<>(size);
+
+        // The partitions by their next row, and the positions of their next rows
+        int[] positions = new int[partitions.size()];
+        PriorityQueue<Integer> heads = new PriorityQueue<>(Math.max(partitions.size(), 1), (p1, p2) -> {
+            int c = compare(partitions.get(p1).keys().get(positions[p1]), partitions.get(p2).keys().get(positions[p2]), descending);
+            return c != 0 ? c : Integer.compare(p1, p2);
+        });
+        for (int p = 0; p < partitions.size(); ++p) {
+            if (!partitions.get(p).rows().isEmpty()) {
+                heads.add(p);
+            }
+        }
+        while (!heads.isEmpty()) {
+            int p = heads.poll();
+            OrderedRows<T> partition = partitions.get(p);
+            results.add(partition.rows().get(positions[p]++));
+            if (positions[p] < partition.rows().size()) {
+                heads.add(p);
+            }
+        }
+        return results;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Object[] keys1, Object[] keys2, boolean[] descending) {
+        for (int i = 0; i < keys1.length; ++i) {
+            Object key1 = keys1[i];
+            Object key2 = keys2[i];
+            int c = key1 == null
+                    ? (key2 == null ? 0 : -1)
+                    : (key2 == null ? 1 : ((Comparable) key1).compareTo(key2));
+            if (c != 0) {
+                return descending[i] ? -c : c;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the bounds of at most {@code maxCount} partitions of equal size (as far as possible) of the given range
+     */
+    private static List<Object> bounds(Object min, Object max, int maxCount) {
+        List<Object> bounds = new ArrayList<>(maxCount + 1);
+        if (min == null || max == null) {
+            return bounds;
+        }
+        if (min.getClass() != max.getClass()) {
+            throw new IllegalArgumentException("min " + min + " and max " + max + " of the range must be of the same type");
+        }
+        long lower = toLong(min);
+        long upper = toLong(max);
+        if (lower > upper) {
+            return bounds;
+        }
+
+        // Computed with BigInteger, as (upper - lower) * i overflows a long for wide ranges
+        BigInteger span = BigInteger.valueOf(upper).subtract(BigInteger.valueOf(lower));
+        bounds.add(min);
+        long previous = lower;
+        for (int i = 1; i < maxCount; ++i) {
+            long bound = span.multiply(BigInteger.valueOf(i))
+                    .divide(BigInteger.valueOf(maxCount))
+                    .add(BigInteger.valueOf(lower))
+                    .longValueExact();
+            if (bound > previous) {
+                // Bounds are strictly increasing, so that no partition is empty by construction
+                bounds.add(fromLong(bound, min));
+                previous = bound;
+            }
+        }
+        bounds.add(max);
+        return bounds;
+    }
+
+    private static long toLong(Object value) {
+        return switch (value) {
+            case Integer i -> i;
+            case Long l -> l;
+            case Short s -> s;
+            case Date d -> d.toLocalDate().toEpochDay();
+            case Timestamp t -> t.getTime();
+            case LocalDate d -> d.toEpochDay();
+            case LocalDateTime t -> t.toEpochSecond(ZoneOffset.UTC);
+            default -> throw new IllegalArgumentException("unsupported type " + value.getClass().getName()
+                    + " of partition column values, supported types are Integer, Long, Short, java.sql.Date, "
+                    + "java.sql.Timestamp, LocalDate and LocalDateTime");
+        };
+    }
+
+    /**
+     * @return the value of the given {@code long} (as returned by {@link #toLong}) in the type of the given value
+     */
+    private static Object fromLong(long value, Object typed) {
+        return switch (typed) {
+            case Integer i -> (int) value;
+            case Long l -> value;
+            case Short s -> (short) value;
+            case Date d -> Date.valueOf(LocalDate.ofEpochDay(value));
+            case Timestamp t -> new Timestamp(value);
+            case LocalDate d -> LocalDate.ofEpochDay(value);
+            case LocalDateTime t -> LocalDateTime.ofEpochSecond(value, 0, ZoneOffset.UTC);
+            default -> throw new IllegalArgumentException("unsupported type " + typed.getClass().getName());
+        };
+    }
+
+    /**
+     * Rows of a partition, with the values of the {@code ORDER BY} columns of each of the rows
+     */
+    record OrderedRows<T>(List<T> rows, List<Object[]> keys) {}
+}
@@ -0,0 +1,365 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import lombok.NonNull;
+
+import java.lang.ref.WeakReference;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Class used to cache the results of {@code SELECT} queries, so that executing the same query with the same params
+ * many times doesn't read the same rows from the database every time.
+ * <p>
+ * The cache is opt-in: queries use it when they are executed via
+ * {@link SelectQuery.ExecutableSelectQuery#executeCached(java.sql.Connection, ResultSetMapper, ResultCache)} e.g.
+ * <blockquote><pre>
+ *     ResultCache cache = ResultCache.forMaxSize(1000, Duration.ofMinutes(5));
+ *     ResultSetMapper{@code <String>} mapper = rs -> rs.getString(COL_1.getName());
+ *     List{@code <String>} results =
+ *             SqlQuery.select(COL_1)
+ *                     .from(TABLE_1)
+ *                     .executeCached(connection, mapper, cache);
+ * </pre></blockquote>
+ * Results are cached by the sql statement and params of the query, and the {@link ResultSetMapper} (compared by
+ * identity, so the same mapper instance must be used for the results to be reused). The least recently used results
+ * are evicted when there are more than {@code maxSize} results in the cache, and results expire after the time to
+ * live.
+ * <p>
+ * Executing an {@code INSERT}, {@code UPDATE} or {@code DELETE} query (via any of its execute methods) removes the
+ * results of all the queries that select from its table from all the open caches, where tables are matched by name
+ * ignoring case and schema (so a table is matched by its name in every schema). Changes that are made otherwise, e.g.
+ * by other applications or via plain JDBC, must be invalidated via {@link #invalidate(Table)}, or are visible only
+ * after the cached results expire.
+ * <p>
+ * Results are removed when the statement is executed, and again when its transaction ends if auto-commit is off, as
+ * other connections may read and cache the rows of the table as they were before the transaction is committed. The
+ * end of a transaction is detected when it's committed or rolled back via a connection got from a
+ * {@link ConnectionPool}, or via a connection that caches statements (see {@link StatementCache}); other connections
+ * must call {@link #transactionEnded(Connection)} after committing or rolling back a transaction.
+ */
+
+public class ResultCache implements AutoCloseable {
+    /**
+     * The open caches, invalidated when a table is modified
+     */
+    private static final List<WeakReference<ResultCache>> CACHES = new CopyOnWriteArrayList<>();
+    /**
+     * The (normalized) names of the tables modified in the open transactions of connections with auto-commit off,
+     * which are invalidated again when the transactions end
+     */
+    private static final Map<Connection, Set<String>> PENDING_TABLES = new WeakHashMap<>();
+    private static final ReentrantLock PENDING_TABLES_LOCK = new ReentrantLock();
+
+    private final int maxSize;
+    private final long timeToLiveNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * Results in the order of their last use, the least recently used first
+     */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * Number of invalidations so far, used to detect results that were read while an invalidation happened
+     */
+    private long generation;
+    private boolean closed;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private ResultCache(int maxSize, Duration timeToLive) {
+        this.maxSize = maxSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    /**
+     * @param maxSize maximum number of results kept in the cache
+     * @param timeToLive the time after which cached results expire
+     * @return a new ResultCache, which is invalidated by {@code INSERT}, {@code UPDATE} and {@code DELETE} queries
+     * until it's closed
+     */
+    public static ResultCache forMaxSize(int maxSize, @NonNull Duration timeToLive) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive but is " + maxSize);
+        }
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("timeToLive must be positive but is " + timeToLive);
+        }
+        ResultCache cache = new ResultCache(maxSize, timeToLive);
+        CACHES.removeIf(ref -> ref.get() == null);
+        CACHES.add(new WeakReference<>(cache));
+        return cache;
+    }
+
+    /**
+     * @return number of times results were returned from the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of times a query had to be executed because its results weren't in the cache (or expired)
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return ratio of hits to all lookups, 0 if there were none
+     */
+    public double getHitRate() {
+        long hits = this.hits.get();
+        long lookups = hits + misses.get();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * @return number of results removed because there were more than {@code maxSize} results in the cache
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return number of results removed because a table they were selected from was modified
+     */
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    /**
+     * @return number of results in the cache, including the expired ones that weren't removed yet
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the results of all the queries that select from the given table, e.g. after it was modified otherwise
+     * than via sql4j.
+     *
+     * @param table a table whose cached results are removed
+     */
+    public void invalidate(@NonNull Table table) {
+        invalidate(normalize(table.getName()));
+    }
+
+    /**
+     * Removes (again) the results of all the queries that select from the tables modified via the given connection
+     * since its transaction started, to be called after the transaction is committed or rolled back. It's called
+     * automatically for connections got from a {@link ConnectionPool} and connections that cache statements.
+     *
+     * @param con a connection whose transaction was committed or rolled back
+     */
+    public static void transactionEnded(@NonNull Connection con) {
+        Set<String> tables;
+        PENDING_TABLES_LOCK.lock();
+        try {
+            tables = PENDING_TABLES.remove(Utils.physicalConnection(con));
+        } finally {
+            PENDING_TABLES_LOCK.unlock();
+        }
+        if (tables != null) {
+            for (String table : tables) {
+                invalidateNormalized(table);
+            }
+        }
+    }
+
+    /**
+     * Removes all the results
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            ++generation;
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all the results, and stops caching results and being invalidated
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            ++generation;
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+        CACHES.removeIf(ref -> ref.get() == null || ref.get() == this);
+    }
+
+    /**
+     * @param sql the sql statement of a query
+     * @param params the params of the query
+     * @param resultSetMapper the mapper of the results of the query
+     * @param tables the (normalized) names of the tables the query selects from
+     * @param loader executes the query, if its results aren't in the cache
+     * @return the cached (unmodifiable) results of the query
+     */
+    <T> List<T> get(String sql, List<Object> params, ResultSetMapper<T> resultSetMapper, String[] tables,
+                    Loader<T> loader) throws SQLException {
+        Key key = new Key(sql, params, resultSetMapper);
+        long generation;
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.cachedAt <= timeToLiveNanos) {
+                hits.incrementAndGet();
+                @SuppressWarnings("unchecked")
+                List<T> results = (List<T>) entry.results;
+                return results;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            generation = this.generation;
+        } finally {
+            lock.unlock();
+        }
+
+        // The query is executed outside the lock, so that other queries aren't blocked meanwhile
+        misses.incrementAndGet();
+        List<T> results = Collections.unmodifiableList(loader.load());
+        lock.lock();
+        try {
+            // Results read while a table was invalidated may be stale already, so they aren't cached
+            if (!closed && generation == this.generation) {
+                // The key is stored with a copy of the params, as the params of a query being built may grow later
+                entries.put(new Key(sql, new ArrayList<>(params), resultSetMapper), new Entry(results, tables, System.nanoTime()));
+                Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+                while (entries.size() > maxSize) {
+                    leastRecentlyUsed.next();
+                    leastRecentlyUsed.remove();
+                    evictions.incrementAndGet();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return results;
+    }
+
+    /**
+     * Removes the results of the queries that select from the given table from all the open caches, and again when the
+     * transaction of the given connection ends if auto-commit is off
+     *
+     * @param con the connection that modified the table
+     * @param table the name of a table that was modified
+     */
+    static void invalidateAll(Connection con, String table) {
+        if (CACHES.isEmpty()) {
+            return;
+        }
+        String normalizedTable = normalize(table);
+        invalidateNormalized(normalizedTable);
+
+        boolean autoCommit;
+        try {
+            autoCommit = con.getAutoCommit();
+        } catch (SQLException e) {
+            // Called after the execution (also a failed one), so if auto-commit can't be read the table is invalidated
+            // again when the transaction ends
+            autoCommit = false;
+        }
+        if (!autoCommit) {
+            PENDING_TABLES_LOCK.lock();
+            try {
+                PENDING_TABLES.computeIfAbsent(Utils.physicalConnection(con), c -> new HashSet<>()).add(normalizedTable);
+            } finally {
+                PENDING_TABLES_LOCK.unlock();
+            }
+        }
+    }
+
+    private static void invalidateNormalized(String normalizedTable) {
+        for (WeakReference<ResultCache> ref : CACHES) {
+            ResultCache cache = ref.get();
+            if (cache != null) {
+                cache.invalidate(normalizedTable);
+            }
+        }
+    }
+
+    /**
+     * @return the given table name in the form used to match tables by name, i.e. without schema qualifier and in upper
+     * case, so that the same table is matched whether its name is qualified or not
+     */
+    static String normalize(String table) {
+        return table.substring(table.lastIndexOf('.') + 1).toUpperCase(Locale.ROOT);
+    }
+
+    private void invalidate(String normalizedTable) {
+        lock.lock();
+        try {
+            ++generation;
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                for (String table : it.next().tables) {
+                    if (table.equals(normalizedTable)) {
+                        it.remove();
+                        invalidations.incrementAndGet();
+                        break;
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Key(String sql, List<Object> params, ResultSetMapper<?> resultSetMapper) {}
+
+    private record Entry(List<?> results, String[] tables, long cachedAt) {}
+
+    @FunctionalInterface
+    interface Loader<T> {
+        List<T> load() throws SQLException;
+    }
+}
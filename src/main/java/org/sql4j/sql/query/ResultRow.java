@@ -0,0 +1,200 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Class representing the current row of a {@link ResultSet}, whose values are read by {@link Column} via the column's
+ * position (ordinal) in the results instead of its name. The ordinals of the columns of a {@code SELECT} query are
+ * resolved once per {@link ResultSet}, so reading a value is a lookup of the column (instance) in an identity map
+ * followed by an index-based read e.g. {@link ResultSet#getInt(int)}, instead of a lookup of the column's name in the
+ * results for every value.
+ */
+
+public class ResultRow {
+    private final ResultSet rs;
+    private final ColumnOrdinals ordinals;
+    /**
+     * Ordinals of other columns than the selected ones, cached as they are resolved by label
+     */
+    private Map<Column<?>, Integer> otherOrdinals;
+
+    ResultRow(ResultSet rs, Column<?>[] columns) throws SQLException {
+        this.rs = rs;
+        this.ordinals = new ColumnOrdinals(columns, rs.getMetaData());
+    }
+
+    /**
+     * @return true if this row represents the current row of the given result set
+     */
+    boolean isFor(ResultSet rs) {
+        return this.rs == rs;
+    }
+
+    /**
+     * @return the result set of this row, e.g. to read values that are not selected via a {@link Column}
+     */
+    public ResultSet getResultSet() {
+        return rs;
+    }
+
+    /**
+     * @param column a column in the results
+     * @return the ordinal (starting from 1) of the given column in the results
+     * @throws IllegalArgumentException if the column isn't in the results
+     */
+    public int ordinal(@NonNull Column<?> column) {
+        int ordinal = ordinals.ofSelected(column);
+        if (ordinal > 0) {
+            return ordinal;
+        }
+        if (otherOrdinals == null) {
+            otherOrdinals = new IdentityHashMap<>();
+        }
+        Integer otherOrdinal = otherOrdinals.get(column);
+        if (otherOrdinal == null) {
+            otherOrdinal = ordinals.of(column);
+            otherOrdinals.put(column, otherOrdinal);
+        }
+        return otherOrdinal;
+    }
+
+    /**
+     * @param column a column in the results
+     * @param <T> Java class type of the column
+     * @return the value of the column in this row as returned by {@link ResultSet#getObject(int)}, may be null
+     * @throws SQLException if a database access error occurs
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Column<T> column) throws SQLException {
+        return (T) rs.getObject(ordinal(column));
+    }
+
+    /**
+     * @param column a column in the results
+     * @param type the class of the value as supported by {@link ResultSet#getObject(int, Class)}
+     * @param <T> Java class type of the value
+     * @return the value of the column in this row, may be null
+     * @throws SQLException if a database access error occurs
+     */
+    public <T> T get(Column<?> column, @NonNull Class<T> type) throws SQLException {
+        return rs.getObject(ordinal(column), type);
+    }
+
+    /**
+     * @param column a column in the results
+     * @return the value of the column in this row, may be null
+     * @throws SQLException if a database access error occurs
+     */
+    public String getString(Column<?> column) throws SQLException {
+        return rs.getString(ordinal(column));
+    }
+
+    /**
+     * @param column a column in the results
+     * @return the value of the column in this row, false if it's null
+     * @throws SQLException if a database access error occurs
+     */
+    public boolean getBoolean(Column<?> column) throws SQLException {
+        return rs.getBoolean(ordinal(column));
+    }
+
+    /**
+     * @param column a column in the results
+     * @return the value of the column in this row, 0 if it's null
+     * @throws SQLException if a database access error occurs
+     */
+    public int getInt(Column<?> column) throws SQLException {
+        return rs.getInt(ordinal(column));
+    }
+
+    /**
+     * @param column a column in the results
+     * @return the value of the column in this row, 0 if it's null
+     * @throws SQLException if a database access error occurs
+     */
+    public long getLong(Column<?> column) throws SQLException {
+        return rs.getLong(ordinal(column));
+    }
+
+    /**
+     * @param column a column in the results
+     * @return the value of the column in this row, 0 if it's null
+     * @throws SQLException if a database access error occurs
+     */
+    public double getDouble(Column<?> column) throws SQLException {
+        return rs.getDouble(ordinal(column));
+    }
+
+    /**
+     * @param column a column in the results
+     * @return the value of the column in this row, may be null
+     * @throws SQLException if a database access error occurs
+     */
+    public BigDecimal getBigDecimal(Column<?> column) throws SQLException {
+        return rs.getBigDecimal(ordinal(column));
+    }
+
+    /**
+     * @param column a column in the results
+     * @return the value of the column in this row, may be null
+     * @throws SQLException if a database access error occurs
+     */
+    public Date getDate(Column<?> column) throws SQLException {
+        return rs.getDate(ordinal(column));
+    }
+
+    /**
+     * @param column a column in the results
+     * @return the value of the column in this row, may be null
+     * @throws SQLException if a database access error occurs
+     */
+    public Time getTime(Column<?> column) throws SQLException {
+        return rs.getTime(ordinal(column));
+    }
+
+    /**
+     * @param column a column in the results
+     * @return the value of the column in this row, may be null
+     * @throws SQLException if a database access error occurs
+     */
+    public Timestamp getTimestamp(Column<?> column) throws SQLException {
+        return rs.getTimestamp(ordinal(column));
+    }
+
+    /**
+     * @return true if the last value read from this row was null, see {@link ResultSet#wasNull()}
+     * @throws SQLException if a database access error occurs
+     */
+    public boolean wasNull() throws SQLException {
+        return rs.wasNull();
+    }
+}
@@ -0,0 +1,43 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import java.sql.SQLException;
+
+/**
+ * Example usage, to read the columns of a {@code SELECT} query by their positions in the results (see
+ * {@link SelectQuery.ExecutableSelectQuery#rowMapper(ResultRowMapper)}):
+ * <blockquote><pre>
+ *     ExecutableSelectQuery query = SqlQuery.select(COL_1, COL_2).from(TABLE_1);
+ *     List{@code <Row>} rows = query.execute(connection, query.rowMapper(row -> new Row(
+ *                                                     row.get(COL_1),
+ *                                                     row.getInt(COL_2))));
+ *     // Row is defined as:
+ *     record Row(String col1, int col2) {}
+ * </pre></blockquote>
+ *
+ * @param <T> a java class type to represent a row/record in the results of a {@code SELECT} query
+ */
+
+@FunctionalInterface
+public interface ResultRowMapper<T> {
+    T map(ResultRow row) throws SQLException;
+}
@@ -20,6 +20,8 @@ package org.sql4j.sql.query;
  * ===============================LICENSE_END===============================
  */
 
+import lombok.NonNull;
+
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
@@ -48,4 +50,29 @@ import java.sql.SQLException;
 @FunctionalInterface
 public interface ResultSetMapper<T> {
     T map(ResultSet rs) throws SQLException;
+
+    /**
+     * Creates a {@link ResultSetMapper} that maps each row to an object of the given type by passing the values of the
+     * columns matching the type's constructor parameters by name (ignoring case and underscores, so that e.g. a
+     * parameter {@code col1} matches a column {@code COL_1}) to the constructor, e.g.
+     * <blockquote><pre>
+     *     List{@code <Row>} rows = SqlQuery.select(COL_1, COL_2)
+     *                                .from(TABLE_1)
+     *                                .execute(connection, ResultSetMapper.forType(Row.class));
+     *     // Row is defined as:
+     *     record Row(String col1, int col2) {}
+     * </pre></blockquote>
+     * The mapping is compiled once per type and column labels of the results, into code that reads each column by its
+     * position via the getter for the parameter's type e.g. {@link ResultSet#getInt(int)}, so it's as fast as a
+     * hand-written mapper. Columns without a matching parameter are ignored.
+     *
+     * @param type a record class, or a class with exactly one constructor annotated with
+     *             {@link java.beans.ConstructorProperties} (e.g. generated by Lombok)
+     * @param <T> a java class type to represent a row/record in the results of a {@code SELECT} query
+     * @return a {@link ResultSetMapper} to map a {@link ResultSet} to an object of type {@code <T>}
+     * @throws IllegalArgumentException if the type has no such constructor, or it's not accessible
+     */
+    static <T> ResultSetMapper<T> forType(@NonNull Class<T> type) {
+        return new ConstructorMapper<>(type);
+    }
 }
@@ -24,8 +24,12 @@ import lombok.NonNull;
 
 import java.sql.*;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Class used to build and execute sql {@code SELECT} queries
@@ -36,11 +40,16 @@ public class SelectQuery {
 
     SelectQuery(@NonNull Column<?> column, @NonNull Column<?>[] columns) {
         Utils.requireNonNulls(columns);
-        context.sqlBuilder.append("SELECT\n    ")
-                .append(Stream.concat(Stream.of(column), Arrays.stream(columns))
-                        .map(c -> c.getName() + Optional.ofNullable(c.getAlias()).map(alias -> " AS " + alias).orElse(""))
-                        .collect(Collectors.joining(",\n    ")))
-                .append("\n");
+        context.columns = Utils.listOf(column, columns).toArray(new Column<?>[0]);
+        for (Column<?> c : context.columns) {
+            context.aggregated |= c.isAggregated();
+        }
+        StringBuilder sqlBuilder = context.sqlBuilder.append("SELECT\n    ");
+        Utils.appendNameAndAlias(sqlBuilder, column.getName(), column.getAlias());
+        for (Column<?> c : columns) {
+            Utils.appendNameAndAlias(sqlBuilder.append(",\n    "), c.getName(), c.getAlias());
+        }
+        sqlBuilder.append("\n");
     }
 
     /**
@@ -50,17 +59,126 @@ public class SelectQuery {
      */
     public ConditionableSelectQuery from(@NonNull Table table, @NonNull Table... tables) {
         Utils.requireNonNulls(tables);
-        context.sqlBuilder.append("FROM\n    ")
-                .append(Stream.concat(Stream.of(table), Arrays.stream(tables))
-                        .map(t -> t.getName() + Optional.ofNullable(t.getAlias()).map(alias -> " AS " + alias).orElse(""))
-                        .collect(Collectors.joining(",\n    ")))
-                .append("\n");
+        context.tables = new String[tables.length + 1];
+        context.tables[0] = ResultCache.normalize(table.getName());
+        for (int i = 0; i < tables.length; ++i) {
+            context.tables[i + 1] = ResultCache.normalize(tables[i].getName());
+        }
+        context.fromStart = context.sqlBuilder.length();
+        StringBuilder sqlBuilder = context.sqlBuilder.append("FROM\n    ");
+        Utils.appendNameAndAlias(sqlBuilder, table.getName(), table.getAlias());
+        for (Table t : tables) {
+            Utils.appendNameAndAlias(sqlBuilder.append(",\n    "), t.getName(), t.getAlias());
+        }
+        sqlBuilder.append("\n");
+        context.fromEnd = sqlBuilder.length();
         return new ConditionableSelectQuery(context);
     }
 
     private static class Context {
-        private final StringBuilder sqlBuilder = new StringBuilder();
-        private final List<Object> params = new ArrayList<>();
+        private final StringBuilder sqlBuilder;
+        private final List<Object> params;
+        /**
+         * The SQL types of the params as defined in {@link java.sql.Types}, {@link java.sql.Types#NULL} if not known
+         */
+        private final List<Integer> paramSqlTypes;
+        private String sql;
+        private Filter.Position filterPosition;
+        private ParamBinder[] paramBinders;
+        /**
+         * The selected columns
+         */
+        private Column<?>[] columns;
+        /**
+         * True if any of the selected columns is an aggregate or the {@code DISTINCT} values of a column, see
+         * {@link Column#isAggregated()}, i.e. the results aren't a row per matching row
+         */
+        private boolean aggregated;
+        /**
+         * The (normalized) names of the tables in {@code FROM} clause, see {@link ResultCache#normalize(String)}
+         */
+        private String[] tables;
+        /**
+         * The positions in the sql statement where the {@code FROM} clause starts and ends
+         */
+        private int fromStart;
+        private int fromEnd;
+        /**
+         * The columns in {@code ORDER BY} clause, null if there is none
+         */
+        private Column<?>[] orderByColumns;
+        /**
+         * The sql statement with the seek condition of keyset pagination, created when the first page after a key is read
+         */
+        private String seekSql;
+        /**
+         * Maximum number of rows in the results, 0 if there is no limit
+         */
+        private int limit;
+        private long offset;
+        /**
+         * Length of the limit clause at the end of the sql statement, which is rendered in the standard dialect
+         */
+        private int limitLength;
+        /**
+         * The sql statement with the limit clause rendered in the dialect of MySQL and MariaDB, created when the query is
+         * first executed on such a database
+         */
+        private String mysqlSql;
+
+        private Context() {
+            this.sqlBuilder = new StringBuilder(Utils.SQL_BUILDER_CAPACITY);
+            this.params = new ArrayList<>();
+            this.paramSqlTypes = new ArrayList<>();
+        }
+
+        /**
+         * Creates a context for a variant of the query of the given context, whose sql statement differs (if at all)
+         * only after the {@code FROM} clause
+         */
+        private Context(Context source, String sql, List<Object> params, List<Integer> paramSqlTypes,
+                        Filter.Position filterPosition) {
+            this(source, sql, params, paramSqlTypes, filterPosition, null);
+        }
+
+        /**
+         * Creates a context for a variant of the query of the given context as above, which uses the given binders for
+         * its params (null to choose them at execution time)
+         */
+        private Context(Context source, String sql, List<Object> params, List<Integer> paramSqlTypes,
+                        Filter.Position filterPosition, ParamBinder[] paramBinders) {
+            this.sqlBuilder = null;
+            this.params = params;
+            this.paramSqlTypes = paramSqlTypes;
+            this.sql = sql;
+            this.filterPosition = filterPosition;
+            this.columns = source.columns;
+            this.aggregated = source.aggregated;
+            this.tables = source.tables;
+            this.fromStart = source.fromStart;
+            this.fromEnd = source.fromEnd;
+            this.orderByColumns = source.orderByColumns;
+            this.limit = source.limit;
+            this.offset = source.offset;
+            this.limitLength = source.limitLength;
+            this.paramBinders = paramBinders;
+        }
+
+        private String sql() {
+            // sqlBuilder is append-only, so the cached sql is stale only if its length differs from sqlBuilder's length
+            if (sqlBuilder != null && (sql == null || sql.length() != sqlBuilder.length())) {
+                sql = sqlBuilder.toString();
+            }
+            return sql;
+        }
+
+        private ParamBinder[] paramBinders() {
+            // params are append-only, so the cached binders are stale only if their number differs from the params'
+            if (paramBinders == null || paramBinders.length != params.size()) {
+                paramBinders = ParamBinder.forParams(params, paramSqlTypes);
+            }
+            return paramBinders;
+        }
     }
 
     /**
@@ -77,10 +195,12 @@ public class SelectQuery {
          * @return a {@link GroupableSelectQuery} that can be used to add {@code GROUP BY} clause in the query
          */
         public GroupableSelectQuery where(@NonNull Filter filter) {
-            context.sqlBuilder.append("WHERE\n    ")
-                    .append(filter.getCondition())
-                    .append("\n");
-            context.params.addAll(filter.getParams());
+            StringBuilder sqlBuilder = context.sqlBuilder.append("WHERE\n    ");
+            int sqlStart = sqlBuilder.length();
+            int paramsStart = context.params.size();
+            filter.appendTo(sqlBuilder, context.params, context.paramSqlTypes);
+            context.filterPosition = new Filter.Position(filter, sqlStart, sqlBuilder.length(), paramsStart);
+            sqlBuilder.append("\n");
             return this;
         }
     }
@@ -101,19 +221,100 @@ public class SelectQuery {
          */
         public OrderableSelectQuery groupBy(@NonNull Column<?> column, @NonNull Column<?>... columns) {
             Utils.requireNonNulls(columns);
-            context.sqlBuilder.append("GROUP BY\n    ")
-                    .append(Stream.concat(Stream.of(column), Arrays.stream(columns))
-                            .map(Column::getName)
-                            .collect(Collectors.joining(",\n    ")))
-                    .append("\n");
+            StringBuilder sqlBuilder = context.sqlBuilder.append("GROUP BY\n    ")
+                    .append(column.getName());
+            for (Column<?> c : columns) {
+                sqlBuilder.append(",\n    ").append(c.getName());
+            }
+            sqlBuilder.append("\n");
             return this;
         }
+
+        /**
+         * Checks if the query has any results via {@code SELECT 1} with the {@code FROM} and {@code WHERE} clauses of
+         * the query, limited to one row, so that the database can stop at the first matching row, and nothing is read
+         * into objects. If the query selects {@code DISTINCT} values or aggregates (via e.g. {@link Column#distinct()} or
+         * {@link Column#max()}), whose results aren't a row per matching row, it selects from the results of the query
+         * instead.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @return true if there is at least one row in the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public boolean executeExists(Connection con) throws SQLException {
+            try (PreparedStatement stmt = con.prepareStatement(selectFromResultsSql("1") + Dialect.of(con).limitClause(1, 0))) {
+                stmt.setMaxRows(1);
+                setParams(stmt);
+
+                return stmt.executeQuery().next();
+            }
+        }
+
+        /**
+         * Counts the results of the query via {@code SELECT COUNT(*)} with the {@code FROM} and {@code WHERE} clauses of
+         * the query, without reading the results themselves. If the query selects {@code DISTINCT} values or aggregates
+         * (via e.g. {@link Column#distinct()} or {@link Column#max()}), whose results aren't a row per matching row, it
+         * counts the results of the query via {@code SELECT COUNT(*) FROM (<query>) Q} instead.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @return number of rows in the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public long executeCount(Connection con) throws SQLException {
+            try (PreparedStatement stmt = con.prepareStatement(selectFromResultsSql("COUNT(*)"))) {
+                setParams(stmt);
+
+                ResultSet rs = stmt.executeQuery();
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+
+        /**
+         * @return a {@code SELECT} statement of the given expression with the {@code FROM} and {@code WHERE} clauses of
+         * the query if its columns select a row per matching row, otherwise from the results of the query as a derived
+         * table
+         */
+        private String selectFromResultsSql(String expression) {
+            if (context.aggregated) {
+                return "SELECT\n    " + expression + "\nFROM\n    (\n" + sql() + "    ) Q\n";
+            }
+            return "SELECT\n    " + expression + "\n" + fromAndWhereSql();
+        }
+
+        /**
+         * Same as {@link #executeExists(Connection)} on a connection from the given provider, which is closed after the
+         * execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @return true if there is at least one row in the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public boolean executeExists(@NonNull ConnectionProvider provider) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeExists(con);
+            }
+        }
+
+        /**
+         * Same as {@link #executeCount(Connection)} on a connection from the given provider, which is closed after the
+         * execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @return number of rows in the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public long executeCount(@NonNull ConnectionProvider provider) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeCount(con);
+            }
+        }
     }
 
     /**
      * Class to represent a {@code SELECT} query that can be used to add {@code ORDER BY} clause in the query
      */
-    public static class OrderableSelectQuery extends ExecutableSelectQuery {
+    public static class OrderableSelectQuery extends LimitableSelectQuery {
 
         private OrderableSelectQuery(Context context) {
             super(context);
@@ -122,15 +323,73 @@ public class SelectQuery {
         /**
          * @param column a column for ordering the results
          * @param columns other columns for ordering the results
-         * @return an {@link ExecutableSelectQuery} that is ready for execution
+         * @return a {@link LimitableSelectQuery} that can be used to limit the results of the query
          */
-        public ExecutableSelectQuery orderBy(@NonNull Column<?> column, @NonNull Column<?>... columns) {
+        public LimitableSelectQuery orderBy(@NonNull Column<?> column, @NonNull Column<?>... columns) {
             Utils.requireNonNulls(columns);
-            context.sqlBuilder.append("ORDER BY\n    ")
-                    .append(Stream.concat(Stream.of(column), Arrays.stream(columns))
-                            .map(c -> c.getName() + (c.getOrder() != null ? (" " + c.getOrder()) : ""))
-                            .collect(Collectors.joining(",\n    ")))
-                    .append("\n");
+            context.orderByColumns = Utils.listOf(column, columns).toArray(new Column<?>[0]);
+            StringBuilder sqlBuilder = context.sqlBuilder.append("ORDER BY\n    ");
+            appendNameAndOrder(sqlBuilder, column);
+            for (Column<?> c : columns) {
+                appendNameAndOrder(sqlBuilder.append(",\n    "), c);
+            }
+            sqlBuilder.append("\n");
+            return this;
+        }
+
+        private static void appendNameAndOrder(StringBuilder sqlBuilder, Column<?> column) {
+            sqlBuilder.append(column.getName());
+            if (column.getOrder() != null) {
+                sqlBuilder.append(' ').append(column.getOrder());
+            }
+        }
+    }
+
+    /**
+     * Class to represent a {@code SELECT} query that can be used to limit the number of rows in its results
+     */
+    public static class LimitableSelectQuery extends ExecutableSelectQuery {
+
+        private LimitableSelectQuery(Context context) {
+            super(context);
+        }
+
+        /**
+         * Same as {@link #limit(int, long)} without an offset.
+         *
+         * @param rowCount maximum number of rows in the results
+         * @return an {@link ExecutableSelectQuery} that is ready for execution
+         */
+        public ExecutableSelectQuery limit(int rowCount) {
+            return limit(rowCount, 0);
+        }
+
+        /**
+         * Limits the results to at most {@code rowCount} rows after skipping the first {@code offset} rows, via
+         * {@code OFFSET offset ROWS FETCH FIRST rowCount ROWS ONLY}, which is rendered as {@code LIMIT offset, rowCount}
+         * when the query is executed on MySQL or MariaDB. The maximum number of rows and the fetch size of the statement
+         * (see {@link Statement#setMaxRows(int)} and {@link Statement#setFetchSize(int)}) are set to {@code rowCount}, so
+         * that the driver reads the results in one round trip.
+         * <p>
+         * Note that the results of a query without {@code ORDER BY} clause are in no particular order, so which rows are
+         * skipped and returned isn't defined.
+         *
+         * @param rowCount maximum number of rows in the results
+         * @param offset number of rows skipped before the first row in the results
+         * @return an {@link ExecutableSelectQuery} that is ready for execution
+         */
+        public ExecutableSelectQuery limit(int rowCount, long offset) {
+            if (rowCount <= 0) {
+                throw new IllegalArgumentException("rowCount must be positive but is " + rowCount);
+            }
+            if (offset < 0) {
+                throw new IllegalArgumentException("offset must not be negative but is " + offset);
+            }
+            String limitClause = Dialect.STANDARD.limitClause(rowCount, offset);
+            context.sqlBuilder.append(limitClause);
+            context.limit = rowCount;
+            context.offset = offset;
+            context.limitLength = limitClause.length();
             return this;
         }
     }
@@ -155,10 +414,9 @@ public class SelectQuery {
         public <T> List<T> execute(Connection con, ResultSetMapper<T> resultSetMapper) throws SQLException {
             List<T> results = new ArrayList<>();
 
-            try (PreparedStatement stmt = con.prepareStatement(sql())) {
-                for (int i = 0; i < context.params.size(); ++i) {
-                    stmt.setObject(i + 1, context.params.get(i));
-                }
+            try (PreparedStatement stmt = con.prepareStatement(sql(con))) {
+                setMaxRows(stmt, 0);
+                setParams(stmt);
 
                 ResultSet rs = stmt.executeQuery();
                 while (rs.next()) {
@@ -170,17 +428,1239 @@ public class SelectQuery {
         }
 
         /**
-         * @return the sql statement used to execute the sql query, callers may want to log it for debugging/information
+         * Reads only the first row of the results, e.g. of a query ordered by the column whose lowest or highest value is
+         * wanted, without creating a list of results. The maximum number of rows of the statement (see
+         * {@link Statement#setMaxRows(int)}) is set to 1, so that the database can stop after the first row.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return the first row of the results of the {@code SELECT} query, empty if there are no results (or the row is
+         * mapped to null)
+         * @throws SQLException if a database access error occurs
          */
-        public String sql() {
-            return context.sqlBuilder.toString();
+        public <T> Optional<T> executeFirst(Connection con, ResultSetMapper<T> resultSetMapper) throws SQLException {
+            try (PreparedStatement stmt = con.prepareStatement(sql(con))) {
+                setMaxRows(stmt, 1);
+                setParams(stmt);
+
+                ResultSet rs = stmt.executeQuery();
+                return rs.next() ? Optional.ofNullable(resultSetMapper.map(rs)) : Optional.empty();
+            }
         }
 
         /**
-         * @return the values of parameters used in sql statement, callers may want to log it for debugging/information
+         * Reads the only row of the results, e.g. of a query by a unique key, without creating a list of results. The
+         * maximum number of rows of the statement (see {@link Statement#setMaxRows(int)}) is set to 2, so that the
+         * database can stop as soon as a second row is found.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return the only row of the results of the {@code SELECT} query, empty if there are no results (or the row is
+         * mapped to null)
+         * @throws SQLException if a database access error occurs
+         * @throws IllegalStateException if there is more than one row in the results
          */
-        public List<Object> params() {
-            return context.params;
+        public <T> Optional<T> executeSingle(Connection con, ResultSetMapper<T> resultSetMapper) throws SQLException {
+            try (PreparedStatement stmt = con.prepareStatement(sql(con))) {
+                setMaxRows(stmt, 2);
+                setParams(stmt);
+
+                ResultSet rs = stmt.executeQuery();
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                T result = resultSetMapper.map(rs);
+                if (rs.next()) {
+                    throw new IllegalStateException("more than one row found in the results where at most one is expected");
+                }
+                return Optional.ofNullable(result);
+            }
+        }
+
+        /**
+         * Same as {@link #execute(Connection, ResultSetMapper)}, but returns the results from the given cache if they are
+         * there, otherwise caches them, see {@link ResultCache}.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param cache a {@link ResultCache} to cache the results in
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return an unmodifiable list of objects of type {@code <T>} representing the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public <T> List<T> executeCached(Connection con, ResultSetMapper<T> resultSetMapper, @NonNull ResultCache cache) throws SQLException {
+            // Keyed by the sql statement that is executed, i.e. rendered in the dialect of the connection
+            return cache.get(sql(con), context.params, resultSetMapper, context.tables, () -> execute(con, resultSetMapper));
+        }
+
+        /**
+         * Same as {@link #executeInts(Connection, int)} but for results without nulls.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @return the values of the first column of the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         * @throws IllegalStateException if a value is null
+         */
+        public int[] executeInts(Connection con) throws SQLException {
+            return executeInts(con, 0, false);
+        }
+
+        /**
+         * Reads the values of the first column of the results (e.g. of {@code SELECT COL_2 FROM TABLE_1}) directly into
+         * a {@code int[]} via {@link ResultSet#getInt(int)}, without boxing them as
+         * {@link #execute(Connection, ResultSetMapper)} would.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param nullValue the value used in place of nulls
+         * @return the values of the first column of the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public int[] executeInts(Connection con, int nullValue) throws SQLException {
+            return executeInts(con, nullValue, true);
+        }
+
+        private int[] executeInts(Connection con, int nullValue, boolean nullable) throws SQLException {
+            int[] values = new int[Utils.INITIAL_RESULTS_CAPACITY];
+            int size = 0;
+
+            try (PreparedStatement stmt = con.prepareStatement(sql(con))) {
+                setMaxRows(stmt, 0);
+                setParams(stmt);
+
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    int value = rs.getInt(1);
+                    if (value == 0 && rs.wasNull()) {
+                        Utils.requireNullable(nullable, size);
+                        value = nullValue;
+                    }
+                    if (size == values.length) {
+                        values = Arrays.copyOf(values, 2 * size);
+                    }
+                    values[size++] = value;
+                }
+            }
+
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+
+        /**
+         * Same as {@link #executeLongs(Connection, long)} but for results without nulls.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @return the values of the first column of the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         * @throws IllegalStateException if a value is null
+         */
+        public long[] executeLongs(Connection con) throws SQLException {
+            return executeLongs(con, 0, false);
+        }
+
+        /**
+         * Reads the values of the first column of the results (e.g. of {@code SELECT COL_2 FROM TABLE_1}) directly into
+         * a {@code long[]} via {@link ResultSet#getLong(int)}, without boxing them as
+         * {@link #execute(Connection, ResultSetMapper)} would.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param nullValue the value used in place of nulls
+         * @return the values of the first column of the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public long[] executeLongs(Connection con, long nullValue) throws SQLException {
+            return executeLongs(con, nullValue, true);
+        }
+
+        private long[] executeLongs(Connection con, long nullValue, boolean nullable) throws SQLException {
+            long[] values = new long[Utils.INITIAL_RESULTS_CAPACITY];
+            int size = 0;
+
+            try (PreparedStatement stmt = con.prepareStatement(sql(con))) {
+                setMaxRows(stmt, 0);
+                setParams(stmt);
+
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    long value = rs.getLong(1);
+                    if (value == 0 && rs.wasNull()) {
+                        Utils.requireNullable(nullable, size);
+                        value = nullValue;
+                    }
+                    if (size == values.length) {
+                        values = Arrays.copyOf(values, 2 * size);
+                    }
+                    values[size++] = value;
+                }
+            }
+
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+
+        /**
+         * Same as {@link #executeDoubles(Connection, double)} but for results without nulls.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @return the values of the first column of the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         * @throws IllegalStateException if a value is null
+         */
+        public double[] executeDoubles(Connection con) throws SQLException {
+            return executeDoubles(con, 0, false);
+        }
+
+        /**
+         * Reads the values of the first column of the results (e.g. of {@code SELECT COL_2 FROM TABLE_1}) directly into
+         * a {@code double[]} via {@link ResultSet#getDouble(int)}, without boxing them as
+         * {@link #execute(Connection, ResultSetMapper)} would.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param nullValue the value used in place of nulls
+         * @return the values of the first column of the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public double[] executeDoubles(Connection con, double nullValue) throws SQLException {
+            return executeDoubles(con, nullValue, true);
+        }
+
+        private double[] executeDoubles(Connection con, double nullValue, boolean nullable) throws SQLException {
+            double[] values = new double[Utils.INITIAL_RESULTS_CAPACITY];
+            int size = 0;
+
+            try (PreparedStatement stmt = con.prepareStatement(sql(con))) {
+                setMaxRows(stmt, 0);
+                setParams(stmt);
+
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    double value = rs.getDouble(1);
+                    if (value == 0 && rs.wasNull()) {
+                        Utils.requireNullable(nullable, size);
+                        value = nullValue;
+                    }
+                    if (size == values.length) {
+                        values = Arrays.copyOf(values, 2 * size);
+                    }
+                    values[size++] = value;
+                }
+            }
+
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+
+        /**
+         * Reads the results column by column into a {@link ColumnarResult}, e.g. to aggregate many rows of a few columns
+         * in memory.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @return a {@link ColumnarResult} containing the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public ColumnarResult executeColumnar(Connection con) throws SQLException {
+            try (PreparedStatement stmt = con.prepareStatement(sql(con))) {
+                setMaxRows(stmt, 0);
+                setParams(stmt);
+
+                return ColumnarResult.read(stmt.executeQuery(), context.columns);
+            }
+        }
+
+        /**
+         * Same as {@link #executeInChunks(List, ResultSetMapper, int)} with a single connection, i.e. the chunks are
+         * executed sequentially.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param chunkSize maximum number of values of the IN list used in one execution of the query
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return a list of objects of type {@code <T>} representing the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         * @throws IllegalStateException if the query has a limit
+         */
+        public <T> List<T> executeInChunks(Connection con, ResultSetMapper<T> resultSetMapper, int chunkSize) throws SQLException {
+            return executeInChunks(List.of(con), resultSetMapper, chunkSize);
+        }
+
+        /**
+         * Executes the query once for each chunk of at most {@code chunkSize} values of its largest IN list (created via
+         * {@link Column#in}), so that queries with a very large IN list don't exceed the limits of the driver or the
+         * database on the number of params in a statement. The results of all the chunks are concatenated in the order
+         * of the chunks.
+         * <p>
+         * An IN list is split into chunks only if it's the whole {@code WHERE} condition or one of the operands of a chain
+         * of {@code AND}s (without any {@code OR}), otherwise (or if it has at most {@code chunkSize} values) the query is
+         * executed as a whole via {@link #execute}. Note that clauses like {@code ORDER BY} and {@code GROUP BY}, and
+         * aggregate functions like {@code COUNT}, apply to each chunk separately, so a query with a limit (and offset)
+         * can't be executed in chunks.
+         * <p>
+         * If more than one connection is given, the chunks are executed in parallel, on a virtual thread per connection.
+         *
+         * @param cons {@link java.sql.Connection} objects that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param chunkSize maximum number of values of the IN list used in one execution of the query
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return a list of objects of type {@code <T>} representing the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         * @throws IllegalStateException if the query has a limit
+         */
+        public <T> List<T> executeInChunks(@NonNull List<Connection> cons, ResultSetMapper<T> resultSetMapper, int chunkSize) throws SQLException {
+            if (context.limit > 0) {
+                throw new IllegalStateException("execution in chunks can't be combined with a limit, it would apply to each chunk separately");
+            }
+            InListChunks chunks = InListChunks.of(sql(), context.params, context.paramSqlTypes, context.filterPosition, chunkSize);
+            if (chunks == null) {
+                return execute(cons.getFirst(), resultSetMapper);
+            }
+
+            List<List<T>> chunkResults = Utils.executeChunks(cons, chunks.count(), (con, chunk) ->
+                    new ExecutableSelectQuery(new Context(context, chunks.sql(chunk), chunks.params(chunk), chunks.sqlTypes(chunk), null))
+                            .execute(con, resultSetMapper));
+            List<T> results = new ArrayList<>();
+            for (List<T> chunkResult : chunkResults) {
+                results.addAll(chunkResult);
+            }
+            return results;
+        }
+
+        /**
+         * Same as {@link #executeInPartitions(List, ResultSetMapper, Column, Object, Object)} for the range of values of
+         * the partition column selected by this query, which is discovered via a
+         * {@code SELECT MIN(partitionColumn), MAX(partitionColumn)} query (executed on the first connection) with the
+         * {@code FROM} and {@code WHERE} clauses of this query.
+         *
+         * @param cons {@link java.sql.Connection} objects that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param partitionColumn a column of an integer or date/time type, whose range of values is partitioned
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return a list of objects of type {@code <T>} representing the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         * @throws IllegalStateException if the query has a limit
+         */
+        public <T> List<T> executeInPartitions(@NonNull List<Connection> cons, ResultSetMapper<T> resultSetMapper,
+                                               @NonNull Column<?> partitionColumn) throws SQLException {
+            if (cons.isEmpty()) {
+                throw new IllegalArgumentException("at least one connection is required");
+            }
+            requireNoLimitForPartitions();
+            String rangeSql = "SELECT\n    " + partitionColumn.min().getName()
+                    + ",\n    " + partitionColumn.max().getName()
+                    + "\n" + fromAndWhereSql();
+            Object min;
+            Object max;
+            try (PreparedStatement stmt = cons.getFirst().prepareStatement(rangeSql)) {
+                setParams(stmt);
+
+                ResultSet rs = stmt.executeQuery();
+                rs.next();
+                min = rs.getObject(1);
+                max = rs.getObject(2);
+            }
+            return executePartitions(cons, resultSetMapper, partitionColumn, min, max);
+        }
+
+        /**
+         * Executes the query once for each partition of the given range of values of the partition column, i.e. with
+         * the condition {@code bound <= partitionColumn < nextBound} (or {@code <= max} for the last partition) added to
+         * its {@code WHERE} clause, in parallel on a virtual thread per connection. The range is split into (at most)
+         * as many partitions of equal width as there are connections, so that large results are read by the database
+         * and transferred concurrently, e.g. via an index on the partition column.
+         * <p>
+         * The results of the partitions are concatenated in the order of the partitions, or merged into the order of
+         * the {@code ORDER BY} clause if there is one, in which case its columns must be in the results (selected with or
+         * without an alias) and their values are compared via {@link Comparable#compareTo} (with nulls first), which must
+         * be consistent with the order of the database, e.g. strings with a binary collation. Note that rows whose
+         * partition column is null or out of the given range aren't selected, and that {@code GROUP BY} clause and
+         * aggregate functions like {@code COUNT} apply to each partition separately, so a query with a limit (and
+         * offset) can't be executed in partitions.
+         *
+         * @param cons {@link java.sql.Connection} objects that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param partitionColumn a column of an integer or date/time type, whose range of values is partitioned
+         * @param min the min value of the range, values of type Integer, Long, Short, {@link java.sql.Date},
+         *            {@link java.sql.Timestamp}, {@link java.time.LocalDate} and {@link java.time.LocalDateTime} are
+         *            supported
+         * @param max the max value of the range, of the same type as {@code min}
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @param <K> Java class type of the partition column
+         * @return a list of objects of type {@code <T>} representing the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         * @throws IllegalStateException if the query has a limit
+         */
+        public <T, K> List<T> executeInPartitions(@NonNull List<Connection> cons, ResultSetMapper<T> resultSetMapper,
+                                                  @NonNull Column<K> partitionColumn, @NonNull K min, @NonNull K max)
+                throws SQLException {
+            return executePartitions(cons, resultSetMapper, partitionColumn, min, max);
+        }
+
+        private <T> List<T> executePartitions(List<Connection> cons, ResultSetMapper<T> resultSetMapper,
+                                              Column<?> partitionColumn, Object min, Object max) throws SQLException {
+            requireNoLimitForPartitions();
+            RangePartitions partitions = RangePartitions.of(sql(), context.params, context.paramSqlTypes,
+                    context.filterPosition, context.fromEnd, partitionColumn, min, max, cons.size());
+            Column<?>[] orderByColumns = context.orderByColumns;
+
+            List<RangePartitions.OrderedRows<T>> partitionResults = Utils.executeChunks(cons, partitions.count(), (con, partition) -> {
+                ExecutableSelectQuery query = new ExecutableSelectQuery(
+                        new Context(context, partitions.sql(partition), partitions.params(partition), partitions.sqlTypes(), null));
+                return orderByColumns == null
+                        ? new RangePartitions.OrderedRows<>(query.execute(con, resultSetMapper), null)
+                        : query.executeOrdered(con, resultSetMapper);
+            });
+
+            if (orderByColumns != null) {
+                boolean[] descending = new boolean[orderByColumns.length];
+                for (int i = 0; i < orderByColumns.length; ++i) {
+                    descending[i] = orderByColumns[i].isDescending();
+                }
+                return RangePartitions.merge(partitionResults, descending);
+            }
+            List<T> results = new ArrayList<>();
+            for (RangePartitions.OrderedRows<T> partitionResult : partitionResults) {
+                results.addAll(partitionResult.rows());
+            }
+            return results;
+        }
+
+        private void requireNoLimitForPartitions() {
+            if (context.limit > 0) {
+                throw new IllegalStateException("execution in partitions can't be combined with a limit, it would apply to each partition separately");
+            }
+        }
+
+        /**
+         * Executes the query as {@link #execute(Connection, ResultSetMapper)} does, also reading the values of the
+         * {@code ORDER BY} columns of each row
+         */
+        private <T> RangePartitions.OrderedRows<T> executeOrdered(Connection con, ResultSetMapper<T> resultSetMapper) throws SQLException {
+            List<T> rows = new ArrayList<>();
+            List<Object[]> keys = new ArrayList<>();
+
+            try (PreparedStatement stmt = con.prepareStatement(sql(con))) {
+                setMaxRows(stmt, 0);
+                setParams(stmt);
+
+                ResultSet rs = stmt.executeQuery();
+                ColumnOrdinals ordinals = new ColumnOrdinals(context.columns, rs.getMetaData());
+                int[] keyOrdinals = new int[context.orderByColumns.length];
+                for (int i = 0; i < keyOrdinals.length; ++i) {
+                    keyOrdinals[i] = ordinals.of(context.orderByColumns[i]);
+                }
+                while (rs.next()) {
+                    Object[] key = new Object[keyOrdinals.length];
+                    for (int i = 0; i < keyOrdinals.length; ++i) {
+                        key[i] = rs.getObject(keyOrdinals[i]);
+                    }
+                    keys.add(key);
+                    rows.add(resultSetMapper.map(rs));
+                }
+            }
+
+            return new RangePartitions.OrderedRows<>(rows, keys);
+        }
+
+        /**
+         * Reads a page of at most {@code pageSize} rows of the results via keyset (seek) pagination: the page after a
+         * row is read by adding a condition on the values of the {@code ORDER BY} columns of the row (its key) to the
+         * {@code WHERE} clause, e.g. {@code (COL_1 > ?) OR (COL_1 = ? AND COL_2 < ?)} for
+         * {@code ORDER BY COL_1, COL_2 DESC}, so that the rows before the page are skipped via an index on these columns
+         * (if any) instead of being read and dropped as with an {@code OFFSET}. The number of rows is limited via
+         * {@link java.sql.Statement#setMaxRows(int)}.
+         * <p>
+         * The {@code ORDER BY} columns must be columns of the tables (not e.g. aggregates) in the results of the query,
+         * without null values, and they must order the rows totally, e.g. by ending with the primary key, otherwise rows
+         * with the same key as the last row of a page are skipped.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param pageSize maximum number of rows of the page
+         * @param afterKey the key of the last row of the previous page (see {@link KeysetPage#getLastKey()}), null to
+         *                 read the first page
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return the page of the results after the given key
+         * @throws SQLException if a database access error occurs
+         * @throws IllegalStateException if the query has no {@code ORDER BY} clause or has a limit
+         */
+        public <T> KeysetPage<T> executePage(Connection con, ResultSetMapper<T> resultSetMapper, int pageSize,
+                                             List<?> afterKey) throws SQLException {
+            Column<?>[] orderByColumns = context.orderByColumns;
+            if (orderByColumns == null) {
+                throw new IllegalStateException("keyset pagination requires an ORDER BY clause");
+            }
+            if (context.limit > 0) {
+                throw new IllegalStateException("keyset pagination can't be combined with a limit, the page size limits the rows of each page");
+            }
+            if (pageSize <= 0) {
+                throw new IllegalArgumentException("pageSize must be positive but is " + pageSize);
+            }
+            if (afterKey == null) {
+                return readPage(con, resultSetMapper, pageSize);
+            }
+            if (afterKey.size() != orderByColumns.length) {
+                throw new IllegalArgumentException("key must have " + orderByColumns.length + " values but found " + afterKey);
+            }
+
+            // Params of the condition (a > ?) OR (a = ? AND b > ?) OR ... for keys (a, b, ...)
+            List<Object> params = new ArrayList<>(context.params.size() + orderByColumns.length * (orderByColumns.length + 1) / 2);
+            List<Integer> paramSqlTypes = new ArrayList<>(params.size());
+            params.addAll(context.params);
+            paramSqlTypes.addAll(context.paramSqlTypes);
+            for (int i = 0; i < orderByColumns.length; ++i) {
+                for (int j = 0; j <= i; ++j) {
+                    params.add(Objects.requireNonNull(afterKey.get(j), "null value is provided where non-null is required"));
+                    paramSqlTypes.add(orderByColumns[j].getSqlType());
+                }
+            }
+            return new ExecutableSelectQuery(new Context(context, seekSql(), params, paramSqlTypes, null))
+                    .readPage(con, resultSetMapper, pageSize);
+        }
+
+        /**
+         * Same as {@link #pages(Connection, ResultSetMapper, int, boolean)} without prefetching.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param pageSize maximum number of rows of a page
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return an iterator of the (non-empty) pages of the results
+         */
+        public <T> Iterator<KeysetPage<T>> pages(Connection con, ResultSetMapper<T> resultSetMapper, int pageSize) {
+            return pages(con, resultSetMapper, pageSize, false);
+        }
+
+        /**
+         * Iterates over the pages of the results, each of them read via
+         * {@link #executePage(Connection, ResultSetMapper, int, List)} after the last row of the previous one, e.g.
+         * <blockquote><pre>
+         *     Iterator{@code <KeysetPage<String>>} pages = query.pages(connection, rs -> rs.getString("COL_1"), 1000, true);
+         *     while (pages.hasNext()) {
+         *         process(pages.next().getRows());
+         *     }
+         * </pre></blockquote>
+         * If {@code prefetch} is true, the next page is read asynchronously (on a virtual thread) as soon as a page is
+         * returned by {@link Iterator#next()}, so that it's read while the caller processes the returned page. The
+         * connection is then in use until the iteration ends, or until the prefetch completes if the iteration is
+         * abandoned, so it must not be used by the caller meanwhile.
+         * <p>
+         * A {@link SQLException} that occurs while reading a page is thrown as an {@link UncheckedSQLException}.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param pageSize maximum number of rows of a page
+         * @param prefetch true to read the next page while the caller processes the current one
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return an iterator of the (non-empty) pages of the results
+         * @throws IllegalStateException if the query has no {@code ORDER BY} clause or has a limit
+         */
+        public <T> Iterator<KeysetPage<T>> pages(@NonNull Connection con, ResultSetMapper<T> resultSetMapper, int pageSize,
+                                                 boolean prefetch) {
+            if (context.orderByColumns == null) {
+                throw new IllegalStateException("keyset pagination requires an ORDER BY clause");
+            }
+            if (context.limit > 0) {
+                throw new IllegalStateException("keyset pagination can't be combined with a limit, the page size limits the rows of each page");
+            }
+            if (pageSize <= 0) {
+                throw new IllegalArgumentException("pageSize must be positive but is " + pageSize);
+            }
+            return new PageIterator<>(this, con, resultSetMapper, pageSize, prefetch);
+        }
+
+        private String seekSql() {
+            String seekSql = context.seekSql;
+            if (seekSql == null) {
+                Column<?>[] orderByColumns = context.orderByColumns;
+                StringBuilder condition = new StringBuilder("(");
+                for (int i = 0; i < orderByColumns.length; ++i) {
+                    condition.append(i == 0 ? "(" : " OR (");
+                    for (int j = 0; j < i; ++j) {
+                        condition.append(orderByColumns[j].getName()).append(" = ? AND ");
+                    }
+                    condition.append(orderByColumns[i].getName())
+                            .append(orderByColumns[i].isDescending() ? " < ?)" : " > ?)");
+                }
+                condition.append(')');
+                seekSql = Utils.addCondition(sql(), context.filterPosition, context.fromEnd, condition.toString());
+                context.seekSql = seekSql;
+            }
+            return seekSql;
+        }
+
+        private <T> KeysetPage<T> readPage(Connection con, ResultSetMapper<T> resultSetMapper, int pageSize) throws SQLException {
+            List<T> rows = new ArrayList<>(Math.min(pageSize, Utils.INITIAL_RESULTS_CAPACITY));
+            Object[] lastKey = new Object[context.orderByColumns.length];
+
+            try (PreparedStatement stmt = con.prepareStatement(sql(con))) {
+                setMaxRows(stmt, pageSize);
+                setParams(stmt);
+
+                ResultSet rs = stmt.executeQuery();
+                ColumnOrdinals ordinals = new ColumnOrdinals(context.columns, rs.getMetaData());
+                int[] keyOrdinals = new int[lastKey.length];
+                for (int i = 0; i < keyOrdinals.length; ++i) {
+                    keyOrdinals[i] = ordinals.of(context.orderByColumns[i]);
+                }
+                while (rows.size() < pageSize && rs.next()) {
+                    for (int i = 0; i < keyOrdinals.length; ++i) {
+                        lastKey[i] = rs.getObject(keyOrdinals[i]);
+                    }
+                    rows.add(resultSetMapper.map(rs));
+                }
+            }
+
+            return new KeysetPage<>(rows, rows.isEmpty() ? null : Arrays.asList(lastKey), rows.size() < pageSize);
+        }
+
+        /**
+         * Same as {@link #executeAsync(Connection, ResultSetMapper, Executor)} executing the query on a new virtual thread.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return a future of the list of objects of type {@code <T>} representing the results of the {@code SELECT} query
+         */
+        public <T> CompletableFuture<List<T>> executeAsync(Connection con, ResultSetMapper<T> resultSetMapper) {
+            return executeAsync(con, resultSetMapper, AsyncExecution.VIRTUAL_THREAD_EXECUTOR);
+        }
+
+        /**
+         * Executes the query asynchronously on the given executor, as {@link #execute(Connection, ResultSetMapper)} does.
+         * <p>
+         * The given connection is used by the execution until the returned future completes, so it must not be used by
+         * the caller (or by other executions) meanwhile, as JDBC connections aren't meant to be used concurrently: use a
+         * separate connection for each of the queries executed concurrently. Cancelling the returned future cancels the
+         * statement being executed via {@link java.sql.Statement#cancel()}.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param executor an executor to execute the query on
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return a future of the list of objects of type {@code <T>} representing the results of the {@code SELECT} query
+         */
+        public <T> CompletableFuture<List<T>> executeAsync(@NonNull Connection con, ResultSetMapper<T> resultSetMapper, @NonNull Executor executor) {
+            return AsyncExecution.start(con, executor, asyncCon -> execute(asyncCon, resultSetMapper));
+        }
+
+        /**
+         * Same as {@link #stream(Connection, ResultSetMapper, int)} but uses the driver's default fetch size.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return a lazily populated stream of objects of type {@code <T>} representing the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public <T> Stream<T> stream(Connection con, ResultSetMapper<T> resultSetMapper) throws SQLException {
+            return stream(con, resultSetMapper, 0);
+        }
+
+        /**
+         * Executes the {@code SELECT} query with a forward-only, read-only cursor and returns its results as a lazily
+         * populated stream, where a row is read and mapped only when the stream consumer asks for it.
+         * <p>
+         * The returned stream holds an open {@link java.sql.PreparedStatement} and {@link java.sql.ResultSet}, which are
+         * closed when the stream is closed (or when the last row has been read), so it should be used within a
+         * try-with-resources statement e.g.
+         * <blockquote><pre>
+         *     try (Stream{@code <String>} results = query.stream(connection, rs -> rs.getString("COL_1"), 1000)) {
+         *         results.forEach(System.out::println);
+         *     }
+         * </pre></blockquote>
+         * A {@link SQLException} that occurs while reading the rows is thrown as an {@link UncheckedSQLException}.
+         * <p>
+         * Note that some drivers need additional settings to really fetch the rows in chunks of {@code fetchSize} e.g.
+         * MySQL requires {@code useCursorFetch=true} in the connection url.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param fetchSize a hint for the number of rows to be fetched from the database at a time, {@code 0} means the driver's default (see {@link java.sql.Statement#setFetchSize(int)})
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return a lazily populated stream of objects of type {@code <T>} representing the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public <T> Stream<T> stream(Connection con, ResultSetMapper<T> resultSetMapper, int fetchSize) throws SQLException {
+            PreparedStatement stmt = con.prepareStatement(sql(con), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            try {
+                setMaxRows(stmt, 0);
+                if (fetchSize != 0) {
+                    stmt.setFetchSize(fetchSize);
+                }
+                setParams(stmt);
+
+                ResultSetSpliterator<T> spliterator = new ResultSetSpliterator<>(stmt, stmt.executeQuery(), resultSetMapper);
+                return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+            } catch (SQLException | RuntimeException e) {
+                stmt.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Same as {@link #execute(Connection, ResultSetMapper)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return a list of objects of type {@code <T>} representing the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public <T> List<T> execute(@NonNull ConnectionProvider provider, ResultSetMapper<T> resultSetMapper) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return execute(con, resultSetMapper);
+            }
+        }
+
+        /**
+         * Same as {@link #executeFirst(Connection, ResultSetMapper)} on a connection from the given provider, which is
+         * closed after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return the first row of the results of the {@code SELECT} query, empty if there are no results
+         * @throws SQLException if a database access error occurs
+         */
+        public <T> Optional<T> executeFirst(@NonNull ConnectionProvider provider, ResultSetMapper<T> resultSetMapper) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeFirst(con, resultSetMapper);
+            }
+        }
+
+        /**
+         * Same as {@link #executeSingle(Connection, ResultSetMapper)} on a connection from the given provider, which is
+         * closed after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return the only row of the results of the {@code SELECT} query, empty if there are no results
+         * @throws SQLException if a database access error occurs
+         * @throws IllegalStateException if there is more than one row in the results
+         */
+        public <T> Optional<T> executeSingle(@NonNull ConnectionProvider provider, ResultSetMapper<T> resultSetMapper) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeSingle(con, resultSetMapper);
+            }
+        }
+
+        /**
+         * Same as {@link #executeCached(Connection, ResultSetMapper, ResultCache)} with a connection got from the given
+         * provider only if the results aren't in the cache (or if the query has a limit, which is rendered in the dialect
+         * of the connection), which is closed (e.g. returned to its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param cache a {@link ResultCache} to cache the results in
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return an unmodifiable list of objects of type {@code <T>} representing the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public <T> List<T> executeCached(@NonNull ConnectionProvider provider, ResultSetMapper<T> resultSetMapper,
+                                         @NonNull ResultCache cache) throws SQLException {
+            if (context.limit > 0) {
+                try (Connection con = provider.getConnection()) {
+                    return executeCached(con, resultSetMapper, cache);
+                }
+            }
+            // The sql statement is the same in all the dialects
+            return cache.get(sql(), context.params, resultSetMapper, context.tables, () -> execute(provider, resultSetMapper));
+        }
+
+        /**
+         * Same as {@link #executePage(Connection, ResultSetMapper, int, List)} with a connection got from the given
+         * provider, which is closed (e.g. returned to its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param pageSize maximum number of rows of the page
+         * @param afterKey the key of the last row of the previous page, null to read the first page
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return the page of the results after the given key
+         * @throws SQLException if a database access error occurs
+         */
+        public <T> KeysetPage<T> executePage(@NonNull ConnectionProvider provider, ResultSetMapper<T> resultSetMapper,
+                                             int pageSize, List<?> afterKey) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executePage(con, resultSetMapper, pageSize, afterKey);
+            }
+        }
+
+        /**
+         * Same as {@link #executeInts(Connection)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @return the values of the first column of the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public int[] executeInts(@NonNull ConnectionProvider provider) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeInts(con);
+            }
+        }
+
+        /**
+         * Same as {@link #executeInts(Connection, int)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param nullValue the value used in place of nulls
+         * @return the values of the first column of the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public int[] executeInts(@NonNull ConnectionProvider provider, int nullValue) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeInts(con, nullValue);
+            }
+        }
+
+        /**
+         * Same as {@link #executeLongs(Connection)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @return the values of the first column of the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public long[] executeLongs(@NonNull ConnectionProvider provider) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeLongs(con);
+            }
+        }
+
+        /**
+         * Same as {@link #executeLongs(Connection, long)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param nullValue the value used in place of nulls
+         * @return the values of the first column of the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public long[] executeLongs(@NonNull ConnectionProvider provider, long nullValue) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeLongs(con, nullValue);
+            }
+        }
+
+        /**
+         * Same as {@link #executeDoubles(Connection)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @return the values of the first column of the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public double[] executeDoubles(@NonNull ConnectionProvider provider) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeDoubles(con);
+            }
+        }
+
+        /**
+         * Same as {@link #executeDoubles(Connection, double)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param nullValue the value used in place of nulls
+         * @return the values of the first column of the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public double[] executeDoubles(@NonNull ConnectionProvider provider, double nullValue) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeDoubles(con, nullValue);
+            }
+        }
+
+        /**
+         * Same as {@link #executeColumnar(Connection)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @return a {@link ColumnarResult} containing the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public ColumnarResult executeColumnar(@NonNull ConnectionProvider provider) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeColumnar(con);
+            }
+        }
+
+        /**
+         * Same as {@link #executeInChunks(List, ResultSetMapper, int)} with {@code parallelism} connections got from
+         * the given provider, which are closed (e.g. returned to their pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connections from
+         * @param parallelism number of connections executing the chunks in parallel
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param chunkSize maximum number of values of the IN list used in one execution of the query
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return a list of objects of type {@code <T>} representing the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         * @throws IllegalStateException if the query has a limit
+         */
+        public <T> List<T> executeInChunks(@NonNull ConnectionProvider provider, int parallelism, ResultSetMapper<T> resultSetMapper,
+                                             int chunkSize) throws SQLException {
+            return Utils.withConnections(provider, parallelism, cons -> executeInChunks(cons, resultSetMapper, chunkSize));
+        }
+
+        /**
+         * Same as {@link #executeInPartitions(List, ResultSetMapper, Column)} with {@code partitions} connections got
+         * from the given provider, which are closed (e.g. returned to their pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connections from
+         * @param partitions maximum number of partitions, i.e. of connections executing them in parallel
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param partitionColumn a column of an integer or date/time type, whose range of values is partitioned
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return a list of objects of type {@code <T>} representing the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         * @throws IllegalStateException if the query has a limit
+         */
+        public <T> List<T> executeInPartitions(@NonNull ConnectionProvider provider, int partitions, ResultSetMapper<T> resultSetMapper,
+                                               @NonNull Column<?> partitionColumn) throws SQLException {
+            return Utils.withConnections(provider, partitions, cons -> executeInPartitions(cons, resultSetMapper, partitionColumn));
+        }
+
+        /**
+         * Same as {@link #executeInPartitions(List, ResultSetMapper, Column, Object, Object)} with {@code partitions}
+         * connections got from the given provider, which are closed (e.g. returned to their pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connections from
+         * @param partitions maximum number of partitions, i.e. of connections executing them in parallel
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param partitionColumn a column of an integer or date/time type, whose range of values is partitioned
+         * @param min the min value of the range
+         * @param max the max value of the range, of the same type as {@code min}
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @param <K> Java class type of the partition column
+         * @return a list of objects of type {@code <T>} representing the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         * @throws IllegalStateException if the query has a limit
+         */
+        public <T, K> List<T> executeInPartitions(@NonNull ConnectionProvider provider, int partitions, ResultSetMapper<T> resultSetMapper,
+                                                  @NonNull Column<K> partitionColumn, @NonNull K min, @NonNull K max) throws SQLException {
+            return Utils.withConnections(provider, partitions, cons -> executeInPartitions(cons, resultSetMapper, partitionColumn, min, max));
+        }
+
+        /**
+         * Same as {@link #executeAsync(ConnectionProvider, ResultSetMapper, Executor)} executing the query on a new
+         * virtual thread.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return a future of the list of objects of type {@code <T>} representing the results of the {@code SELECT} query
+         */
+        public <T> CompletableFuture<List<T>> executeAsync(ConnectionProvider provider, ResultSetMapper<T> resultSetMapper) {
+            return executeAsync(provider, resultSetMapper, AsyncExecution.VIRTUAL_THREAD_EXECUTOR);
+        }
+
+        /**
+         * Same as {@link #executeAsync(Connection, ResultSetMapper, Executor)} with a connection got from the given
+         * provider when the execution starts, which is closed (e.g. returned to its pool) when it ends.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param executor an executor to execute the query on
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return a future of the list of objects of type {@code <T>} representing the results of the {@code SELECT} query
+         */
+        public <T> CompletableFuture<List<T>> executeAsync(@NonNull ConnectionProvider provider, ResultSetMapper<T> resultSetMapper, @NonNull Executor executor) {
+            return AsyncExecution.start(provider, executor, con -> execute(con, resultSetMapper));
+        }
+
+        /**
+         * Same as {@link #stream(ConnectionProvider, ResultSetMapper, int)} but uses the driver's default fetch size.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return a lazily populated stream of objects of type {@code <T>} representing the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public <T> Stream<T> stream(ConnectionProvider provider, ResultSetMapper<T> resultSetMapper) throws SQLException {
+            return stream(provider, resultSetMapper, 0);
+        }
+
+        /**
+         * Same as {@link #stream(Connection, ResultSetMapper, int)} with a connection got from the given provider, which
+         * is closed (e.g. returned to its pool) when the returned stream is closed.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param fetchSize a hint for the number of rows to be fetched from the database at a time, {@code 0} means the driver's default (see {@link java.sql.Statement#setFetchSize(int)})
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return a lazily populated stream of objects of type {@code <T>} representing the results of the {@code SELECT} query
+         * @throws SQLException if a database access error occurs
+         */
+        public <T> Stream<T> stream(@NonNull ConnectionProvider provider, ResultSetMapper<T> resultSetMapper, int fetchSize) throws SQLException {
+            Connection con = provider.getConnection();
+            try {
+                return stream(con, resultSetMapper, fetchSize).onClose(() -> {
+                    try {
+                        con.close();
+                    } catch (SQLException e) {
+                        throw new UncheckedSQLException(e);
+                    }
+                });
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    con.close();
+                } catch (SQLException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * Binds values to the {@link Param}s used in this query. The sql statement of this query is built only once and
+         * shared with the returned query, so a query built with params can be kept as an immutable template and executed
+         * many times (also concurrently) with different values.
+         *
+         * @param paramValues values of all the {@link Param}s used in this query
+         * @return a copy of this query, with the given values bound to its params, that is ready for execution
+         */
+        public ExecutableSelectQuery bind(@NonNull ParamValue... paramValues) {
+            return new ExecutableSelectQuery(new Context(context, context.sql(), Utils.bindParams(context.params, paramValues), context.paramSqlTypes,
+                    context.filterPosition, context.paramBinders()));
+        }
+
+        /**
+         * Creates a {@link ResultSetMapper}, to be used with this query's execute methods, that reads the selected columns
+         * by their positions in the results instead of their names, see {@link ResultRow}. The positions are resolved once
+         * per {@link java.sql.ResultSet}, so it's the faster way to map results with many rows.
+         *
+         * @param resultRowMapper a {@link ResultRowMapper} to map a {@link ResultRow} to an object of type {@code <T>}
+         * @param <T> a java class type to represent a row/record in the results of the {@code SELECT} query
+         * @return a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} of this query to an object of type {@code <T>}
+         */
+        public <T> ResultSetMapper<T> rowMapper(@NonNull ResultRowMapper<T> resultRowMapper) {
+            Column<?>[] columns = context.columns;
+            return new ResultSetMapper<>() {
+                private ResultRow row;
+
+                @Override
+                public T map(ResultSet rs) throws SQLException {
+                    ResultRow row = this.row;
+                    if (row == null || !row.isFor(rs)) {
+                        row = new ResultRow(rs, columns);
+                        this.row = row;
+                    }
+                    return resultRowMapper.map(row);
+                }
+            };
+        }
+
+        /**
+         * @return the sql statement used to execute the sql query, callers may want to log it for debugging/information
+         */
+        public String sql() {
+            return context.sql();
+        }
+
+        /**
+         * @return the values of parameters used in sql statement, callers may want to log it for debugging/information
+         */
+        public List<Object> params() {
+            return context.params;
+        }
+
+        /**
+         * @return the SQL types of the params as defined in {@link java.sql.Types}, {@link java.sql.Types#NULL} if not known
+         */
+        List<Integer> paramSqlTypes() {
+            return context.paramSqlTypes;
+        }
+
+        /**
+         * @return the {@code FROM} and {@code WHERE} (if any) clauses of the sql statement
+         */
+        String fromAndWhereSql() {
+            int whereEnd = context.filterPosition == null ? context.fromEnd : context.filterPosition.sqlEnd() + 1;
+            return sql().substring(context.fromStart, whereEnd);
+        }
+
+        /**
+         * @return the sql statement with its limit clause (if any) rendered in the dialect of the given connection's
+         * database
+         */
+        private String sql(Connection con) throws SQLException {
+            return context.limit == 0 ? sql() : sql(Dialect.of(con));
+        }
+
+        /**
+         * @return the sql statement with its limit clause (if any) rendered in the given dialect
+         */
+        String sql(Dialect dialect) {
+            if (context.limit == 0 || !dialect.isMysql()) {
+                return sql();
+            }
+            String mysqlSql = context.mysqlSql;
+            if (mysqlSql == null) {
+                String sql = sql();
+                mysqlSql = sql.substring(0, sql.length() - context.limitLength)
+                        + Dialect.MYSQL.limitClause(context.limit, context.offset);
+                context.mysqlSql = mysqlSql;
+            }
+            return mysqlSql;
+        }
+
+        /**
+         * Sets the maximum number of rows and the fetch size of the given statement to {@code maxRows} or the limit of
+         * the query, whichever is lower, so that the driver reads no more rows than needed in one round trip
+         *
+         * @param maxRows maximum number of rows needed, 0 if all rows are needed
+         */
+        private void setMaxRows(PreparedStatement stmt, int maxRows) throws SQLException {
+            int limit = context.limit;
+            if (maxRows == 0 || (limit > 0 && limit < maxRows)) {
+                maxRows = limit;
+            }
+            if (maxRows > 0) {
+                stmt.setMaxRows(maxRows);
+                stmt.setFetchSize(maxRows);
+            }
+        }
+
+        void setParams(PreparedStatement stmt) throws SQLException {
+            ParamBinder[] paramBinders = context.paramBinders();
+            for (int i = 0; i < paramBinders.length; ++i) {
+                paramBinders[i].bind(stmt, i + 1, Utils.requireBound(context.params.get(i)));
+            }
+        }
+    }
+
+    private static class PageIterator<T> implements Iterator<KeysetPage<T>> {
+        private final ExecutableSelectQuery query;
+        private final Connection con;
+        private final ResultSetMapper<T> resultSetMapper;
+        private final int pageSize;
+        private final boolean prefetch;
+        /**
+         * The page to be returned by next(), read by hasNext()
+         */
+        private KeysetPage<T> nextPage;
+        /**
+         * The page last returned by next(), null before the first page
+         */
+        private KeysetPage<T> previousPage;
+        /**
+         * The page being prefetched, null if prefetching is off or not started yet
+         */
+        private CompletableFuture<KeysetPage<T>> prefetchedPage;
+        private boolean exhausted;
+
+        private PageIterator(ExecutableSelectQuery query, Connection con, ResultSetMapper<T> resultSetMapper, int pageSize,
+                             boolean prefetch) {
+            this.query = query;
+            this.con = con;
+            this.resultSetMapper = resultSetMapper;
+            this.pageSize = pageSize;
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextPage != null) {
+                return true;
+            }
+            if (exhausted || (previousPage != null && previousPage.isLast())) {
+                exhausted = true;
+                return false;
+            }
+
+            KeysetPage<T> page;
+            try {
+                if (prefetchedPage != null) {
+                    page = prefetchedPage.get();
+                    prefetchedPage = null;
+                } else {
+                    page = query.executePage(con, resultSetMapper, pageSize, previousPage == null ? null : previousPage.getLastKey());
+                }
+            } catch (SQLException e) {
+                exhausted = true;
+                throw new UncheckedSQLException(e);
+            } catch (ExecutionException e) {
+                exhausted = true;
+                if (e.getCause() instanceof SQLException sqlException) {
+                    throw new UncheckedSQLException(sqlException);
+                }
+                throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while reading the next page", e);
+            }
+
+            if (page.getRows().isEmpty()) {
+                exhausted = true;
+                return false;
+            }
+            nextPage = page;
+            return true;
+        }
+
+        @Override
+        public KeysetPage<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            KeysetPage<T> page = nextPage;
+            nextPage = null;
+            previousPage = page;
+            if (prefetch && !page.isLast()) {
+                prefetchedPage = AsyncExecution.start(con, AsyncExecution.VIRTUAL_THREAD_EXECUTOR,
+                        asyncCon -> query.executePage(asyncCon, resultSetMapper, pageSize, page.getLastKey()));
+            }
+            return page;
+        }
+    }
+
+    private static class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final PreparedStatement stmt;
+        private final ResultSet rs;
+        private final ResultSetMapper<T> resultSetMapper;
+        private boolean exhausted;
+
+        private ResultSetSpliterator(PreparedStatement stmt, ResultSet rs, ResultSetMapper<T> resultSetMapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.stmt = stmt;
+            this.rs = rs;
+            this.resultSetMapper = resultSetMapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (exhausted) {
+                return false;
+            }
+            try {
+                if (!rs.next()) {
+                    exhausted = true;
+                    stmt.close();
+                    return false;
+                }
+                action.accept(resultSetMapper.map(rs));
+                return true;
+            } catch (SQLException e) {
+                exhausted = true;
+                try {
+                    stmt.close();
+                } catch (SQLException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw new UncheckedSQLException(e);
+            }
+        }
+
+        private void close() {
+            try {
+                // Closing the statement also closes its result set, and closing an already closed statement is a no-op
+                stmt.close();
+            } catch (SQLException e) {
+                throw new UncheckedSQLException(e);
+            }
         }
     }
 }
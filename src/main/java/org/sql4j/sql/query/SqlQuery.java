@@ -59,4 +59,12 @@ public class SqlQuery {
     public static UpdateQuery update(@NonNull Table table) {
         return new UpdateQuery(table);
     }
+
+    /**
+     * @param table a table to upsert rows into
+     * @return an {@link UpsertQuery} with the given {@code table} e.g. {@code MERGE INTO table ...}
+     */
+    public static UpsertQuery upsert(@NonNull Table table) {
+        return new UpsertQuery(table);
+    }
 }
@@ -0,0 +1,355 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import lombok.NonNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Class used to cache {@link PreparedStatement}s of a {@link java.sql.Connection}, so that executing the same sql
+ * statement many times doesn't make the driver (and the database) parse and prepare it every time.
+ * <p>
+ * The cache is opt-in: queries use it when they are executed with the connection returned by {@link #getConnection()}
+ * e.g.
+ * <blockquote><pre>
+ *     StatementCache cache = StatementCache.forConnection(connection, 100);
+ *     List{@code <String>} results =
+ *             SqlQuery.select(COL_1)
+ *                     .from(TABLE_1)
+ *                     .execute(cache.getConnection(), rs -> rs.getString(COL_1.getName()));
+ * </pre></blockquote>
+ * Prepared statements are cached by their sql (and other arguments of {@code prepareStatement}). Closing a statement
+ * prepared via {@link #getConnection()} returns it to the cache, from where it's reused by the next
+ * {@code prepareStatement} call with the same arguments. A cached statement is used by only one caller at a time, so
+ * the cache is safe to use concurrently, and the least recently used statements are closed when there are more than
+ * {@code maxSize} statements in the cache.
+ */
+
+public class StatementCache implements AutoCloseable {
+    private final Connection con;
+    private final Connection cachingCon;
+    private final int maxSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * Idle statements in the order of their last use, the least recently used first
+     */
+    private final LinkedHashMap<List<Object>, PreparedStatement> statements = new LinkedHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private boolean closed;
+
+    private StatementCache(Connection con, int maxSize) {
+        this.con = con;
+        this.maxSize = maxSize;
+        this.cachingCon = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler());
+    }
+
+    /**
+     * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+     * @param maxSize maximum number of idle prepared statements kept in the cache
+     * @return a StatementCache for the given {@code con}
+     */
+    public static StatementCache forConnection(@NonNull Connection con, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive but is " + maxSize);
+        }
+        return new StatementCache(con, maxSize);
+    }
+
+    /**
+     * @return a {@link java.sql.Connection} that delegates to the cached connection, but prepares statements via this
+     * cache. Closing it closes this cache and the cached connection.
+     */
+    public Connection getConnection() {
+        return cachingCon;
+    }
+
+    /**
+     * @return number of times a prepared statement was reused from the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of times a statement had to be prepared because it wasn't in the cache
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of prepared statements closed because there were more than {@code maxSize} statements in the cache
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return number of idle prepared statements in the cache
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return statements.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes all the cached statements, statements that are in use are closed when their users close them. The cached
+     * connection isn't closed.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    public void close() throws SQLException {
+        List<PreparedStatement> idleStatements;
+        lock.lock();
+        try {
+            closed = true;
+            idleStatements = new ArrayList<>(statements.values());
+            statements.clear();
+        } finally {
+            lock.unlock();
+        }
+        closeAll(idleStatements);
+    }
+
+    private PreparedStatement prepare(List<Object> key, Method method, Object[] args) throws Throwable {
+        PreparedStatement stmt = null;
+        lock.lock();
+        try {
+            if (!closed) {
+                stmt = statements.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (stmt != null && !stmt.isClosed()) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            stmt = (PreparedStatement) Utils.invoke(con, method, args);
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, new StatementHandler(key, stmt));
+    }
+
+    private void release(List<Object> key, PreparedStatement stmt) throws SQLException {
+        List<PreparedStatement> statementsToClose = new ArrayList<>(1);
+        lock.lock();
+        try {
+            if (closed || statements.containsKey(key)) {
+                // Another statement with the same key was returned meanwhile, only one of them is cached
+                statementsToClose.add(stmt);
+            } else {
+                statements.put(key, stmt);
+                Iterator<PreparedStatement> leastRecentlyUsed = statements.values().iterator();
+                while (statements.size() > maxSize) {
+                    statementsToClose.add(leastRecentlyUsed.next());
+                    leastRecentlyUsed.remove();
+                    evictions.incrementAndGet();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Statements are closed outside the lock as it may need a round trip to the database
+        closeAll(statementsToClose);
+    }
+
+    private static void closeAll(List<PreparedStatement> statements) throws SQLException {
+        SQLException exception = null;
+        for (PreparedStatement stmt : statements) {
+            try {
+                stmt.close();
+            } catch (SQLException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * @return a key made of the arguments of a {@code prepareStatement} call, with arrays (of column indexes or names)
+     * converted to lists so that the keys can be compared by value
+     */
+    private static List<Object> key(Object[] args) {
+        List<Object> key = new ArrayList<>(args.length);
+        for (Object arg : args) {
+            if (arg instanceof int[] ints) {
+                List<Integer> indexes = new ArrayList<>(ints.length);
+                for (int i : ints) {
+                    indexes.add(i);
+                }
+                key.add(indexes);
+            } else if (arg instanceof Object[] objects) {
+                key.add(Arrays.asList(objects));
+            } else {
+                key.add(arg);
+            }
+        }
+        return key;
+    }
+
+    private class ConnectionHandler implements Utils.ConnectionWrapper {
+
+        @Override
+        public Connection wrapped() {
+            return con;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "prepareStatement" -> prepare(key(args), method, args);
+                case "close" -> {
+                    try {
+                        StatementCache.this.close();
+                    } finally {
+                        try {
+                            con.close();
+                        } finally {
+                            ResultCache.transactionEnded((Connection) proxy);
+                        }
+                    }
+                    yield null;
+                }
+                case "commit", "setAutoCommit", "rollback" -> {
+                    Object result = Utils.invoke(con, method, args);
+                    // Committing (also by enabling auto-commit) or rolling back (but not to a savepoint) ends the transaction
+                    if (method.getName().equals("commit") || (args == null && method.getName().equals("rollback"))
+                            || (method.getName().equals("setAutoCommit") && (boolean) args[0])) {
+                        ResultCache.transactionEnded((Connection) proxy);
+                    }
+                    yield result;
+                }
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> "StatementCache connection of " + con;
+                default -> Utils.invoke(con, method, args);
+            };
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final List<Object> key;
+        private final PreparedStatement stmt;
+        private final List<ResultSet> resultSets = new ArrayList<>(1);
+        private final int fetchSize;
+        private final int maxRows;
+        private final int queryTimeout;
+        private boolean closed;
+
+        private StatementHandler(List<Object> key, PreparedStatement stmt) throws SQLException {
+            this.key = key;
+            this.stmt = stmt;
+            this.fetchSize = stmt.getFetchSize();
+            this.maxRows = stmt.getMaxRows();
+            this.queryTimeout = stmt.getQueryTimeout();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || stmt.isClosed();
+                case "getConnection":
+                    return cachingCon;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "StatementCache statement of " + stmt;
+                default:
+                    if (closed) {
+                        throw new SQLException("statement is closed");
+                    }
+                    Object result = Utils.invoke(stmt, method, args);
+                    if (result instanceof ResultSet rs) {
+                        resultSets.add(rs);
+                    }
+                    return result;
+            }
+        }
+
+        private void release() throws SQLException {
+            try {
+                // Reset the statement, as it would be if it was freshly prepared, before caching it
+                for (ResultSet rs : resultSets) {
+                    rs.close();
+                }
+                stmt.clearParameters();
+                stmt.clearBatch();
+                stmt.clearWarnings();
+                if (stmt.getFetchSize() != fetchSize) {
+                    stmt.setFetchSize(fetchSize);
+                }
+                if (stmt.getMaxRows() != maxRows) {
+                    stmt.setMaxRows(maxRows);
+                }
+                if (stmt.getQueryTimeout() != queryTimeout) {
+                    stmt.setQueryTimeout(queryTimeout);
+                }
+            } catch (SQLException e) {
+                try {
+                    stmt.close();
+                } catch (SQLException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+            StatementCache.this.release(key, stmt);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import lombok.NonNull;
+
+import java.sql.SQLException;
+
+/**
+ * Unchecked exception wrapping a {@link SQLException} that occurs where a checked exception can't be thrown e.g. while
+ * consuming a {@link java.util.stream.Stream} of results
+ */
+
+public class UncheckedSQLException extends RuntimeException {
+
+    /**
+     * @param cause the {@link SQLException} to be wrapped
+     */
+    public UncheckedSQLException(@NonNull SQLException cause) {
+        super(cause);
+    }
+
+    /**
+     * @return the wrapped {@link SQLException}
+     */
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
@@ -23,13 +23,17 @@ package org.sql4j.sql.query;
 import lombok.NonNull;
 
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Class used to build and execute sql {@code UPDATE} queries
@@ -39,6 +43,7 @@ public class UpdateQuery {
     private final Context context = new Context();
 
     UpdateQuery(@NonNull Table table) {
+        context.table = table.getName();
         context.sqlBuilder.append("UPDATE\n    ")
                 .append(table.getName())
                 .append("\n");
@@ -51,19 +56,94 @@ public class UpdateQuery {
      */
     public ConditionableUpdateQuery set(@NonNull ColumnValue colValue, @NonNull ColumnValue... colValues) {
         Utils.requireNonNulls(colValues);
-        context.sqlBuilder.append("SET\n    ")
-                .append(Stream.concat(Stream.of(colValue), Arrays.stream(colValues))
-                        .map(cv -> cv.getName() + " = ?")
-                        .collect(Collectors.joining(",\n    ")))
-                .append("\n");
-        context.setParams.addAll(Stream.concat(Stream.of(colValue), Arrays.stream(colValues)).toList());
+        StringBuilder sqlBuilder = context.sqlBuilder.append("SET\n    ")
+                .append(colValue.getName()).append(" = ?");
+        for (ColumnValue cv : colValues) {
+            sqlBuilder.append(",\n    ").append(cv.getName()).append(" = ?");
+        }
+        sqlBuilder.append("\n");
+        context.setParams.add(colValue);
+        Collections.addAll(context.setParams, colValues);
         return new ConditionableUpdateQuery(context);
     }
 
     private static class Context {
-        private final StringBuilder sqlBuilder = new StringBuilder();
-        private final List<ColumnValue> setParams = new ArrayList<>();
-        private final List<Object> filterParams = new ArrayList<>();
+        private final StringBuilder sqlBuilder;
+        private final List<ColumnValue> setParams;
+        private final List<Object> filterParams;
+        /**
+         * The SQL types of the filter params as defined in {@link java.sql.Types}, {@link java.sql.Types#NULL} if not known
+         */
+        private final List<Integer> filterSqlTypes;
+        private String sql;
+        private Filter.Position filterPosition;
+        private ParamBinder[] paramBinders;
+        /**
+         * The name of the table to update rows of
+         */
+        private String table;
+
+        private Context() {
+            this.sqlBuilder = new StringBuilder(Utils.SQL_BUILDER_CAPACITY);
+            this.setParams = new ArrayList<>();
+            this.filterParams = new ArrayList<>();
+            this.filterSqlTypes = new ArrayList<>();
+        }
+
+        private Context(String table, String sql, List<ColumnValue> setParams, List<Object> filterParams,
+                        List<Integer> filterSqlTypes, Filter.Position filterPosition) {
+            this(table, sql, setParams, filterParams, filterSqlTypes, filterPosition, null);
+        }
+
+        private Context(String table, String sql, List<ColumnValue> setParams, List<Object> filterParams,
+                        List<Integer> filterSqlTypes, Filter.Position filterPosition, ParamBinder[] paramBinders) {
+            this.table = table;
+            this.sqlBuilder = null;
+            this.setParams = setParams;
+            this.filterParams = filterParams;
+            this.filterSqlTypes = filterSqlTypes;
+            this.sql = sql;
+            this.filterPosition = filterPosition;
+            this.paramBinders = paramBinders;
+        }
+
+        private String sql() {
+            // sqlBuilder is append-only, so the cached sql is stale only if its length differs from sqlBuilder's length
+            if (sqlBuilder != null && (sql == null || sql.length() != sqlBuilder.length())) {
+                sql = sqlBuilder.toString();
+            }
+            return sql;
+        }
+
+        private List<Object> params() {
+            List<Object> params = new ArrayList<>(setParams.size() + filterParams.size());
+            for (ColumnValue colValue : setParams) {
+                params.add(colValue.getValue());
+            }
+            params.addAll(filterParams);
+            return Collections.unmodifiableList(params);
+        }
+
+        /**
+         * @return binders for the params (the values of {@code SET} clause followed by the values of {@code WHERE} clause)
+         * chosen from their SQL types or else from the classes of the given values
+         */
+        private ParamBinder[] paramBinders(List<Object> values) {
+            List<Integer> sqlTypes = new ArrayList<>(setParams.size() + filterSqlTypes.size());
+            for (ColumnValue colValue : setParams) {
+                sqlTypes.add(colValue.getSqlType());
+            }
+            sqlTypes.addAll(filterSqlTypes);
+            return ParamBinder.forParams(values, sqlTypes);
+        }
+
+        private ParamBinder[] paramBinders() {
+            // params are append-only, so the cached binders are stale only if their number differs from the params'
+            if (paramBinders == null || paramBinders.length != setParams.size() + filterParams.size()) {
+                paramBinders = paramBinders(params());
+            }
+            return paramBinders;
+        }
     }
 
     /**
@@ -80,10 +160,12 @@ public class UpdateQuery {
          * @return an {@link ExecutableUpdateQuery} that is ready for execution
          */
         public ExecutableUpdateQuery where(@NonNull Filter filter) {
-            context.sqlBuilder.append("WHERE\n    ")
-                    .append(filter.getCondition())
-                    .append("\n");
-            context.filterParams.addAll(filter.getParams());
+            StringBuilder sqlBuilder = context.sqlBuilder.append("WHERE\n    ");
+            int sqlStart = sqlBuilder.length();
+            int paramsStart = context.filterParams.size();
+            filter.appendTo(sqlBuilder, context.filterParams, context.filterSqlTypes);
+            context.filterPosition = new Filter.Position(filter, sqlStart, sqlBuilder.length(), paramsStart);
+            sqlBuilder.append("\n");
             return this;
         }
     }
@@ -105,36 +187,459 @@ public class UpdateQuery {
          */
         public int execute(Connection con) throws SQLException {
             try (PreparedStatement stmt = con.prepareStatement(sql())) {
-                for (int i = 0; i < context.setParams.size(); ++i) {
-                    ColumnValue colValue = context.setParams.get(i);
+                setParams(stmt);
 
-                    if (colValue.getValue() != null) {
-                        stmt.setObject(i + 1, colValue.getValue());
-                    } else {
-                        stmt.setNull(i + 1, colValue.getSqlType());
+                return stmt.executeUpdate();
+            } finally {
+                ResultCache.invalidateAll(con, context.table);
+            }
+        }
+
+        /**
+         * Same as {@link #execute(Connection)}, but returns the updated rows (as they are after the update) instead of
+         * their number, e.g. to publish the changes without selecting the rows again.
+         * <p>
+         * On H2 the rows are returned by the update itself, via {@code SELECT * FROM FINAL TABLE (UPDATE ...)}. On other
+         * databases the primary keys of the rows to update are selected via
+         * {@code SELECT <primary key> FROM table WHERE ... FOR UPDATE} with the same {@code WHERE} clause, which locks
+         * the rows until they are updated, and the updated rows are selected by their keys after the update, in the
+         * same transaction (a new one if auto-commit is enabled). So the updated rows are returned also if the update
+         * changes the columns of the condition, but the table must have a primary key that isn't changed by the update.
+         * Note that some databases (e.g. SQL Server) don't support {@code FOR UPDATE}.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param <T> a java class type to represent an updated row
+         * @return a list of objects of type {@code <T>} representing the updated rows
+         * @throws SQLException if a database access error occurs
+         * @throws UnsupportedOperationException if the rows can't be selected by key, i.e. the database has no data
+         * change delta tables and the table has no primary key or the update changes it
+         */
+        public <T> List<T> executeReturning(Connection con, @NonNull ResultSetMapper<T> resultSetMapper) throws SQLException {
+            List<T> rows = new ArrayList<>();
+
+            try {
+                String changedRowsSql = Dialect.of(con).changedRowsSql(sql(), false);
+                if (changedRowsSql != null) {
+                    try (PreparedStatement stmt = con.prepareStatement(changedRowsSql)) {
+                        setParams(stmt);
+
+                        ResultSet rs = stmt.executeQuery();
+                        while (rs.next()) {
+                            rows.add(resultSetMapper.map(rs));
+                        }
                     }
-                }
+                } else {
+                    List<String> keyColumns = primaryKeyColumns(con);
+                    Utils.inTransaction(con, () -> {
+                        // The rows are selected by key after the update, as it may change the columns of the condition
+                        List<Object[]> keys = new ArrayList<>();
+                        try (PreparedStatement stmt = con.prepareStatement(selectSql(String.join(",\n    ", keyColumns)) + "FOR UPDATE\n")) {
+                            setFilterParams(stmt);
 
-                for (int i = 0; i < context.filterParams.size(); ++i) {
-                    stmt.setObject(context.setParams.size() + i + 1, context.filterParams.get(i));
+                            ResultSet rs = stmt.executeQuery();
+                            while (rs.next()) {
+                                Object[] key = new Object[keyColumns.size()];
+                                for (int i = 0; i < key.length; ++i) {
+                                    key[i] = rs.getObject(i + 1);
+                                }
+                                keys.add(key);
+                            }
+                        }
+                        try (PreparedStatement stmt = con.prepareStatement(sql())) {
+                            setParams(stmt);
+
+                            stmt.executeUpdate();
+                        }
+                        selectByKeys(con, keyColumns, keys, resultSetMapper, rows);
+                    });
                 }
+            } finally {
+                ResultCache.invalidateAll(con, context.table);
+            }
 
-                return stmt.executeUpdate();
+            return rows;
+        }
+
+        /**
+         * Same as {@link #executeAsync(Connection, Executor)} executing the query on a new virtual thread.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @return a future of the number of updated rows in the table
+         */
+        public CompletableFuture<Integer> executeAsync(Connection con) {
+            return executeAsync(con, AsyncExecution.VIRTUAL_THREAD_EXECUTOR);
+        }
+
+        /**
+         * Executes the query asynchronously on the given executor, as {@link #execute(Connection)} does.
+         * <p>
+         * The given connection is used by the execution until the returned future completes, so it must not be used by
+         * the caller (or by other executions) meanwhile, as JDBC connections aren't meant to be used concurrently: use a
+         * separate connection for each of the queries executed concurrently. Cancelling the returned future cancels the
+         * statement being executed via {@link java.sql.Statement#cancel()}.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param executor an executor to execute the query on
+         * @return a future of the number of updated rows in the table
+         */
+        public CompletableFuture<Integer> executeAsync(@NonNull Connection con, @NonNull Executor executor) {
+            return AsyncExecution.start(con, executor, this::execute);
+        }
+
+        /**
+         * Same as {@link #executeInChunks(List, int)} with a single connection, i.e. the chunks are executed sequentially.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param chunkSize maximum number of values of the IN list used in one execution of the query
+         * @return number of updated rows in the table
+         * @throws SQLException if a database access error occurs
+         */
+        public int executeInChunks(Connection con, int chunkSize) throws SQLException {
+            return executeInChunks(List.of(con), chunkSize);
+        }
+
+        /**
+         * Executes the query once for each chunk of at most {@code chunkSize} values of its largest IN list (created via
+         * {@link Column#in}), so that queries with a very large IN list don't exceed the limits of the driver or the
+         * database on the number of params in a statement.
+         * <p>
+         * An IN list is split into chunks only if it's the whole {@code WHERE} condition or one of the operands of a chain
+         * of {@code AND}s (without any {@code OR}), otherwise (or if it has at most {@code chunkSize} values) the query is
+         * executed as a whole via {@link #execute}.
+         * <p>
+         * If more than one connection is given, the chunks are executed in parallel, on a virtual thread per connection.
+         * Note that each connection then updates its chunks in its own transaction.
+         *
+         * @param cons {@link java.sql.Connection} objects that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param chunkSize maximum number of values of the IN list used in one execution of the query
+         * @return number of updated rows in the table, summed over all the chunks
+         * @throws SQLException if a database access error occurs
+         */
+        public int executeInChunks(@NonNull List<Connection> cons, int chunkSize) throws SQLException {
+            InListChunks chunks = InListChunks.of(sql(), context.filterParams, context.filterSqlTypes, context.filterPosition, chunkSize);
+            if (chunks == null) {
+                return execute(cons.getFirst());
+            }
+
+            int rowCount = 0;
+            for (int chunkRowCount : Utils.executeChunks(cons, chunks.count(), (con, chunk) ->
+                    new ExecutableUpdateQuery(new Context(context.table, chunks.sql(chunk), context.setParams, chunks.params(chunk), chunks.sqlTypes(chunk), null))
+                            .execute(con))) {
+                rowCount += chunkRowCount;
             }
+            return rowCount;
+        }
+
+        /**
+         * Same as {@link #executeBatch(Connection, List, int)} with a batch size of {@code 1000} sets of param values.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param paramValueSets sets of values of all the {@link Param}s used in this query, one set per execution
+         * @return number of updated rows in the table for each of the sets of param values in the given order
+         * @throws SQLException if a database access error occurs
+         */
+        public int[] executeBatch(Connection con, List<ParamValue[]> paramValueSets) throws SQLException {
+            return executeBatch(con, paramValueSets, Utils.DEFAULT_BATCH_SIZE);
+        }
+
+        /**
+         * Executes this query once for each of the given sets of param values via a single
+         * {@link java.sql.PreparedStatement} by adding them to JDBC batches of at most {@code batchSize} sets, so that
+         * each batch is sent to the database in one round trip. The values that differ between the executions are
+         * {@link Param}s of this query, while its other values are the same in all executions, e.g.
+         * <blockquote><pre>
+         *     Param<Integer> col2 = Param.forName("COL_2");
+         *     Param<String> col1 = Param.forName("COL_1");
+         *     SqlQuery.update(TABLE_1)
+         *             .set(COL_2.param(col2))
+         *             .where(COL_1.equalTo(col1))
+         *             .executeBatch(connection, List.of(
+         *                     new ParamValue[] {col2.value(1), col1.value("test1")},
+         *                     new ParamValue[] {col2.value(2), col1.value("test2")}));
+         * </pre></blockquote>
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param paramValueSets sets of values of all the {@link Param}s used in this query, one set per execution
+         * @param batchSize maximum number of sets of param values sent to the database in one batch
+         * @return number of updated rows in the table for each of the sets of param values in the given order, as reported
+         * by the driver (which may be {@link java.sql.Statement#SUCCESS_NO_INFO})
+         * @throws SQLException if a database access error occurs
+         * @throws IllegalArgumentException if a set has no value for a param of this query
+         */
+        public int[] executeBatch(Connection con, @NonNull List<ParamValue[]> paramValueSets, int batchSize) throws SQLException {
+            Utils.requirePositiveBatchSize(batchSize);
+            List<Object> values = context.params();
+            for (ParamValue[] paramValues : paramValueSets) {
+                Utils.requireParamValues(values, paramValues);
+            }
+
+            // Binders are chosen from the SQL types of the params or else from the classes of the values of the first set
+            ParamBinder[] paramBinders = paramValueSets.isEmpty() ? context.paramBinders() : context.paramBinders(Utils.bindParams(context.params(), paramValueSets.getFirst()));
+            try (PreparedStatement stmt = con.prepareStatement(sql())) {
+                return Utils.executeBatch(stmt, paramValueSets, batchSize, (batchStmt, paramValues) -> setParams(batchStmt, paramValues, paramBinders));
+            } finally {
+                ResultCache.invalidateAll(con, context.table);
+            }
+        }
+
+        /**
+         * Same as {@link #execute(Connection)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @return number of updated rows in the table
+         * @throws SQLException if a database access error occurs
+         */
+        public int execute(@NonNull ConnectionProvider provider) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return execute(con);
+            }
+        }
+
+        /**
+         * Same as {@link #executeReturning(Connection, ResultSetMapper)} with a connection got from the given provider,
+         * which is closed (e.g. returned to its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param resultSetMapper a {@link ResultSetMapper} to map a {@link java.sql.ResultSet} to an object of type {@code <T>}
+         * @param <T> a java class type to represent an updated row
+         * @return a list of objects of type {@code <T>} representing the updated rows
+         * @throws SQLException if a database access error occurs
+         */
+        public <T> List<T> executeReturning(@NonNull ConnectionProvider provider, ResultSetMapper<T> resultSetMapper) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeReturning(con, resultSetMapper);
+            }
+        }
+
+        /**
+         * Same as {@link #executeAsync(ConnectionProvider, Executor)} executing the query on a new virtual thread.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @return a future of the number of updated rows in the table
+         */
+        public CompletableFuture<Integer> executeAsync(ConnectionProvider provider) {
+            return executeAsync(provider, AsyncExecution.VIRTUAL_THREAD_EXECUTOR);
+        }
+
+        /**
+         * Same as {@link #executeAsync(Connection, Executor)} with a connection got from the given provider when the
+         * execution starts, which is closed (e.g. returned to its pool) when it ends.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param executor an executor to execute the query on
+         * @return a future of the number of updated rows in the table
+         */
+        public CompletableFuture<Integer> executeAsync(@NonNull ConnectionProvider provider, @NonNull Executor executor) {
+            return AsyncExecution.start(provider, executor, this::execute);
+        }
+
+        /**
+         * Same as {@link #executeInChunks(List, int)} with {@code parallelism} connections got from the given provider,
+         * which are closed (e.g. returned to their pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connections from
+         * @param parallelism number of connections executing the chunks in parallel
+         * @param chunkSize maximum number of values of the IN list used in one execution of the query
+         * @return number of updated rows in the table, summed over all the chunks
+         * @throws SQLException if a database access error occurs
+         */
+        public int executeInChunks(@NonNull ConnectionProvider provider, int parallelism, int chunkSize) throws SQLException {
+            return Utils.withConnections(provider, parallelism, cons -> executeInChunks(cons, chunkSize));
+        }
+
+        /**
+         * Same as {@link #executeBatch(Connection, List)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param paramValueSets sets of values of all the {@link Param}s used in this query, one set per execution
+         * @return number of updated rows in the table for each of the sets of param values in the given order
+         * @throws SQLException if a database access error occurs
+         */
+        public int[] executeBatch(@NonNull ConnectionProvider provider, List<ParamValue[]> paramValueSets) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeBatch(con, paramValueSets);
+            }
+        }
+
+        /**
+         * Same as {@link #executeBatch(Connection, List, int)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param paramValueSets sets of values of all the {@link Param}s used in this query, one set per execution
+         * @param batchSize maximum number of sets of param values sent to the database in one batch
+         * @return number of updated rows in the table for each of the sets of param values in the given order
+         * @throws SQLException if a database access error occurs
+         */
+        public int[] executeBatch(@NonNull ConnectionProvider provider, List<ParamValue[]> paramValueSets, int batchSize) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return executeBatch(con, paramValueSets, batchSize);
+            }
+        }
+
+        /**
+         * Binds values to the {@link Param}s used in this query. The sql statement of this query is built only once and
+         * shared with the returned query, so a query built with params can be kept as an immutable template and executed
+         * many times (also concurrently) with different values.
+         *
+         * @param paramValues values of all the {@link Param}s used in this query
+         * @return a copy of this query, with the given values bound to its params, that is ready for execution
+         */
+        public ExecutableUpdateQuery bind(@NonNull ParamValue... paramValues) {
+            return new ExecutableUpdateQuery(new Context(context.table, context.sql(),
+                    Utils.bindColumnValues(context.setParams, paramValues),
+                    Utils.bindParams(context.filterParams, paramValues),
+                    context.filterSqlTypes,
+                    context.filterPosition,
+                    context.paramBinders()));
         }
 
         /**
          * @return the sql statement used to execute the sql query, callers may want to log it for debugging/information
          */
         public String sql() {
-            return context.sqlBuilder.toString();
+            return context.sql();
         }
 
         /**
          * @return the values of parameters used in sql statement, callers may want to log it for debugging/information
          */
         public List<Object> params() {
-            return Stream.concat(context.setParams.stream().map(ColumnValue::getValue), context.filterParams.stream()).toList();
+            return context.params();
+        }
+
+        private void setParams(PreparedStatement stmt) throws SQLException {
+            ParamBinder[] paramBinders = context.paramBinders();
+            int setParamCount = context.setParams.size();
+            for (int i = 0; i < setParamCount; ++i) {
+                // null values are bound as nulls of the column's sql type
+                paramBinders[i].bind(stmt, i + 1, Utils.requireBound(context.setParams.get(i).getValue()));
+            }
+
+            for (int i = 0; i < context.filterParams.size(); ++i) {
+                paramBinders[setParamCount + i].bind(stmt, setParamCount + i + 1, Utils.requireBound(context.filterParams.get(i)));
+            }
+        }
+
+        /**
+         * @return the {@code SELECT} query of the rows of the table that satisfy the condition of this query
+         */
+        private String selectSql(String columns) {
+            String sql = "SELECT\n    " + columns + "\nFROM\n    " + context.table + "\n";
+            Filter.Position position = context.filterPosition;
+            return position == null ? sql : sql + "WHERE\n    " + sql().substring(position.sqlStart(), position.sqlEnd()) + "\n";
+        }
+
+        /**
+         * @return the names of the primary key columns of the table, read from the metadata of the given connection's
+         * database
+         * @throws UnsupportedOperationException if the table has no primary key, or this query updates its columns
+         */
+        private List<String> primaryKeyColumns(Connection con) throws SQLException {
+            int schemaEnd = context.table.lastIndexOf('.');
+            String schema = schemaEnd < 0 ? null : context.table.substring(0, schemaEnd);
+            String table = context.table.substring(schemaEnd + 1);
+            DatabaseMetaData metaData = con.getMetaData();
+            TreeMap<Short, String> keyColumns = new TreeMap<>();
+            // Names are looked up as they are given, and as unquoted names are stored by databases (in upper case e.g. by
+            // H2 and Oracle, or in lower case e.g. by PostgreSQL)
+            for (int i = 0; i < 3 && keyColumns.isEmpty(); ++i) {
+                try (ResultSet rs = metaData.getPrimaryKeys(con.getCatalog(), identifierCase(schema, i), identifierCase(table, i))) {
+                    while (rs.next()) {
+                        keyColumns.put(rs.getShort("KEY_SEQ"), rs.getString("COLUMN_NAME"));
+                    }
+                }
+            }
+            if (keyColumns.isEmpty()) {
+                throw new UnsupportedOperationException("updated rows can't be returned on " + metaData.getDatabaseProductName()
+                        + " as table " + context.table + " has no primary key");
+            }
+            for (ColumnValue colValue : context.setParams) {
+                String column = colValue.getName().substring(colValue.getName().lastIndexOf('.') + 1);
+                for (String keyColumn : keyColumns.values()) {
+                    if (keyColumn.equalsIgnoreCase(column)) {
+                        throw new UnsupportedOperationException("updated rows can't be returned on " + metaData.getDatabaseProductName()
+                                + " as the update changes the primary key of table " + context.table);
+                    }
+                }
+            }
+            return List.copyOf(keyColumns.values());
+        }
+
+        private static String identifierCase(String identifier, int i) {
+            if (identifier == null || i == 0) {
+                return identifier;
+            }
+            return i == 1 ? identifier.toUpperCase(Locale.ROOT) : identifier.toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * Adds the rows with the given primary keys, selected in chunks of at most {@code 1000} params, to the given rows
+         */
+        private <T> void selectByKeys(Connection con, List<String> keyColumns, List<Object[]> keys,
+                                      ResultSetMapper<T> resultSetMapper, List<T> rows) throws SQLException {
+            int chunkSize = Math.max(1, Utils.DEFAULT_BATCH_SIZE / keyColumns.size());
+            for (int start = 0; start < keys.size(); start += chunkSize) {
+                List<Object[]> chunk = keys.subList(start, Math.min(start + chunkSize, keys.size()));
+                StringBuilder sqlBuilder = new StringBuilder(Utils.SQL_BUILDER_CAPACITY)
+                        .append("SELECT\n    *\nFROM\n    ")
+                        .append(context.table)
+                        .append("\nWHERE\n    ");
+                if (keyColumns.size() == 1) {
+                    sqlBuilder.append(keyColumns.getFirst()).append(" IN (");
+                    for (int i = 0; i < chunk.size(); ++i) {
+                        sqlBuilder.append(i > 0 ? ", ?" : "?");
+                    }
+                    sqlBuilder.append(')');
+                } else {
+                    for (int i = 0; i < chunk.size(); ++i) {
+                        sqlBuilder.append(i > 0 ? "\n    OR (" : "(");
+                        for (int j = 0; j < keyColumns.size(); ++j) {
+                            sqlBuilder.append(j > 0 ? " AND " : "").append(keyColumns.get(j)).append(" = ?");
+                        }
+                        sqlBuilder.append(')');
+                    }
+                }
+                try (PreparedStatement stmt = con.prepareStatement(sqlBuilder.append("\n").toString())) {
+                    int parameterIndex = 1;
+                    for (Object[] key : chunk) {
+                        for (Object value : key) {
+                            stmt.setObject(parameterIndex++, value);
+                        }
+                    }
+
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        rows.add(resultSetMapper.map(rs));
+                    }
+                }
+            }
+        }
+
+        /**
+         * Binds the values of {@code WHERE} clause of this query to the params of the given statement, e.g. of
+         * {@link #selectSql(String)}
+         */
+        private void setFilterParams(PreparedStatement stmt) throws SQLException {
+            ParamBinder[] paramBinders = context.paramBinders();
+            int setParamCount = context.setParams.size();
+            for (int i = 0; i < context.filterParams.size(); ++i) {
+                paramBinders[setParamCount + i].bind(stmt, i + 1, Utils.requireBound(context.filterParams.get(i)));
+            }
+        }
+
+        private void setParams(PreparedStatement stmt, ParamValue[] paramValues, ParamBinder[] paramBinders) throws SQLException {
+            int setParamCount = context.setParams.size();
+            for (int i = 0; i < setParamCount; ++i) {
+                paramBinders[i].bind(stmt, i + 1, Utils.bindParam(context.setParams.get(i).getValue(), paramValues));
+            }
+
+            for (int i = 0; i < context.filterParams.size(); ++i) {
+                paramBinders[setParamCount + i].bind(stmt, setParamCount + i + 1, Utils.bindParam(context.filterParams.get(i), paramValues));
+            }
         }
     }
 }
@@ -0,0 +1,362 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import lombok.NonNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Class used to build and execute sql upsert queries, which insert a row or update it if a row with the same key is
+ * already in the table, in a single atomic statement. The statement is rendered in the dialect of the database at
+ * execution time:
+ * <ul>
+ *     <li>H2: {@code MERGE INTO table (columns) KEY (keyColumns) VALUES (...)}</li>
+ *     <li>MySQL: {@code INSERT INTO table (columns) VALUES (...) AS NEW ON DUPLICATE KEY UPDATE column = NEW.column},
+ *     which requires MySQL 8.0.19 or later, and MariaDB: {@code INSERT INTO table (columns) VALUES (...) ON DUPLICATE
+ *     KEY UPDATE column = VALUES(column)}, where the key is any primary key or unique index of the table, as they
+ *     don't support choosing the key</li>
+ *     <li>other databases: {@code MERGE INTO table USING (VALUES (...)) AS SOURCE (columns) ON ... WHEN MATCHED THEN
+ *     UPDATE ... WHEN NOT MATCHED THEN INSERT ...} of standard sql</li>
+ * </ul>
+ */
+
+public class UpsertQuery {
+    private final String table;
+
+    UpsertQuery(@NonNull Table table) {
+        this.table = table.getName();
+    }
+
+    /**
+     * @param column a column identifying the rows that are already in the table
+     * @param columns other columns identifying the rows that are already in the table
+     * @return a {@link ValuableUpsertQuery} with the given key columns e.g. {@code MERGE INTO table ... KEY (column, <columns separated by comma>) ...}
+     */
+    public ValuableUpsertQuery key(@NonNull Column<?> column, @NonNull Column<?>... columns) {
+        Utils.requireNonNulls(columns);
+        List<String> keyColumns = new ArrayList<>(columns.length + 1);
+        keyColumns.add(column.getName());
+        for (Column<?> c : columns) {
+            keyColumns.add(c.getName());
+        }
+        return new ValuableUpsertQuery(table, Collections.unmodifiableList(keyColumns));
+    }
+
+    private static class Context {
+        private final String table;
+        private final List<String> keyColumns;
+        private final List<String> columns;
+        private final List<ColumnValue> valueParams;
+        /**
+         * The sql statements in each of the dialects, indexed by {@link Dialect#ordinal()}, created when the query is
+         * first executed on a database of the dialect and shared with the bound copies of the query
+         */
+        private final String[] sqls;
+        private ParamBinder[] paramBinders;
+
+        private Context(String table, List<String> keyColumns, List<String> columns, List<ColumnValue> valueParams, String[] sqls) {
+            this(table, keyColumns, columns, valueParams, sqls, null);
+        }
+
+        private Context(String table, List<String> keyColumns, List<String> columns, List<ColumnValue> valueParams, String[] sqls,
+                        ParamBinder[] paramBinders) {
+            this.table = table;
+            this.keyColumns = keyColumns;
+            this.columns = columns;
+            this.valueParams = valueParams;
+            this.sqls = sqls;
+            this.paramBinders = paramBinders;
+        }
+
+        private String sql(Dialect dialect) {
+            String sql = sqls[dialect.ordinal()];
+            if (sql == null) {
+                sql = dialect.upsertSql(table, columns, keyColumns);
+                sqls[dialect.ordinal()] = sql;
+            }
+            return sql;
+        }
+
+        private ParamBinder[] paramBinders() {
+            if (paramBinders == null) {
+                paramBinders = ParamBinder.forColumnValues(valueParams);
+            }
+            return paramBinders;
+        }
+    }
+
+    /**
+     * Class to represent an upsert query that can be used to add the values of the upserted rows in the query
+     */
+    public static class ValuableUpsertQuery {
+        private final String table;
+        private final List<String> keyColumns;
+
+        private ValuableUpsertQuery(String table, List<String> keyColumns) {
+            this.table = table;
+            this.keyColumns = keyColumns;
+        }
+
+        /**
+         * @param colValue a {@link ColumnValue} to be upserted
+         * @param colValues other {@link ColumnValue}s to be upserted, all key columns must be among the upserted columns
+         * @return an {@link ExecutableUpsertQuery} that is ready for execution
+         */
+        public ExecutableUpsertQuery values(@NonNull ColumnValue colValue, @NonNull ColumnValue... colValues) {
+            Utils.requireNonNulls(colValues);
+            List<ColumnValue> valueParams = new ArrayList<>(colValues.length + 1);
+            valueParams.add(colValue);
+            Collections.addAll(valueParams, colValues);
+            return new ExecutableUpsertQuery(new Context(table, keyColumns, columnNames(valueParams),
+                    Collections.unmodifiableList(valueParams), new String[Dialect.values().length]));
+        }
+
+        /**
+         * Used to upsert many rows by executing the same upsert statement in JDBC batches, one parameter set per row.
+         *
+         * @param rows rows of {@link ColumnValue}s to be upserted, all rows must have the same columns in the same order
+         *             and all key columns must be among them
+         * @return a {@link BatchUpsertQuery} that is ready for execution
+         */
+        public BatchUpsertQuery values(@NonNull List<List<ColumnValue>> rows) {
+            List<List<ColumnValue>> rowsCopy = Utils.copyRows(rows);
+            List<String> columnNames = columnNames(rowsCopy.getFirst());
+            return new BatchUpsertQuery(new Context(table, keyColumns, columnNames, rowsCopy.getFirst(),
+                    new String[Dialect.values().length]), rowsCopy);
+        }
+
+        private List<String> columnNames(List<ColumnValue> colValues) {
+            List<String> columnNames = Utils.columnNames(colValues);
+            if (!columnNames.containsAll(keyColumns)) {
+                throw new IllegalArgumentException("all key columns " + keyColumns + " must be among the upserted columns " + columnNames);
+            }
+            return columnNames;
+        }
+    }
+
+    /**
+     * Class to represent an upsert query that is ready for execution
+     */
+    public static class ExecutableUpsertQuery {
+        private final Context context;
+
+        private ExecutableUpsertQuery(Context context) {
+            this.context = context;
+        }
+
+        /**
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @return number of upserted rows in the table as reported by the database, e.g. MySQL reports 2 for an updated
+         * row and 0 for a row that is left as it is
+         * @throws SQLException if a database access error occurs
+         */
+        public int execute(Connection con) throws SQLException {
+            try (PreparedStatement stmt = con.prepareStatement(context.sql(Dialect.of(con)))) {
+                setParams(stmt, context.valueParams, context.paramBinders());
+
+                return stmt.executeUpdate();
+            } finally {
+                ResultCache.invalidateAll(con, context.table);
+            }
+        }
+
+        /**
+         * Same as {@link #executeAsync(Connection, Executor)} executing the query on a new virtual thread.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @return a future of the number of upserted rows in the table
+         */
+        public CompletableFuture<Integer> executeAsync(Connection con) {
+            return executeAsync(con, AsyncExecution.VIRTUAL_THREAD_EXECUTOR);
+        }
+
+        /**
+         * Executes the query asynchronously on the given executor, as {@link #execute(Connection)} does.
+         * <p>
+         * The given connection is used by the execution until the returned future completes, so it must not be used by
+         * the caller (or by other executions) meanwhile, as JDBC connections aren't meant to be used concurrently.
+         * Cancelling the returned future cancels the statement being executed via {@link java.sql.Statement#cancel()}.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param executor an executor to execute the query on
+         * @return a future of the number of upserted rows in the table
+         */
+        public CompletableFuture<Integer> executeAsync(@NonNull Connection con, @NonNull Executor executor) {
+            return AsyncExecution.start(con, executor, this::execute);
+        }
+
+        /**
+         * Same as {@link #execute(Connection)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @return number of upserted rows in the table as reported by the database
+         * @throws SQLException if a database access error occurs
+         */
+        public int execute(@NonNull ConnectionProvider provider) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return execute(con);
+            }
+        }
+
+        /**
+         * Binds values to the {@link Param}s used in this query. The sql statements of this query are shared with the
+         * returned query, so a query built with params can be kept as an immutable template and executed many times
+         * (also concurrently) with different values.
+         *
+         * @param paramValues values of all the {@link Param}s used in this query
+         * @return a copy of this query, with the given values bound to its params, that is ready for execution
+         */
+        public ExecutableUpsertQuery bind(@NonNull ParamValue... paramValues) {
+            return new ExecutableUpsertQuery(new Context(context.table, context.keyColumns, context.columns,
+                    Utils.bindColumnValues(context.valueParams, paramValues), context.sqls, context.paramBinders()));
+        }
+
+        /**
+         * @return the sql statement of the query in standard sql, callers may want to log it for debugging/information;
+         * it's rendered in the dialect of the database at execution time, see {@link UpsertQuery}
+         */
+        public String sql() {
+            return context.sql(Dialect.STANDARD);
+        }
+
+        /**
+         * @return the values of parameters used in sql statement, callers may want to log it for debugging/information
+         */
+        public List<Object> params() {
+            List<Object> params = new ArrayList<>(context.valueParams.size());
+            for (ColumnValue colValue : context.valueParams) {
+                params.add(colValue.getValue());
+            }
+            return Collections.unmodifiableList(params);
+        }
+    }
+
+    /**
+     * Class to represent an upsert query of many rows that is ready for execution in JDBC batches
+     */
+    public static class BatchUpsertQuery {
+        private final Context context;
+        private final List<List<ColumnValue>> rows;
+
+        private BatchUpsertQuery(Context context, List<List<ColumnValue>> rows) {
+            this.context = context;
+            this.rows = rows;
+        }
+
+        /**
+         * Same as {@link #execute(Connection, int)} with a batch size of {@code 1000} rows.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @return number of upserted rows in the table for each of the rows in the given order
+         * @throws SQLException if a database access error occurs
+         */
+        public int[] execute(Connection con) throws SQLException {
+            return execute(con, Utils.DEFAULT_BATCH_SIZE);
+        }
+
+        /**
+         * Upserts the rows via a single {@link java.sql.PreparedStatement} by adding them to JDBC batches of at most
+         * {@code batchSize} rows, so that each batch is sent to the database in one round trip.
+         * <p>
+         * Note that some drivers need additional settings to send a batch as one multi-row statement e.g. MySQL requires
+         * {@code rewriteBatchedStatements=true} in the connection url.
+         *
+         * @param con a {@link java.sql.Connection} object that can be created via {@link java.sql.DriverManager#getConnection(String, String, String)}
+         * @param batchSize maximum number of rows sent to the database in one batch
+         * @return number of upserted rows in the table for each of the rows in the given order, as reported by the driver
+         * (which may be {@link java.sql.Statement#SUCCESS_NO_INFO})
+         * @throws SQLException if a database access error occurs
+         */
+        public int[] execute(Connection con, int batchSize) throws SQLException {
+            Utils.requirePositiveBatchSize(batchSize);
+
+            // Binders are chosen from the SQL types of the columns or else from the classes of the values of the first row
+            ParamBinder[] paramBinders = context.paramBinders();
+            try (PreparedStatement stmt = con.prepareStatement(context.sql(Dialect.of(con)))) {
+                return Utils.executeBatch(stmt, rows, batchSize, (batchStmt, row) -> setParams(batchStmt, row, paramBinders));
+            } finally {
+                ResultCache.invalidateAll(con, context.table);
+            }
+        }
+
+        /**
+         * Same as {@link #execute(Connection)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @return number of upserted rows in the table for each of the rows in the given order
+         * @throws SQLException if a database access error occurs
+         */
+        public int[] execute(@NonNull ConnectionProvider provider) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return execute(con);
+            }
+        }
+
+        /**
+         * Same as {@link #execute(Connection, int)} with a connection got from the given provider, which is closed (e.g. returned to
+         * its pool) after the execution.
+         *
+         * @param provider a {@link ConnectionProvider} to get the connection from
+         * @param batchSize maximum number of rows sent to the database in one batch
+         * @return number of upserted rows in the table for each of the rows in the given order
+         * @throws SQLException if a database access error occurs
+         */
+        public int[] execute(@NonNull ConnectionProvider provider, int batchSize) throws SQLException {
+            try (Connection con = provider.getConnection()) {
+                return execute(con, batchSize);
+            }
+        }
+
+        /**
+         * @return the sql statement of the query in standard sql, callers may want to log it for debugging/information;
+         * it's rendered in the dialect of the database at execution time, see {@link UpsertQuery}
+         */
+        public String sql() {
+            return context.sql(Dialect.STANDARD);
+        }
+
+        /**
+         * @return the values of parameters used in sql statement for each of the rows, callers may want to log it for debugging/information
+         */
+        public List<List<Object>> params() {
+            return rows.stream()
+                    .map(row -> row.stream().map(ColumnValue::getValue).toList())
+                    .toList();
+        }
+    }
+
+    private static void setParams(PreparedStatement stmt, List<ColumnValue> colValues, ParamBinder[] paramBinders) throws SQLException {
+        for (int i = 0; i < colValues.size(); ++i) {
+            // null values are bound as nulls of the column's sql type
+            paramBinders[i].bind(stmt, i + 1, Utils.requireBound(colValues.get(i).getValue()));
+        }
+    }
+}
@@ -22,24 +22,417 @@ package org.sql4j.sql.query;
 
 import lombok.NonNull;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 class Utils {
+    static final int DEFAULT_BATCH_SIZE = 1000;
+    /**
+     * Initial capacity of the builders of sql statements, large enough for typical queries to be built without resizing
+     */
+    static final int SQL_BUILDER_CAPACITY = 256;
+    /**
+     * Initial capacity of the arrays that results are read into, which grow by doubling their capacity
+     */
+    static final int INITIAL_RESULTS_CAPACITY = 16;
 
     static void requireNonNulls(@NonNull Object[] objects) {
-        requireNonNulls(Arrays.asList(objects));
+        for (Object obj : objects) {
+            Objects.requireNonNull(obj, "null value is provided where non-null is required");
+        }
     }
 
     static void requireNonNulls(@NonNull Iterable<Object> objects) {
-        objects.forEach(obj -> Objects.requireNonNull(obj, "null value is provided where non-null is required"));
+        for (Object obj : objects) {
+            Objects.requireNonNull(obj, "null value is provided where non-null is required");
+        }
+    }
+
+    /**
+     * @return an unmodifiable copy of the given rows of column values for a batch
+     * @throws IllegalArgumentException if there is no row, the rows have no column values or differ in their columns
+     * @throws NullPointerException if a row or a column value is null
+     */
+    static List<List<ColumnValue>> copyRows(List<List<ColumnValue>> rows) {
+        List<List<ColumnValue>> rowsCopy = new ArrayList<>(rows.size());
+        for (List<ColumnValue> row : rows) {
+            // List.copyOf() also rejects null rows and null column values
+            rowsCopy.add(List.copyOf(row));
+        }
+        if (rowsCopy.isEmpty() || rowsCopy.getFirst().isEmpty()) {
+            throw new IllegalArgumentException("at least one row with at least one column value is required");
+        }
+        List<ColumnValue> firstRow = rowsCopy.getFirst();
+        for (List<ColumnValue> row : rowsCopy) {
+            if (!sameColumns(firstRow, row)) {
+                throw new IllegalArgumentException("all rows must have the columns " + columnNames(firstRow) + " in the same order");
+            }
+        }
+        return Collections.unmodifiableList(rowsCopy);
+    }
+
+    static List<String> columnNames(List<ColumnValue> colValues) {
+        List<String> columnNames = new ArrayList<>(colValues.size());
+        for (ColumnValue colValue : colValues) {
+            columnNames.add(colValue.getName());
+        }
+        return Collections.unmodifiableList(columnNames);
+    }
+
+    private static boolean sameColumns(List<ColumnValue> row, List<ColumnValue> otherRow) {
+        if (row.size() != otherRow.size()) {
+            return false;
+        }
+        for (int i = 0; i < row.size(); ++i) {
+            if (!row.get(i).getName().equals(otherRow.get(i).getName())) {
+                return false;
+            }
+        }
+        return true;
     }
 
     static String enquoteAliasWithSpaces(String alias) {
-        return Optional.ofNullable(alias)
-                .filter(a -> !a.isEmpty())
-                .map(a -> a.contains(" ") ? ("\"" + a + "\"") : a)
-                .orElse(null);
+        if (alias == null || alias.isEmpty()) {
+            return null;
+        }
+        return alias.contains(" ") ? ("\"" + alias + "\"") : alias;
+    }
+
+    /**
+     * @return an unmodifiable list of {@code first} followed by {@code others}
+     */
+    static <T> List<Object> listOf(T first, T[] others) {
+        Object[] objects = new Object[others.length + 1];
+        objects[0] = first;
+        System.arraycopy(others, 0, objects, 1, others.length);
+        return Collections.unmodifiableList(Arrays.asList(objects));
+    }
+
+    /**
+     * Appends {@code name} and, if {@code alias} isn't null, {@code " AS " + alias} to the given sql builder
+     */
+    static void appendNameAndAlias(StringBuilder sqlBuilder, String name, String alias) {
+        sqlBuilder.append(name);
+        if (alias != null) {
+            sqlBuilder.append(" AS ").append(alias);
+        }
+    }
+
+    /**
+     * @return the value bound to the given {@code value} if it's a {@link Param}, otherwise the given {@code value} itself
+     */
+    static Object bindParam(Object value, ParamValue[] paramValues) {
+        if (!(value instanceof Param<?> param)) {
+            return value;
+        }
+        for (ParamValue paramValue : paramValues) {
+            if (paramValue.getParam() == param) {
+                return paramValue.getValue();
+            }
+        }
+        throw new IllegalArgumentException("no value is provided for param " + param);
+    }
+
+    /**
+     * @throws IllegalArgumentException if no value is provided for a {@link Param} among the given values
+     */
+    static void requireParamValues(List<Object> values, ParamValue[] paramValues) {
+        for (Object value : values) {
+            bindParam(value, paramValues);
+        }
+    }
+
+    static List<Object> bindParams(List<Object> params, ParamValue[] paramValues) {
+        List<Object> boundParams = new ArrayList<>(params.size());
+        for (Object param : params) {
+            boundParams.add(bindParam(param, paramValues));
+        }
+        return Collections.unmodifiableList(boundParams);
+    }
+
+    static List<ColumnValue> bindColumnValues(List<ColumnValue> colValues, ParamValue[] paramValues) {
+        List<ColumnValue> boundColValues = new ArrayList<>(colValues.size());
+        for (ColumnValue colValue : colValues) {
+            boundColValues.add(colValue.getValue() instanceof Param<?>
+                    ? new ColumnValue(colValue.getName(), colValue.getSqlType(), bindParam(colValue.getValue(), paramValues))
+                    : colValue);
+        }
+        return Collections.unmodifiableList(boundColValues);
+    }
+
+    static Object requireBound(Object value) {
+        if (value instanceof Param<?> param) {
+            throw new IllegalStateException("no value is bound to param " + param + ", bind() it before execution");
+        }
+        return value;
+    }
+
+    static void requireNullable(boolean nullable, int row) {
+        if (!nullable) {
+            throw new IllegalStateException("null value found in row " + (row + 1) + " of the results, provide a value to be used in place of nulls");
+        }
+    }
+
+    static void requirePositiveBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive but is " + batchSize);
+        }
+    }
+
+    /**
+     * @param sql the sql statement of a query
+     * @param position the position of the query's filter in its sql statement, null if there is no filter
+     * @param whereStart the position in the sql statement where the {@code WHERE} clause starts (or would start)
+     * @param condition a condition to add to the {@code WHERE} clause
+     * @return the sql statement with the given condition and'ed to its filter, or in a new {@code WHERE} clause if it
+     * has no filter
+     */
+    static String addCondition(String sql, Filter.Position position, int whereStart, String condition) {
+        StringBuilder sqlBuilder = new StringBuilder(sql.length() + condition.length() + 16);
+        if (position == null) {
+            sqlBuilder.append(sql, 0, whereStart)
+                    .append("WHERE\n    ")
+                    .append(condition)
+                    .append("\n")
+                    .append(sql, whereStart, sql.length());
+        } else {
+            // The filter is parenthesized if it's an AND/OR, as OR binds less tightly than the added AND
+            boolean composite = position.filter().isComposite();
+            sqlBuilder.append(sql, 0, position.sqlStart())
+                    .append(composite ? "(" : "")
+                    .append(sql, position.sqlStart(), position.sqlEnd())
+                    .append(composite ? ")" : "")
+                    .append("\n    AND ")
+                    .append(condition)
+                    .append(sql, position.sqlEnd(), sql.length());
+        }
+        return sqlBuilder.toString();
+    }
+
+    /**
+     * Binds each of the given parameter sets to the given statement and executes them via
+     * {@link PreparedStatement#executeBatch()} in chunks of at most {@code batchSize} parameter sets.
+     *
+     * @return update counts of all the parameter sets in the given order
+     */
+    static <P> int[] executeBatch(PreparedStatement stmt, List<P> paramSets, int batchSize, ParamsSetter<P> paramsSetter)
+            throws SQLException {
+        int[] updateCounts = new int[paramSets.size()];
+
+        for (int from = 0; from < paramSets.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, paramSets.size());
+            for (int i = from; i < to; ++i) {
+                paramsSetter.setParams(stmt, paramSets.get(i));
+                stmt.addBatch();
+            }
+            int[] batchUpdateCounts = stmt.executeBatch();
+            System.arraycopy(batchUpdateCounts, 0, updateCounts, from, batchUpdateCounts.length);
+        }
+
+        return updateCounts;
+    }
+
+    /**
+     * Executes chunks {@code 0, 1, ..., chunkCount - 1} of a query, sequentially if there is only one connection,
+     * otherwise in parallel on a virtual thread per connection, where each connection executes every
+     * {@code connections.size()}-th chunk.
+     *
+     * @return results of all the chunks in the order of the chunks
+     */
+    static <R> List<R> executeChunks(List<Connection> connections, int chunkCount, ChunkExecutor<R> chunkExecutor)
+            throws SQLException {
+        if (connections.isEmpty()) {
+            throw new IllegalArgumentException("at least one connection is required");
+        }
+        Object[] results = new Object[chunkCount];
+
+        if (connections.size() == 1) {
+            for (int chunk = 0; chunk < chunkCount; ++chunk) {
+                results[chunk] = chunkExecutor.execute(connections.getFirst(), chunk);
+            }
+        } else {
+            AtomicBoolean failed = new AtomicBoolean();
+            List<Future<?>> futures = new ArrayList<>(connections.size());
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < connections.size(); ++i) {
+                    Connection con = Objects.requireNonNull(connections.get(i), "null value is provided where non-null is required");
+                    int firstChunk = i;
+                    futures.add(executor.submit(() -> {
+                        try {
+                            for (int chunk = firstChunk; chunk < chunkCount && !failed.get(); chunk += connections.size()) {
+                                results[chunk] = chunkExecutor.execute(con, chunk);
+                            }
+                        } catch (SQLException | RuntimeException e) {
+                            failed.set(true);
+                            throw e;
+                        }
+                        return null;
+                    }));
+                }
+            }
+            rethrowFailure(futures);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<R> resultList = (List<R>) Arrays.asList(results);
+        return resultList;
+    }
+
+    /**
+     * Gets {@code count} connections from the given provider, e.g. to execute chunks of a query in parallel, applies the
+     * given function to them and closes them
+     */
+    static <R> R withConnections(ConnectionProvider provider, int count, ConnectionsFunction<R> function) throws SQLException {
+        if (count <= 0) {
+            throw new IllegalArgumentException("number of connections must be positive but is " + count);
+        }
+        List<Connection> connections = new ArrayList<>(count);
+        R result;
+        try {
+            for (int i = 0; i < count; ++i) {
+                connections.add(provider.getConnection());
+            }
+            result = function.apply(connections);
+        } catch (SQLException | RuntimeException e) {
+            for (Connection con : connections) {
+                try {
+                    con.close();
+                } catch (SQLException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw e;
+        }
+
+        SQLException exception = null;
+        for (Connection con : connections) {
+            try {
+                con.close();
+            } catch (SQLException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+        return result;
+    }
+
+    /**
+     * Executes the given body in a transaction: the caller's transaction if auto-commit is disabled, otherwise a new
+     * transaction, which is committed (or rolled back if the body fails) before auto-commit is enabled again
+     */
+    static void inTransaction(Connection con, TransactionBody body) throws SQLException {
+        if (!con.getAutoCommit()) {
+            body.execute();
+            return;
+        }
+        con.setAutoCommit(false);
+        try {
+            body.execute();
+            con.commit();
+        } catch (SQLException | RuntimeException e) {
+            try {
+                con.rollback();
+            } catch (SQLException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        } finally {
+            try {
+                con.setAutoCommit(true);
+            } finally {
+                ResultCache.transactionEnded(con);
+            }
+        }
+    }
+
+    private static void rethrowFailure(List<Future<?>> futures) throws SQLException {
+        Throwable failure = null;
+        for (Future<?> future : futures) {
+            if (future.state() == Future.State.FAILED) {
+                if (failure == null) {
+                    failure = future.exceptionNow();
+                } else {
+                    failure.addSuppressed(future.exceptionNow());
+                }
+            }
+        }
+        if (failure instanceof SQLException e) {
+            throw e;
+        } else if (failure instanceof RuntimeException e) {
+            throw e;
+        } else if (failure instanceof Error e) {
+            throw e;
+        }
+    }
+
+    /**
+     * Invokes the given method on the given target, e.g. in the invocation handler of a proxy of the target, throwing
+     * the exception thrown by the method itself
+     */
+    static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * @return the connection wrapped by the given connection if it's a proxy wrapping a connection (e.g. a connection
+     * of a {@link ConnectionPool} or one that caches statements), unwrapped until it's the physical connection, which
+     * identifies the connection e.g. as the key of the per-connection state kept by the library
+     */
+    static Connection physicalConnection(Connection con) {
+        while (Proxy.isProxyClass(con.getClass()) && Proxy.getInvocationHandler(con) instanceof ConnectionWrapper wrapper) {
+            con = wrapper.wrapped();
+        }
+        return con;
+    }
+
+    /**
+     * The invocation handler of a proxy wrapping a connection
+     */
+    interface ConnectionWrapper extends InvocationHandler {
+        Connection wrapped();
+    }
+
+    @FunctionalInterface
+    interface ChunkExecutor<R> {
+        R execute(Connection con, int chunk) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface ConnectionsFunction<R> {
+        R apply(List<Connection> connections) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface TransactionBody {
+        void execute() throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface ParamsSetter<P> {
+        void setParams(PreparedStatement stmt, P params) throws SQLException;
     }
 }
@@ -21,11 +21,14 @@ package org.sql4j.sql.query;
  */
 
 import org.junit.jupiter.api.Test;
+import org.sql4j.sql.query.InsertQuery.BatchInsertQuery;
 import org.sql4j.sql.query.InsertQuery.ExecutableInsertQuery;
 
 import java.sql.Date;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class InsertQueryBuildTest {
     private static final Table TABLE_1 = Table.forName("TABLE_1");
@@ -78,4 +81,69 @@ public class InsertQueryBuildTest {
         assertEquals(expectedSql, query.sql());
         assertEquals(4, query.params().size());
     }
+
+    @Test
+    void testInsertQuery_multipleRows() {
+        String expectedSql = """
+                INSERT
+                INTO
+                    TABLE_1
+                    (COL_1, COL_2)
+                VALUES
+                    (?, ?)
+                """;
+
+        BatchInsertQuery query =
+                SqlQuery.insert()
+                        .into(TABLE_1)
+                        .values(List.of(
+                                List.of(COL_1.value("test1"), COL_2.value(1)),
+                                List.of(COL_1.value("test2"), COL_2.value(2)),
+                                List.of(COL_1.value("test3"), COL_2.value(3))));
+
+        assertEquals(expectedSql, query.sql());
+        assertEquals(List.of(List.of("test1", 1), List.of("test2", 2), List.of("test3", 3)), query.params());
+    }
+
+    @Test
+    void testInsertQuery_multipleRows_differentColumns() {
+        assertThrows(IllegalArgumentException.class, () ->
+                SqlQuery.insert()
+                        .into(TABLE_1)
+                        .values(List.of(
+                                List.of(COL_1.value("test1"), COL_2.value(1)),
+                                List.of(COL_2.value(2), COL_1.value("test2")))));
+        assertThrows(IllegalArgumentException.class, () ->
+                SqlQuery.insert()
+                        .into(TABLE_1)
+                        .values(List.of()));
+    }
+
+    @Test
+    void testInsertQuery_select() {
+        String expectedSql = """
+                INSERT
+                INTO
+                    TABLE_2
+                    (COL_1, COL_2)
+                SELECT
+                    COL_1,
+                    COL_2
+                FROM
+                    TABLE_1
+                WHERE
+                    COL_2 > ?
+                """;
+
+        ExecutableInsertQuery query =
+                SqlQuery.insert()
+                        .into(Table.forName("TABLE_2"))
+                        .columns(COL_1, COL_2)
+                        .select(SqlQuery.select(COL_1, COL_2)
+                                .from(TABLE_1)
+                                .where(COL_2.greaterThan(10)));
+
+        assertEquals(expectedSql, query.sql());
+        assertEquals(List.of(10), query.params());
+    }
 }
@@ -0,0 +1,94 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParamBinderTest {
+    private static final Column<String> COL_1 = Column.forName("COL_1");
+    private static final Column<Integer> COL_2 = Column.forNameAndType("COL_2", Types.INTEGER);
+    private static final Column<Long> COL_3 = Column.forNameAndType("COL_3", Types.BIGINT);
+    private static final Column<Timestamp> COL_4 = Column.forName("COL_4");
+    private static final Column<Object> COL_5 = Column.forName("COL_5");
+
+    @Test
+    void testParamBinder_filterParams() throws SQLException {
+        Filter filter = COL_1.equalTo("test1")
+                .and(COL_2.in(1, 2))
+                .and(COL_3.greaterThan(10L))
+                .and(COL_4.lessThan(Timestamp.valueOf("2025-01-06 01:01:06")))
+                .and(COL_5.equalTo(List.of()));
+        List<Object> params = new ArrayList<>();
+        List<Integer> sqlTypes = new ArrayList<>();
+        filter.appendTo(new StringBuilder(), params, sqlTypes);
+
+        assertEquals(List.of(Types.NULL, Types.INTEGER, Types.INTEGER, Types.BIGINT, Types.NULL, Types.NULL), sqlTypes);
+        assertEquals(List.of("setString(1)", "setInt(2)", "setInt(3)", "setLong(4)", "setTimestamp(5)", "setObject(6)"),
+                bind(ParamBinder.forParams(params, sqlTypes), params));
+    }
+
+    @Test
+    void testParamBinder_columnValues() throws SQLException {
+        List<ColumnValue> colValues = List.of(
+                COL_1.value("test1"),
+                COL_2.value(null),
+                COL_3.value(10L),
+                COL_4.value(null));
+
+        assertEquals(List.of("setString(1)", "setNull(2, " + Types.INTEGER + ")", "setLong(3)", "setNull(4, " + Types.NULL + ")"),
+                bind(ParamBinder.forColumnValues(colValues), colValues.stream().map(ColumnValue::getValue).toList()));
+    }
+
+    @Test
+    void testParamBinder_unexpectedClass() throws SQLException {
+        ParamBinder[] binders = ParamBinder.forParams(List.of(1), List.of(Types.INTEGER));
+
+        // A value of another class than the binder was chosen for is bound via setObject()
+        assertEquals(List.of("setObject(1)"), bind(binders, List.of(1L)));
+        assertEquals(List.of("setInt(1)"), bind(binders, List.of(2)));
+    }
+
+    private static List<String> bind(ParamBinder[] binders, List<Object> values) throws SQLException {
+        List<String> calls = new ArrayList<>();
+        PreparedStatement stmt = (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    calls.add(method.getName() + "(" + (method.getName().equals("setNull") ? Arrays.toString(args).replaceAll("[\\[\\]]", "") : args[0]) + ")");
+                    return null;
+                });
+        for (int i = 0; i < binders.length; ++i) {
+            binders[i].bind(stmt, i + 1, values.get(i));
+        }
+        return calls;
+    }
+}
@@ -0,0 +1,147 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests that building queries and rendering their sql stays within a budget of allocated bytes per query, so that
+ * regressions in query construction overhead are caught.
+ */
+public class QueryAllocationTest {
+    private static final Table TABLE_1 = Table.forName("TABLE_1");
+    private static final Table TABLE_2 = Table.forName("TABLE_2");
+    private static final Column<String> COL_1 = Column.forName("COL_1");
+    private static final Column<Integer> COL_2 = Column.forName("COL_2");
+    private static final Column<Double> COL_3 = Column.forName("COL_3");
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int ITERATIONS = 10_000;
+
+    private static com.sun.management.ThreadMXBean threadMXBean;
+
+    @BeforeAll
+    static void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void testSelectQuery_allocationBudget() {
+        assertAllocatedBytesPerQueryAtMost(2_500, () ->
+                SqlQuery.select(COL_1, COL_2.as("C_2"), COL_3)
+                        .from(TABLE_1, TABLE_2.as("T_2"))
+                        .where(COL_1.equalTo("test")
+                                .and(COL_2.in(1, 2, 3)))
+                        .groupBy(COL_1, COL_2, COL_3)
+                        .orderBy(COL_1.desc(), COL_2)
+                        .sql());
+    }
+
+    @Test
+    void testInsertQuery_allocationBudget() {
+        assertAllocatedBytesPerQueryAtMost(1_200, () ->
+                SqlQuery.insert()
+                        .into(TABLE_1)
+                        .values(COL_1.value("test"), COL_2.value(1), COL_3.value(1.0))
+                        .sql());
+    }
+
+    @Test
+    void testBatchInsertQuery_allocationBudget() {
+        assertAllocatedBytesPerQueryAtMost(1_500, () ->
+                SqlQuery.insert()
+                        .into(TABLE_1)
+                        .values(List.of(
+                                List.of(COL_1.value("test1"), COL_2.value(1), COL_3.value(1.0)),
+                                List.of(COL_1.value("test2"), COL_2.value(2), COL_3.value(2.0)),
+                                List.of(COL_1.value("test3"), COL_2.value(3), COL_3.value(3.0))))
+                        .sql());
+    }
+
+    @Test
+    void testUpsertQuery_allocationBudget() {
+        assertAllocatedBytesPerQueryAtMost(2_500, () ->
+                SqlQuery.upsert(TABLE_1)
+                        .key(COL_1)
+                        .values(COL_1.value("test"), COL_2.value(1), COL_3.value(1.0))
+                        .sql());
+    }
+
+    @Test
+    void testBatchUpsertQuery_allocationBudget() {
+        assertAllocatedBytesPerQueryAtMost(3_000, () ->
+                SqlQuery.upsert(TABLE_1)
+                        .key(COL_1)
+                        .values(List.of(
+                                List.of(COL_1.value("test1"), COL_2.value(1), COL_3.value(1.0)),
+                                List.of(COL_1.value("test2"), COL_2.value(2), COL_3.value(2.0)),
+                                List.of(COL_1.value("test3"), COL_2.value(3), COL_3.value(3.0))))
+                        .sql());
+    }
+
+    @Test
+    void testUpdateQuery_allocationBudget() {
+        assertAllocatedBytesPerQueryAtMost(1_200, () ->
+                SqlQuery.update(TABLE_1)
+                        .set(COL_2.value(1), COL_3.value(1.0))
+                        .where(COL_1.equalTo("test"))
+                        .sql());
+    }
+
+    @Test
+    void testDeleteQuery_allocationBudget() {
+        assertAllocatedBytesPerQueryAtMost(1_200, () ->
+                SqlQuery.delete()
+                        .from(TABLE_1)
+                        .where(COL_1.equalTo("test"))
+                        .sql());
+    }
+
+    private static void assertAllocatedBytesPerQueryAtMost(long budget, Supplier<String> query) {
+        long length = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; ++i) {
+            length += query.get().length();
+        }
+
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBytesBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; ++i) {
+            length += query.get().length();
+        }
+        long allocatedBytesPerQuery = (threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytesBefore) / ITERATIONS;
+
+        System.out.printf("Allocated %s bytes per query (budget %s bytes)%n", allocatedBytesPerQuery, budget);
+        assertTrue(length > 0);
+        assertTrue(allocatedBytesPerQuery <= budget,
+                "allocated " + allocatedBytesPerQuery + " bytes per query, more than the budget of " + budget + " bytes");
+    }
+}
@@ -24,9 +24,15 @@ import org.junit.jupiter.api.Test;
 import org.sql4j.sql.query.SelectQuery.ExecutableSelectQuery;
 
 import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.sql4j.sql.query.Column.ALL;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class SelectQueryBuildTest {
     private static final Table TABLE_1 = Table.forName("TABLE_1");
@@ -609,4 +615,157 @@ public class SelectQueryBuildTest {
         assertEquals(expectedSql, query.sql());
         assertEquals(4, query.params().size());
     }
+
+    @Test
+    void testSelectQuery_params() {
+        Param<String> name = Param.forName("NAME");
+        Param<Integer> min = Param.forName("MIN");
+        Param<Integer> max = Param.forName("MAX");
+
+        String expectedSql = """
+                SELECT
+                    COL_1
+                FROM
+                    TABLE_1
+                WHERE
+                    COL_1 = ?
+                    AND COL_2 BETWEEN ? AND ?
+                     OR COL_3 > ?
+                """;
+
+        ExecutableSelectQuery template =
+                SqlQuery.select(COL_1)
+                        .from(TABLE_1)
+                        .where(COL_1.equalTo(name)
+                                .and(COL_2.between(min, max))
+                                .or(COL_3.greaterThan(2.0)));
+
+        assertEquals(expectedSql, template.sql());
+        assertEquals(List.of(name, min, max, 2.0), template.params());
+
+        ExecutableSelectQuery query = template.bind(max.value(10), name.value("test"), min.value(1));
+
+        assertSame(template.sql(), query.sql());
+        assertEquals(List.of("test", 1, 10, 2.0), query.params());
+        assertEquals(List.of(name, min, max, 2.0), template.params());
+        assertThrows(IllegalArgumentException.class, () -> template.bind(name.value("test"), min.value(1)));
+    }
+
+    @Test
+    void testSelectQuery_inCollection() {
+        String expectedSql = """
+                SELECT
+                    COL_1
+                FROM
+                    TABLE_1
+                WHERE
+                    COL_1 IN (?, ?, ?)
+                    AND COL_2 NOT IN (?, ?)
+                """;
+
+        ExecutableSelectQuery query =
+                SqlQuery.select(COL_1)
+                        .from(TABLE_1)
+                        .where(COL_1.in(List.of("test1", "test2", "test3"))
+                                .and(COL_2.notIn(1, 2)));
+
+        assertEquals(expectedSql, query.sql());
+        assertEquals(List.of("test1", "test2", "test3", 1, 2), query.params());
+        assertThrows(IllegalArgumentException.class, () -> COL_1.in(List.of()));
+        assertThrows(NullPointerException.class, () -> COL_1.in(Arrays.asList("test1", null)));
+    }
+
+    @Test
+    void testSelectQuery_inListPadding() {
+        String expectedSql = """
+                SELECT
+                    COL_1
+                FROM
+                    TABLE_1
+                WHERE
+                    COL_1 IN (?, ?, ?, ?)
+                    AND COL_2 NOT IN (?, ?, ?, ?, ?)
+                """;
+
+        ExecutableSelectQuery query =
+                SqlQuery.select(COL_1)
+                        .from(TABLE_1)
+                        .where(COL_1.in(List.of("test1", "test2", "test3"), InListPadding.POWERS_OF_TWO)
+                                .and(COL_2.notIn(List.of(1, 2), InListPadding.toBuckets(5, 10))));
+
+        assertEquals(expectedSql, query.sql());
+        assertEquals(List.of("test1", "test2", "test3", "test3", 1, 2, 2, 2, 2), query.params());
+
+        for (int size = 1; size <= 1000; ++size) {
+            List<Integer> values = new ArrayList<>();
+            for (int i = 0; i < size; ++i) {
+                values.add(i);
+            }
+            assertEquals(Integer.highestOneBit(2 * size - 1), COL_2.in(values, InListPadding.POWERS_OF_TWO).getParams().size());
+            assertEquals(size <= 10 ? 10 : (size + 99) / 100 * 100, COL_2.in(values, InListPadding.toBuckets(100, 10)).getParams().size());
+            assertEquals(size, COL_2.in(values, InListPadding.NONE).getParams().size());
+        }
+        assertThrows(IllegalArgumentException.class, () -> InListPadding.toBuckets());
+        assertThrows(IllegalArgumentException.class, () -> InListPadding.toBuckets(0, 10));
+    }
+
+    @Test
+    void testSelectQuery_manyConditions() {
+        int n = 100_000;
+        Filter filter = COL_2.equalTo(0);
+        for (int i = 1; i < n; ++i) {
+            filter = i % 2 == 0 ? filter.and(COL_2.equalTo(i)) : filter.or(COL_2.equalTo(i));
+        }
+
+        ExecutableSelectQuery query =
+                SqlQuery.select(COL_1)
+                        .from(TABLE_1)
+                        .where(filter.and(COL_1.equalTo("test").negate().or(COL_3.isNull())));
+
+        assertEquals(n + 1, query.params().size());
+        assertEquals(n - 1, query.params().get(n - 1));
+        assertEquals("test", query.params().get(n));
+        assertTrue(query.sql().startsWith("""
+                SELECT
+                    COL_1
+                FROM
+                    TABLE_1
+                WHERE
+                    COL_2 = ?
+                     OR COL_2 = ?
+                    AND COL_2 = ?
+                     OR COL_2 = ?
+                """));
+        assertTrue(query.sql().endsWith("""
+                     OR COL_2 = ?
+                    AND (NOT COL_1 = ?
+                     OR COL_3 IS NULL)
+                """));
+        assertEquals(n + 1, query.sql().split("\\?").length - 1);
+        assertEquals(filter.getCondition(), filter.getCondition());
+        assertEquals(n, filter.getParams().size());
+    }
+
+    @Test
+    void testSelectQuery_limit() {
+        String expectedSql = """
+                SELECT
+                    COL_1
+                FROM
+                    TABLE_1
+                ORDER BY
+                    COL_1
+                OFFSET 0 ROWS
+                FETCH FIRST 10 ROWS ONLY
+                """;
+
+        ExecutableSelectQuery query =
+                SqlQuery.select(COL_1)
+                        .from(TABLE_1)
+                        .orderBy(COL_1)
+                        .limit(10);
+
+        assertEquals(expectedSql, query.sql());
+        assertEquals("LIMIT 20, 10\n", Dialect.MYSQL.limitClause(10, 20));
+    }
 }
@@ -24,6 +24,8 @@ import org.junit.jupiter.api.Test;
 import org.sql4j.sql.query.UpdateQuery.ExecutableUpdateQuery;
 
 import java.sql.Date;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -185,4 +187,33 @@ public class UpdateQueryBuildTest {
         assertEquals(expectedSql, query.sql());
         assertEquals(8, query.params().size());
     }
+
+    @Test
+    void testUpdateQuery_params() {
+        Param<Integer> value = Param.forName("VALUE");
+        Param<String> key = Param.forName("KEY");
+
+        String expectedSql = """
+                UPDATE
+                    TABLE_1
+                SET
+                    COL_2 = ?,
+                    COL_3 = ?
+                WHERE
+                    COL_1 = ?
+                """;
+
+        ExecutableUpdateQuery template =
+                SqlQuery.update(TABLE_1)
+                        .set(COL_2.param(value), COL_3.value(1.0))
+                        .where(COL_1.equalTo(key));
+
+        assertEquals(expectedSql, template.sql());
+        assertEquals(List.of(value, 1.0, key), template.params());
+
+        ExecutableUpdateQuery query = template.bind(value.value(null), key.value("test"));
+
+        assertEquals(expectedSql, query.sql());
+        assertEquals(Arrays.asList(null, 1.0, "test"), query.params());
+    }
 }
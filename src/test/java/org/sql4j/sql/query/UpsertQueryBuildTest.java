@@ -0,0 +1,136 @@
+package org.sql4j.sql.query;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import org.junit.jupiter.api.Test;
+import org.sql4j.sql.query.UpsertQuery.BatchUpsertQuery;
+import org.sql4j.sql.query.UpsertQuery.ExecutableUpsertQuery;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class UpsertQueryBuildTest {
+    private static final Table TABLE_1 = Table.forName("TABLE_1");
+    private static final Column<String> COL_1 = Column.forName("COL_1");
+    private static final Column<Integer> COL_2 = Column.forName("COL_2");
+    private static final Column<Double> COL_3 = Column.forName("COL_3");
+
+    @Test
+    void testUpsertQuery() {
+        String expectedSql = """
+                MERGE
+                INTO
+                    TABLE_1
+                USING
+                    (VALUES (?, ?, ?)) AS SOURCE (COL_1, COL_2, COL_3)
+                ON
+                    TABLE_1.COL_1 = SOURCE.COL_1
+                WHEN MATCHED THEN
+                    UPDATE SET COL_2 = SOURCE.COL_2, COL_3 = SOURCE.COL_3
+                WHEN NOT MATCHED THEN
+                    INSERT (COL_1, COL_2, COL_3) VALUES (SOURCE.COL_1, SOURCE.COL_2, SOURCE.COL_3)
+                """;
+
+        ExecutableUpsertQuery query =
+                SqlQuery.upsert(TABLE_1)
+                        .key(COL_1)
+                        .values(COL_1.value("test"), COL_2.value(1), COL_3.value(1.0));
+
+        assertEquals(expectedSql, query.sql());
+        assertEquals(List.of("test", 1, 1.0), query.params());
+    }
+
+    @Test
+    void testUpsertQuery_dialects() {
+        List<String> columns = List.of("COL_1", "COL_2", "COL_3");
+        List<String> keyColumns = List.of("COL_1", "COL_2");
+
+        assertEquals("""
+                MERGE
+                INTO
+                    TABLE_1
+                    (COL_1, COL_2, COL_3)
+                KEY
+                    (COL_1, COL_2)
+                VALUES
+                    (?, ?, ?)
+                """, Dialect.H2.upsertSql("TABLE_1", columns, keyColumns));
+        assertEquals("""
+                INSERT
+                INTO
+                    TABLE_1
+                    (COL_1, COL_2, COL_3)
+                VALUES
+                    (?, ?, ?) AS NEW
+                ON DUPLICATE KEY UPDATE
+                    COL_3 = NEW.COL_3
+                """, Dialect.MYSQL.upsertSql("TABLE_1", columns, keyColumns));
+        assertEquals("""
+                INSERT
+                INTO
+                    TABLE_1
+                    (COL_1, COL_2, COL_3)
+                VALUES
+                    (?, ?, ?)
+                ON DUPLICATE KEY UPDATE
+                    COL_3 = VALUES(COL_3)
+                """, Dialect.MARIADB.upsertSql("TABLE_1", columns, keyColumns));
+        assertEquals("""
+                MERGE
+                INTO
+                    TABLE_1
+                USING
+                    (VALUES (?, ?, ?)) AS SOURCE (COL_1, COL_2, COL_3)
+                ON
+                    TABLE_1.COL_1 = SOURCE.COL_1 AND TABLE_1.COL_2 = SOURCE.COL_2
+                WHEN MATCHED THEN
+                    UPDATE SET COL_3 = SOURCE.COL_3
+                WHEN NOT MATCHED THEN
+                    INSERT (COL_1, COL_2, COL_3) VALUES (SOURCE.COL_1, SOURCE.COL_2, SOURCE.COL_3)
+                """, Dialect.STANDARD.upsertSql("TABLE_1", columns, keyColumns));
+    }
+
+    @Test
+    void testUpsertQuery_multipleRows() {
+        BatchUpsertQuery query =
+                SqlQuery.upsert(TABLE_1)
+                        .key(COL_1)
+                        .values(List.of(
+                                List.of(COL_1.value("test1"), COL_2.value(1)),
+                                List.of(COL_1.value("test2"), COL_2.value(2))));
+
+        assertEquals(List.of(List.of("test1", 1), List.of("test2", 2)), query.params());
+    }
+
+    @Test
+    void testUpsertQuery_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> SqlQuery.upsert(TABLE_1)
+                .key(COL_1)
+                .values(COL_2.value(1)));
+        assertThrows(IllegalArgumentException.class, () -> SqlQuery.upsert(TABLE_1)
+                .key(COL_1)
+                .values(List.of(
+                        List.of(COL_1.value("test1"), COL_2.value(1)),
+                        List.of(COL_1.value("test2"), COL_3.value(2.0)))));
+    }
+}
@@ -0,0 +1,191 @@
+package org.sql4j.sql.query.integ;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.FieldSource;
+import org.sql4j.sql.query.ConnectionPool;
+import org.sql4j.sql.query.ConnectionProvider;
+import org.sql4j.sql.query.SqlQuery;
+
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConnectionPoolTest extends SqlQueryExecuteTestBase {
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testConnectionPool_execute(Connection connection) throws Exception {
+        insertRecordsInTable1(RECORDS, connection);
+
+        try (ConnectionPool pool = ConnectionPool.forProvider(() -> connectToSameDatabase(connection), 2)) {
+            List<String> expectedResults = RECORDS.stream().map(Table1Row::col1).toList();
+            List<String> results = SqlQuery.select(COL_1)
+                    .from(TABLE_1)
+                    .orderBy(COL_1)
+                    .execute(pool, rs -> rs.getString(COL_1.getName()));
+            assertEquals(expectedResults, results);
+            assertEquals(1, pool.getSize());
+            assertEquals(1, pool.getIdleCount());
+
+            CompletableFuture<List<String>> future = SqlQuery.select(COL_1)
+                    .from(TABLE_1)
+                    .orderBy(COL_1)
+                    .executeAsync(pool, rs -> rs.getString(COL_1.getName()));
+            assertEquals(expectedResults, future.get());
+
+            try (Stream<String> stream = SqlQuery.select(COL_1)
+                    .from(TABLE_1)
+                    .orderBy(COL_1)
+                    .stream(pool, rs -> rs.getString(COL_1.getName()))) {
+                assertEquals(0, pool.getIdleCount());
+                assertEquals(expectedResults, stream.toList());
+            }
+            assertEquals(1, pool.getIdleCount());
+
+            results = SqlQuery.select(COL_1)
+                    .from(TABLE_1)
+                    .orderBy(COL_1)
+                    .executeInPartitions(pool, 2, rs -> rs.getString(COL_1.getName()), COL_2);
+            assertEquals(expectedResults, results);
+            assertEquals(2, pool.getSize());
+            assertEquals(2, pool.getIdleCount());
+
+            assertEquals(1, SqlQuery.update(TABLE_1)
+                    .set(COL_3.value(2.0))
+                    .where(COL_1.equalTo("test1"))
+                    .execute(pool));
+        }
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testConnectionPool_metaData(Connection connection) throws Exception {
+        AtomicInteger metaDataReads = new AtomicInteger();
+        ConnectionProvider provider = () -> {
+            Connection con = connectToSameDatabase(connection);
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("getMetaData")) {
+                            metaDataReads.incrementAndGet();
+                        }
+                        return switch (method.getName()) {
+                            case "equals" -> proxy == args[0];
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            default -> method.invoke(con, args);
+                        };
+                    });
+        };
+
+        try (ConnectionPool pool = ConnectionPool.forProvider(provider, 1)) {
+            for (int i = 0; i < 3; ++i) {
+                SqlQuery.select(COL_1)
+                        .from(TABLE_1)
+                        .limit(1)
+                        .execute(pool, rs -> rs.getString(COL_1.getName()));
+                SqlQuery.select(COL_1)
+                        .from(TABLE_1)
+                        .limit(1)
+                        .executeAsync(pool, rs -> rs.getString(COL_1.getName()))
+                        .get();
+            }
+            // The dialect of the database is read once for the pooled connection, not once per lease
+            assertEquals(1, metaDataReads.get());
+        }
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testConnectionPool_reset(Connection connection) throws SQLException {
+        try (ConnectionPool pool = ConnectionPool.forProvider(() -> connectToSameDatabase(connection), 1)) {
+            try (Connection con = pool.getConnection()) {
+                con.setAutoCommit(false);
+                con.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+                assertEquals(1, SqlQuery.insert()
+                        .into(TABLE_1)
+                        .values(COL_1.value("test1"), COL_2.value(10))
+                        .execute(con));
+            }
+
+            try (Connection con = pool.getConnection()) {
+                // The same connection, with the transaction rolled back and the settings reset
+                assertEquals(1, pool.getSize());
+                assertTrue(con.getAutoCommit());
+                assertEquals(connection.getTransactionIsolation(), con.getTransactionIsolation());
+                assertEquals(0, SqlQuery.select(COL_1)
+                        .from(TABLE_1)
+                        .execute(con, rs -> rs.getString(COL_1.getName()))
+                        .size());
+            }
+
+            Connection con = pool.getConnection();
+            con.close();
+            assertTrue(con.isClosed());
+            assertThrows(SQLException.class, con::createStatement);
+        }
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testConnectionPool_waiting(Connection connection) throws Exception {
+        ConnectionPool pool = ConnectionPool.forProvider(() -> connectToSameDatabase(connection), 1);
+        pool.setBorrowTimeout(Duration.ofMillis(100));
+
+        Connection con = pool.getConnection();
+        assertThrows(SQLTimeoutException.class, pool::getConnection);
+
+        pool.setBorrowTimeout(Duration.ofSeconds(10));
+        CompletableFuture<Boolean> waiter = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> {
+            try (Connection waiterCon = pool.getConnection()) {
+                waiter.complete(waiterCon.isValid(1));
+            } catch (SQLException e) {
+                waiter.completeExceptionally(e);
+            }
+        });
+        Thread.sleep(50);
+        assertFalse(waiter.isDone());
+        // The connection is handed over to the waiting thread
+        con.close();
+        assertTrue(waiter.get());
+        assertEquals(1, pool.getSize());
+
+        // A connection older than the max lifetime isn't reused
+        pool.setMaxLifetime(Duration.ofNanos(1));
+        pool.getConnection().close();
+        assertEquals(0, pool.getSize());
+
+        pool.close();
+        assertThrows(SQLException.class, pool::getConnection);
+        assertThrows(IllegalArgumentException.class, () -> ConnectionPool.forProvider(() -> connectToSameDatabase(connection), 0));
+    }
+}
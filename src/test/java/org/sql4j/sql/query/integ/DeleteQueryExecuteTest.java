@@ -22,12 +22,19 @@ package org.sql4j.sql.query.integ;
 
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.FieldSource;
+import org.sql4j.sql.query.Param;
+import org.sql4j.sql.query.ParamValue;
 import org.sql4j.sql.query.SqlQuery;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class DeleteQueryExecuteTest extends SqlQueryExecuteTestBase {
 
@@ -111,4 +118,97 @@ public class DeleteQueryExecuteTest extends SqlQueryExecuteTestBase {
 
         deleteRecordsFromTable1(RECORDS, connection);
     }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testDeleteQuery_batch(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS, connection);
+
+        Param<String> col1 = Param.forName("COL_1");
+        Param<Integer> col2 = Param.forName("COL_2");
+
+        int[] rowCounts =
+                SqlQuery.delete()
+                        .from(TABLE_1)
+                        .where(COL_1.equalTo(col1)
+                                .and(COL_2.equalTo(col2)))
+                        .executeBatch(connection, List.of(
+                                new ParamValue[] {col1.value("test1"), col2.value(10)},
+                                new ParamValue[] {col1.value("test2"), col2.value(20)},
+                                new ParamValue[] {col1.value("test3"), col2.value(30)},
+                                new ParamValue[] {col1.value("test4"), col2.value(40)}), 3);
+
+        assertArrayEquals(new int[] {1, 0, 1, 1}, rowCounts);
+        assertEquals(List.of("test2", "test5"),
+                SqlQuery.select(COL_1)
+                        .from(TABLE_1)
+                        .orderBy(COL_1)
+                        .execute(connection, rs -> rs.getString(COL_1.getName())));
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testDeleteQuery_inChunks(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS, connection);
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            names.add("test" + i);
+        }
+
+        int rowCount;
+        try (Connection otherConnection = connectToSameDatabase(connection)) {
+            rowCount =
+                    SqlQuery.delete()
+                            .from(TABLE_1)
+                            .where(COL_1.in(names).and(COL_2.greaterThan(10)))
+                            .executeInChunks(List.of(connection, otherConnection), 3);
+        }
+
+        assertEquals(RECORDS.stream().filter(record -> record.col2() > 10).count(), rowCount);
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testDeleteQuery_async(Connection connection) throws Exception {
+        insertRecordsInTable1(RECORDS, connection);
+
+        CompletableFuture<Integer> rowCount =
+                SqlQuery.delete()
+                        .from(TABLE_1)
+                        .where(COL_2.equalTo(10))
+                        .executeAsync(connection);
+
+        assertEquals(RECORDS.stream().filter(record -> record.col2() == 10).count(), rowCount.get().longValue());
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testDeleteQuery_returning(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS, connection);
+
+        List<String> deletedRows = SqlQuery.delete()
+                .from(TABLE_1)
+                .where(COL_2.greaterThan(30))
+                .executeReturning(connection, rs -> rs.getString(COL_1.getName()) + "=" + rs.getInt(COL_2.getName()));
+        assertEquals(List.of("test4=40", "test5=50"), deletedRows.stream().sorted().toList());
+
+        // Executes the query as on a database without data change delta tables
+        deletedRows = SqlQuery.delete()
+                .from(TABLE_1)
+                .where(COL_2.equalTo(10))
+                .executeReturning(withDatabaseProductName(connection, "PostgreSQL"), rs -> rs.getString(COL_1.getName()));
+        assertEquals(List.of("test1", "test2"), deletedRows.stream().sorted().toList());
+        assertTrue(connection.getAutoCommit());
+
+        assertEquals(1, SqlQuery.select(COL_1).from(TABLE_1).executeCount(connection));
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
 }
@@ -23,10 +23,15 @@ package org.sql4j.sql.query.integ;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.FieldSource;
 import org.sql4j.sql.query.Column;
+import org.sql4j.sql.query.InsertQuery.ExecutableInsertQuery;
+import org.sql4j.sql.query.Param;
 import org.sql4j.sql.query.SqlQuery;
+import org.sql4j.sql.query.Table;
 
 import java.sql.*;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class InsertQueryExecuteTest extends SqlQueryExecuteTestBase {
@@ -89,4 +94,156 @@ public class InsertQueryExecuteTest extends SqlQueryExecuteTestBase {
 
         assertEquals(1, rowCount);
     }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testInsertQuery_multipleRows(Connection connection) throws SQLException {
+        Column<Double> COL_3 = Column.forNameAndType("COL_3", Types.DOUBLE);
+
+        int[] rowCounts =
+                SqlQuery.insert()
+                        .into(TABLE_1)
+                        .values(RECORDS.stream()
+                                .map(record -> List.of(COL_1.value(record.col1()), COL_2.value(record.col2()), COL_3.value(record.col3())))
+                                .toList())
+                        .execute(connection, 2);
+
+        assertArrayEquals(new int[] {1, 1, 1, 1, 1}, rowCounts);
+        assertEquals(RECORDS.stream()
+                        .map(record -> Table1Row.builder().col1(record.col1()).col2(record.col2()).col3(record.col3()).build())
+                        .toList(),
+                SqlQuery.select(COL_1, COL_2, COL_3)
+                        .from(TABLE_1)
+                        .orderBy(COL_1)
+                        .execute(connection, rs -> Table1Row.builder()
+                                .col1(rs.getString(COL_1.getName()))
+                                .col2(rs.getInt(COL_2.getName()))
+                                .col3(rs.getObject(COL_3.getName(), Double.class))
+                                .build()));
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testInsertQuery_params(Connection connection) throws SQLException {
+        Column<Double> COL_3 = Column.forNameAndType("COL_3", Types.DOUBLE);
+        Param<String> col1 = Param.forName("COL_1");
+        Param<Integer> col2 = Param.forName("COL_2");
+        Param<Double> col3 = Param.forName("COL_3");
+
+        ExecutableInsertQuery template =
+                SqlQuery.insert()
+                        .into(TABLE_1)
+                        .values(COL_1.param(col1), COL_2.param(col2), COL_3.param(col3));
+
+        for (Table1Row record : RECORDS) {
+            assertEquals(1, template.bind(col1.value(record.col1()), col2.value(record.col2()), col3.value(record.col3()))
+                    .execute(connection));
+        }
+        assertEquals(RECORDS.stream()
+                        .map(record -> Table1Row.builder().col1(record.col1()).col2(record.col2()).col3(record.col3()).build())
+                        .toList(),
+                SqlQuery.select(COL_1, COL_2, COL_3)
+                        .from(TABLE_1)
+                        .orderBy(COL_1)
+                        .execute(connection, rs -> Table1Row.builder()
+                                .col1(rs.getString(COL_1.getName()))
+                                .col2(rs.getInt(COL_2.getName()))
+                                .col3(rs.getObject(COL_3.getName(), Double.class))
+                                .build()));
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testInsertQuery_select(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS, connection);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS TABLE_2 (COL_1 VARCHAR(255) PRIMARY KEY, COL_2 INT NOT NULL)");
+        }
+
+        Table TABLE_2 = Table.forName("TABLE_2");
+        Param<Integer> minCol2 = Param.forName("MIN_COL_2");
+        ExecutableInsertQuery template =
+                SqlQuery.insert()
+                        .into(TABLE_2)
+                        .columns(COL_1, COL_2)
+                        .select(SqlQuery.select(COL_1, COL_2)
+                                .from(TABLE_1)
+                                .where(COL_2.greaterThan(minCol2)));
+
+        assertEquals(2, template.bind(minCol2.value(30)).execute(connection));
+        assertEquals(List.of("test4", "test5"), SqlQuery.select(COL_1)
+                .from(TABLE_2)
+                .orderBy(COL_1)
+                .execute(connection, rs -> rs.getString(COL_1.getName())));
+
+        // The limit of the query is rendered in the dialect of the database
+        Param<Integer> maxCol2 = Param.forName("MAX_COL_2");
+        ExecutableInsertQuery limitedTemplate =
+                SqlQuery.insert()
+                        .into(TABLE_2)
+                        .columns(COL_1, COL_2)
+                        .select(SqlQuery.select(COL_1, COL_2)
+                                .from(TABLE_1)
+                                .where(COL_2.lessThan(maxCol2))
+                                .orderBy(COL_1)
+                                .limit(1, 1));
+        assertEquals(List.of(maxCol2), limitedTemplate.params());
+        assertEquals(1, limitedTemplate.bind(maxCol2.value(30)).execute(connection));
+        assertEquals(List.of("test2", "test4", "test5"), SqlQuery.select(COL_1)
+                .from(TABLE_2)
+                .orderBy(COL_1)
+                .execute(connection, rs -> rs.getString(COL_1.getName())));
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE TABLE_2");
+        }
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testInsertQuery_returningKeys(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS TABLE_3 (ID BIGINT AUTO_INCREMENT PRIMARY KEY, COL_1 VARCHAR(255))");
+        }
+
+        Table TABLE_3 = Table.forName("TABLE_3");
+        Column<Long> ID = Column.forName("ID");
+        long[] keys = SqlQuery.insert()
+                .into(TABLE_3)
+                .values(COL_1.value("test1"))
+                .executeReturningKeys(connection);
+        assertEquals(1, keys.length);
+
+        List<Long> mappedKeys = SqlQuery.insert()
+                .into(TABLE_3)
+                .values(COL_1.value("test2"))
+                .executeReturningKeys(connection, rs -> rs.getLong(1), ID);
+        assertEquals(List.of(keys[0] + 1), mappedKeys);
+
+        long[] batchKeys = SqlQuery.insert()
+                .into(TABLE_3)
+                .values(List.of(List.of(COL_1.value("test3")), List.of(COL_1.value("test4")), List.of(COL_1.value("test5"))))
+                .executeReturningKeys(connection, 2, ID);
+        assertArrayEquals(new long[] {keys[0] + 2, keys[0] + 3, keys[0] + 4}, batchKeys);
+
+        List<String> batchMappedKeys = SqlQuery.insert()
+                .into(TABLE_3)
+                .values(List.of(List.of(COL_1.value("test6")), List.of(COL_1.value("test7"))))
+                .executeReturningKeys(connection, rs -> String.valueOf(rs.getLong(1)));
+        assertEquals(List.of(String.valueOf(keys[0] + 5), String.valueOf(keys[0] + 6)), batchMappedKeys);
+
+        assertEquals(List.of("test3"), SqlQuery.select(COL_1)
+                .from(TABLE_3)
+                .where(ID.equalTo(batchKeys[0]))
+                .execute(connection, rs -> rs.getString(COL_1.getName())));
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE TABLE_3");
+        }
+    }
 }
@@ -0,0 +1,196 @@
+package org.sql4j.sql.query.integ;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.FieldSource;
+import org.sql4j.sql.query.ConnectionPool;
+import org.sql4j.sql.query.ResultCache;
+import org.sql4j.sql.query.ResultSetMapper;
+import org.sql4j.sql.query.SelectQuery.ExecutableSelectQuery;
+import org.sql4j.sql.query.SqlQuery;
+import org.sql4j.sql.query.Table;
+
+import java.sql.*;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ResultCacheTest extends SqlQueryExecuteTestBase {
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testResultCache_invalidation(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS, connection);
+
+        try (ResultCache cache = ResultCache.forMaxSize(10, Duration.ofMinutes(1))) {
+            ResultSetMapper<String> mapper = rs -> rs.getString(COL_1.getName());
+            ExecutableSelectQuery query = SqlQuery.select(COL_1)
+                    .from(TABLE_1)
+                    .where(COL_2.greaterThan(10))
+                    .orderBy(COL_1);
+            List<String> results = query.executeCached(connection, mapper, cache);
+            assertEquals(List.of("test3", "test4", "test5"), results);
+            assertSame(results, query.executeCached(connection, mapper, cache));
+            assertThrows(UnsupportedOperationException.class, () -> results.add("test6"));
+            assertEquals(1, cache.getHits());
+            assertEquals(1, cache.getMisses());
+            assertEquals(0.5, cache.getHitRate());
+
+            // Invalidating another table doesn't remove the results
+            cache.invalidate(Table.forName("TABLE_2"));
+            assertSame(results, query.executeCached(connection, mapper, cache));
+
+            SqlQuery.insert()
+                    .into(TABLE_1)
+                    .values(COL_1.value("test6"), COL_2.value(60))
+                    .execute(connection);
+            assertEquals(1, cache.getInvalidations());
+            assertEquals(0, cache.size());
+            assertEquals(List.of("test3", "test4", "test5", "test6"), query.executeCached(connection, mapper, cache));
+
+            SqlQuery.update(Table.forName("table_1"))
+                    .set(COL_2.value(10))
+                    .where(COL_1.equalTo("test6"))
+                    .execute(connection);
+            assertEquals(List.of("test3", "test4", "test5"), query.executeCached(connection, mapper, cache));
+
+            SqlQuery.delete()
+                    .from(TABLE_1)
+                    .where(COL_1.equalTo("test6"))
+                    .execute(connection);
+            assertEquals(3, cache.getInvalidations());
+
+            // Results of the same query with other params, or another mapper, are cached separately
+            query.executeCached(connection, mapper, cache);
+            query.executeCached(connection, rs -> rs.getString(COL_1.getName()), cache);
+            SqlQuery.select(COL_1)
+                    .from(TABLE_1)
+                    .where(COL_2.greaterThan(30))
+                    .orderBy(COL_1)
+                    .executeCached(connection, mapper, cache);
+            assertEquals(3, cache.size());
+            cache.invalidate(TABLE_1);
+            assertEquals(0, cache.size());
+
+            // Results are cached by the sql statement rendered in the dialect of the connection
+            ExecutableSelectQuery limitedQuery = SqlQuery.select(COL_1)
+                    .from(TABLE_1)
+                    .orderBy(COL_1)
+                    .limit(1, 1);
+            assertEquals(List.of("test2"), limitedQuery.executeCached(connection, mapper, cache));
+            assertEquals(List.of("test2"), limitedQuery.executeCached(withDatabaseProductName(connection, "MySQL"), mapper, cache));
+            assertEquals(2, cache.size());
+        }
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testResultCache_transaction(Connection connection) throws Exception {
+        insertRecordsInTable1(RECORDS, connection);
+
+        try (ResultCache cache = ResultCache.forMaxSize(10, Duration.ofMinutes(1));
+             ConnectionPool pool = ConnectionPool.forProvider(() -> connectToSameDatabase(connection), 1)) {
+            ResultSetMapper<String> mapper = rs -> rs.getString(COL_1.getName());
+            ExecutableSelectQuery query = SqlQuery.select(COL_1)
+                    .from(TABLE_1)
+                    .where(COL_2.greaterThan(40))
+                    .orderBy(COL_1);
+
+            // Rows read by other connections before the transaction is committed are cached again, and removed when
+            // it's committed
+            try (Connection pooledConnection = pool.getConnection()) {
+                pooledConnection.setAutoCommit(false);
+                SqlQuery.update(TABLE_1)
+                        .set(COL_2.value(60))
+                        .where(COL_1.equalTo("test4"))
+                        .execute(pooledConnection);
+                assertEquals(List.of("test5"), query.executeCached(connection, mapper, cache));
+                pooledConnection.commit();
+                assertEquals(List.of("test4", "test5"), query.executeCached(connection, mapper, cache));
+
+                // Also when the table is modified by an asynchronous execution on the pooled connection
+                SqlQuery.update(TABLE_1)
+                        .set(COL_2.value(40))
+                        .where(COL_1.equalTo("test4"))
+                        .executeAsync(pooledConnection)
+                        .get();
+                assertEquals(List.of("test4", "test5"), query.executeCached(connection, mapper, cache));
+                pooledConnection.commit();
+                assertEquals(List.of("test5"), query.executeCached(connection, mapper, cache));
+            }
+
+            try (Connection otherConnection = connectToSameDatabase(connection)) {
+                otherConnection.setAutoCommit(false);
+                SqlQuery.update(TABLE_1)
+                        .set(COL_2.value(60))
+                        .where(COL_1.equalTo("test4"))
+                        .execute(otherConnection);
+                assertEquals(List.of("test5"), query.executeCached(connection, mapper, cache));
+                otherConnection.commit();
+                ResultCache.transactionEnded(otherConnection);
+                assertEquals(List.of("test4", "test5"), query.executeCached(connection, mapper, cache));
+            }
+
+            // Tables are matched by name whether it's qualified by schema or not
+            cache.invalidate(Table.forName("SCHEMA_1.TABLE_1"));
+            assertEquals(0, cache.size());
+        }
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testResultCache_eviction(Connection connection) throws Exception {
+        insertRecordsInTable1(RECORDS, connection);
+
+        try (ResultCache cache = ResultCache.forMaxSize(2, Duration.ofMillis(200))) {
+            ResultSetMapper<String> mapper = rs -> rs.getString(COL_1.getName());
+            for (String col1 : List.of("test1", "test2", "test3")) {
+                SqlQuery.select(COL_1)
+                        .from(TABLE_1)
+                        .where(COL_1.equalTo(col1))
+                        .executeCached(connection, mapper, cache);
+            }
+            assertEquals(2, cache.size());
+            assertEquals(1, cache.getEvictions());
+
+            ExecutableSelectQuery query = SqlQuery.select(COL_1)
+                    .from(TABLE_1)
+                    .where(COL_1.equalTo("test3"));
+            query.executeCached(connection, mapper, cache);
+            assertEquals(1, cache.getHits());
+            Thread.sleep(300);
+            // Expired results are read again
+            query.executeCached(connection, mapper, cache);
+            assertEquals(1, cache.getHits());
+            assertEquals(4, cache.getMisses());
+        }
+        assertThrows(IllegalArgumentException.class, () -> ResultCache.forMaxSize(0, Duration.ofMinutes(1)));
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+}
@@ -22,16 +22,42 @@ package org.sql4j.sql.query.integ;
 
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.FieldSource;
+import org.sql4j.sql.query.Column;
+import org.sql4j.sql.query.ColumnarResult;
+import org.sql4j.sql.query.Filter;
+import org.sql4j.sql.query.InListPadding;
+import org.sql4j.sql.query.KeysetPage;
+import org.sql4j.sql.query.Param;
+import org.sql4j.sql.query.ResultSetMapper;
+import org.sql4j.sql.query.SelectQuery.ExecutableSelectQuery;
 import org.sql4j.sql.query.SqlQuery;
+import org.sql4j.sql.query.Table;
 
+import java.beans.ConstructorProperties;
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.sql4j.sql.query.Column.ALL;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class SelectQueryExecuteTest extends SqlQueryExecuteTestBase {
 
@@ -541,4 +567,597 @@ public class SelectQueryExecuteTest extends SqlQueryExecuteTestBase {
 
         deleteRecordsFromTable1(RECORDS, connection);
     }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testSelectQuery_stream(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS, connection);
+
+        List<String> results;
+        try (Stream<String> stream =
+                     SqlQuery.select(COL_1)
+                             .from(TABLE_1)
+                             .where(COL_2.greaterThan(10))
+                             .orderBy(COL_1)
+                             .stream(connection, rs -> rs.getString(COL_1.getName()), 2)) {
+            results = stream.toList();
+        }
+        assertEquals(RECORDS.stream().filter(record -> record.col2() > 10).map(Table1Row::col1).sorted().toList(), results);
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testSelectQuery_stream_stopEarly(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS, connection);
+
+        List<ResultSet> resultSets = new ArrayList<>();
+        List<String> results;
+        try (Stream<String> stream =
+                     SqlQuery.select(COL_1)
+                             .from(TABLE_1)
+                             .orderBy(COL_1)
+                             .stream(connection, rs -> {
+                                 resultSets.add(rs);
+                                 return rs.getString(COL_1.getName());
+                             })) {
+            results = stream.limit(2).toList();
+            assertFalse(resultSets.getFirst().isClosed());
+        }
+        assertEquals(RECORDS.stream().map(Table1Row::col1).sorted().limit(2).toList(), results);
+        assertTrue(resultSets.getFirst().isClosed());
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testSelectQuery_params(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS, connection);
+
+        Param<Integer> min = Param.forName("MIN");
+        ExecutableSelectQuery template =
+                SqlQuery.select(COL_1)
+                        .from(TABLE_1)
+                        .where(COL_2.greaterThanOrEqualTo(min))
+                        .orderBy(COL_1);
+
+        for (int col2 : List.of(10, 30, 50)) {
+            List<String> results = template.bind(min.value(col2)).execute(connection, rs -> rs.getString(COL_1.getName()));
+            assertEquals(RECORDS.stream().filter(record -> record.col2() >= col2).map(Table1Row::col1).toList(), results);
+        }
+        assertThrows(IllegalStateException.class, () -> template.execute(connection, rs -> rs.getString(COL_1.getName())));
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testSelectQuery_inChunks(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS, connection);
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            names.add("test" + i);
+        }
+        Param<Integer> min = Param.forName("MIN");
+        ExecutableSelectQuery query =
+                SqlQuery.select(COL_1)
+                        .from(TABLE_1)
+                        .where(COL_2.greaterThan(min)
+                                .and(COL_1.in(names))
+                                .and(COL_2.lessThan(50)))
+                        .bind(min.value(10));
+        List<String> expectedResults = RECORDS.stream()
+                .filter(record -> record.col2() > 10 && record.col2() < 50)
+                .map(Table1Row::col1)
+                .toList();
+
+        List<String> results = query.executeInChunks(connection, rs -> rs.getString(COL_1.getName()), 7);
+        assertEquals(expectedResults, results.stream().sorted().toList());
+
+        try (Connection otherConnection = connectToSameDatabase(connection)) {
+            results = query.executeInChunks(List.of(connection, otherConnection), rs -> rs.getString(COL_1.getName()), 3);
+            assertEquals(expectedResults, results.stream().sorted().toList());
+        }
+
+        // The IN list may also occur elsewhere in the filter, where it isn't chunked
+        Filter inNames = COL_1.in(names);
+        results = SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .where(COL_2.lessThan(15).or(inNames.negate()).and(inNames))
+                .executeInChunks(connection, rs -> rs.getString(COL_1.getName()), 7);
+        assertEquals(RECORDS.stream().filter(record -> record.col2() < 15).map(Table1Row::col1).toList(),
+                results.stream().sorted().toList());
+        results = SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .where(inNames.and(COL_2.lessThan(15).or(inNames)))
+                .executeInChunks(connection, rs -> rs.getString(COL_1.getName()), 7);
+        assertEquals(RECORDS.size(), results.size());
+
+        // Not chunked if the IN list is an operand of OR, or has at most chunkSize values
+        results = SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .where(COL_1.in(names).or(COL_2.equalTo(10)))
+                .executeInChunks(connection, rs -> rs.getString(COL_1.getName()), 7);
+        assertEquals(RECORDS.size(), results.size());
+        results = SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .where(COL_1.in(names.subList(0, 995), InListPadding.POWERS_OF_TWO))
+                .executeInChunks(connection, rs -> rs.getString(COL_1.getName()), 100);
+        assertEquals(RECORDS.size(), results.size());
+        results = query.executeInChunks(connection, rs -> rs.getString(COL_1.getName()), 1000);
+        assertEquals(expectedResults, results.stream().sorted().toList());
+        assertThrows(IllegalArgumentException.class, () -> query.executeInChunks(connection, rs -> rs.getString(COL_1.getName()), 0));
+        assertThrows(IllegalStateException.class, () -> SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .where(COL_1.in(names))
+                .orderBy(COL_1)
+                .limit(2, 1)
+                .executeInChunks(connection, rs -> rs.getString(COL_1.getName()), 7));
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testSelectQuery_inPartitions(Connection connection) throws SQLException {
+        List<Table1Row> records = new ArrayList<>(RECORDS);
+        records.add(Table1Row.builder().col1("test6").col2(45).build());
+        records.add(Table1Row.builder().col1("test7").col2(12).build());
+        insertRecordsInTable1(records, connection);
+
+        try (Connection otherConnection = connectToSameDatabase(connection);
+             Connection thirdConnection = connectToSameDatabase(connection)) {
+            List<Connection> cons = List.of(connection, otherConnection, thirdConnection);
+
+            List<String> results = SqlQuery.select(COL_1)
+                    .from(TABLE_1)
+                    .executeInPartitions(cons, rs -> rs.getString(COL_1.getName()), COL_2);
+            assertEquals(records.stream().map(Table1Row::col1).sorted().toList(), results.stream().sorted().toList());
+
+            // Results of the partitions are merged in the order of ORDER BY clause
+            results = SqlQuery.select(COL_1, COL_2)
+                    .from(TABLE_1)
+                    .where(COL_2.equalTo(10).or(COL_2.greaterThan(40)))
+                    .orderBy(COL_1.desc())
+                    .executeInPartitions(cons, rs -> rs.getString(COL_1.getName()), COL_2);
+            assertEquals(List.of("test6", "test5", "test2", "test1"), results);
+            results = SqlQuery.select(COL_1, COL_2)
+                    .from(TABLE_1)
+                    .orderBy(COL_1.desc())
+                    .executeInPartitions(cons, rs -> rs.getString(COL_1.getName()), COL_2, 12, 45);
+            assertEquals(List.of("test7", "test6", "test4", "test3"), results);
+            // Also if the ORDER BY columns are selected with an alias
+            results = SqlQuery.select(COL_1.as("NAME"), COL_2)
+                    .from(TABLE_1)
+                    .orderBy(COL_1.desc())
+                    .executeInPartitions(cons, rs -> rs.getString("NAME"), COL_2, 12, 45);
+            assertEquals(List.of("test7", "test6", "test4", "test3"), results);
+
+            // Rows with null values of the partition column aren't selected
+            results = SqlQuery.select(COL_1)
+                    .from(TABLE_1)
+                    .executeInPartitions(cons, rs -> rs.getString(COL_1.getName()), COL_4,
+                            Date.valueOf("2025-01-01"), Date.valueOf("2025-01-31"));
+            assertEquals(List.of("test3", "test4", "test5"), results.stream().sorted().toList());
+
+            results = SqlQuery.select(COL_1)
+                    .from(TABLE_1)
+                    .where(COL_2.greaterThan(100))
+                    .executeInPartitions(cons, rs -> rs.getString(COL_1.getName()), COL_2);
+            assertEquals(List.of(), results);
+            assertThrows(IllegalArgumentException.class, () -> SqlQuery.select(COL_1)
+                    .from(TABLE_1)
+                    .executeInPartitions(cons, rs -> rs.getString(COL_1.getName()), COL_3));
+
+            // A limit would apply to each partition separately
+            ExecutableSelectQuery limitedQuery = SqlQuery.select(COL_1, COL_2)
+                    .from(TABLE_1)
+                    .orderBy(COL_2)
+                    .limit(2);
+            assertThrows(IllegalStateException.class, () -> limitedQuery.executeInPartitions(cons, rs -> rs.getString(COL_1.getName()), COL_2));
+            assertThrows(IllegalStateException.class, () -> limitedQuery.executeInPartitions(cons, rs -> rs.getString(COL_1.getName()), COL_2, 10, 50));
+        }
+
+        deleteRecordsFromTable1(records, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testSelectQuery_rowMapper(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS, connection);
+
+        ExecutableSelectQuery query =
+                SqlQuery.select(COL_1, COL_2, COL_3, COL_4, COL_5, COL_6)
+                        .from(TABLE_1)
+                        .orderBy(COL_1);
+        List<Table1Row> results = query.execute(connection, query.rowMapper(row -> new Table1Row(
+                row.get(COL_1),
+                row.getInt(COL_2),
+                row.get(COL_3, Double.class),
+                row.getDate(COL_4),
+                row.getTime(COL_5),
+                row.getTimestamp(COL_6))));
+        assertEquals(RECORDS, results);
+
+        // Columns resolved by their labels
+        Column<Integer> col2 = COL_2.as("C 2");
+        query = SqlQuery.select(ALL, col2)
+                .from(TABLE_1)
+                .orderBy(COL_1);
+        List<String> values = query.execute(connection, query.rowMapper(row ->
+                row.getString(COL_1) + row.getInt(col2) + row.getInt(COL_2.as("C 2"))));
+        assertEquals(RECORDS.stream().map(record -> record.col1() + record.col2() + record.col2()).toList(), values);
+        ExecutableSelectQuery query2 = query;
+        assertThrows(IllegalArgumentException.class, () -> query2.execute(connection, query2.rowMapper(row -> row.get(Column.forName("COL_7")))));
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testSelectQuery_forType(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS, connection);
+
+        ExecutableSelectQuery query =
+                SqlQuery.select(ALL)
+                        .from(TABLE_1)
+                        .orderBy(COL_1);
+        ResultSetMapper<Table1Row> mapper = ResultSetMapper.forType(Table1Row.class);
+        assertEquals(RECORDS, query.execute(connection, mapper));
+        // Mapping is reused for another result set with the same columns
+        assertEquals(RECORDS, query.execute(connection, mapper));
+
+        List<Col1AndCol3> results =
+                SqlQuery.select(COL_3, COL_1)
+                        .from(TABLE_1)
+                        .orderBy(COL_1)
+                        .execute(connection, ResultSetMapper.forType(Col1AndCol3.class));
+        assertEquals(RECORDS.stream().map(Table1Row::col1).toList(), results.stream().map(result -> result.col1).toList());
+        assertEquals(RECORDS.stream().map(record -> record.col3() == null ? 0 : record.col3()).toList(), results.stream().map(result -> result.col3).toList());
+
+        assertThrows(IllegalArgumentException.class, () -> SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .execute(connection, ResultSetMapper.forType(Table1Row.class)));
+        assertThrows(IllegalArgumentException.class, () -> ResultSetMapper.forType(String.class));
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testSelectQuery_primitives(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS, connection);
+
+        int[] ints =
+                SqlQuery.select(COL_2)
+                        .from(TABLE_1)
+                        .orderBy(COL_1)
+                        .executeInts(connection);
+        assertArrayEquals(RECORDS.stream().mapToInt(Table1Row::col2).toArray(), ints);
+
+        long[] longs =
+                SqlQuery.select(ALL.count())
+                        .from(TABLE_1)
+                        .executeLongs(connection);
+        assertArrayEquals(new long[]{RECORDS.size()}, longs);
+
+        ExecutableSelectQuery query =
+                SqlQuery.select(COL_3)
+                        .from(TABLE_1)
+                        .orderBy(COL_1);
+        assertArrayEquals(RECORDS.stream().mapToDouble(record -> record.col3() == null ? Double.NaN : record.col3()).toArray(),
+                query.executeDoubles(connection, Double.NaN));
+        assertThrows(IllegalStateException.class, () -> query.executeDoubles(connection));
+
+        // Results larger than the initial capacity
+        int[] manyInts =
+                SqlQuery.select(COL_2.of(TABLE_1))
+                        .from(TABLE_1, TABLE_1.as("T_2"), TABLE_1.as("T_3"))
+                        .executeInts(connection);
+        assertEquals(RECORDS.size() * RECORDS.size() * RECORDS.size(), manyInts.length);
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testSelectQuery_columnar(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS, connection);
+
+        Column<String> col1 = COL_1.as("C 1");
+        ColumnarResult result =
+                SqlQuery.select(col1, COL_2, COL_3, COL_4, ALL.count().as("COUNT"))
+                        .from(TABLE_1)
+                        .groupBy(COL_1, COL_2, COL_3, COL_4)
+                        .orderBy(COL_1)
+                        .executeColumnar(connection);
+
+        assertEquals(RECORDS.size(), result.getRowCount());
+        assertEquals(5, result.getColumnCount());
+        int c1 = result.indexOf(col1);
+        int c2 = result.indexOf(COL_2);
+        int c3 = result.indexOf(COL_3);
+        int c4 = result.indexOf(COL_4);
+        int count = result.indexOf(Column.forName("count"));
+        for (int row = 0; row < RECORDS.size(); ++row) {
+            Table1Row record = RECORDS.get(row);
+            assertEquals(record.col1(), result.getString(c1, row));
+            assertEquals(record.col1(), result.getDictionary(c1).get(result.getCode(c1, row)));
+            assertEquals(record.col2(), result.getInt(c2, row));
+            assertEquals(record.col2(), result.getLong(c2, row));
+            assertEquals(record.col3() == null, result.isNull(c3, row));
+            assertEquals(record.col3() == null ? 0 : record.col3(), result.getDouble(c3, row));
+            assertEquals(record.col3(), result.getObject(c3, row));
+            assertEquals(record.col4(), result.getObject(c4, row));
+            assertEquals(1, result.getLong(count, row));
+        }
+        // Values are read in the order of the rows
+        assertEquals(List.of(10, 30, 40, 50), IntStream.range(0, result.getRowCount())
+                .map(row -> result.getInt(c2, row)).distinct().boxed().toList());
+        assertThrows(IllegalStateException.class, () -> result.getString(c2, 0));
+        assertThrows(IllegalStateException.class, () -> result.getInt(c1, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> result.isNull(c1, RECORDS.size()));
+        assertThrows(IllegalArgumentException.class, () -> result.indexOf(COL_5));
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testSelectQuery_keysetPagination(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS, connection);
+
+        ExecutableSelectQuery query =
+                SqlQuery.select(COL_1, COL_2)
+                        .from(TABLE_1)
+                        .orderBy(COL_2.desc(), COL_1);
+        ResultSetMapper<String> mapper = rs -> rs.getString(COL_1.getName());
+        KeysetPage<String> page = query.executePage(connection, mapper, 2, null);
+        assertEquals(List.of("test5", "test4"), page.getRows());
+        assertEquals(List.of(40, "test4"), page.getLastKey());
+        assertFalse(page.isLast());
+        page = query.executePage(connection, mapper, 2, page.getLastKey());
+        assertEquals(List.of("test3", "test1"), page.getRows());
+        // The next page starts after the last row among the rows with the same COL_2
+        page = query.executePage(connection, mapper, 2, page.getLastKey());
+        assertEquals(List.of("test2"), page.getRows());
+        assertTrue(page.isLast());
+
+        for (boolean prefetch : List.of(false, true)) {
+            Iterator<KeysetPage<String>> pages = SqlQuery.select(COL_1, COL_2)
+                    .from(TABLE_1)
+                    .where(COL_2.equalTo(10).or(COL_2.greaterThan(30)))
+                    .orderBy(COL_2.desc(), COL_1)
+                    .pages(connection, mapper, 2, prefetch);
+            List<List<String>> rows = new ArrayList<>();
+            pages.forEachRemaining(p -> rows.add(p.getRows()));
+            assertEquals(List.of(List.of("test5", "test4"), List.of("test1", "test2")), rows);
+            assertFalse(pages.hasNext());
+        }
+
+        assertThrows(IllegalStateException.class, () -> SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .executePage(connection, mapper, 2, null));
+        assertThrows(IllegalArgumentException.class, () -> query.executePage(connection, mapper, 2, List.of(40)));
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testSelectQuery_limit(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS, connection);
+
+        ResultSetMapper<String> mapper = rs -> rs.getString(COL_1.getName());
+        assertEquals(List.of("test1", "test2"), SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .orderBy(COL_2, COL_1)
+                .limit(2)
+                .execute(connection, mapper));
+        assertEquals(List.of("test2", "test3"), SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .orderBy(COL_2, COL_1)
+                .limit(2, 1)
+                .execute(connection, mapper));
+        assertEquals(3, SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .limit(3)
+                .execute(connection, mapper)
+                .size());
+        assertEquals(List.of("test3"), SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .where(COL_2.greaterThan(10))
+                .orderBy(COL_2)
+                .limit(1)
+                .stream(connection, mapper)
+                .toList());
+
+        assertThrows(IllegalArgumentException.class, () -> SqlQuery.select(COL_1).from(TABLE_1).limit(0));
+        assertThrows(IllegalArgumentException.class, () -> SqlQuery.select(COL_1).from(TABLE_1).limit(1, -1));
+        assertThrows(IllegalStateException.class, () -> SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .orderBy(COL_1)
+                .limit(2)
+                .executePage(connection, mapper, 2, null));
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testSelectQuery_firstAndSingle(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS, connection);
+
+        ResultSetMapper<String> mapper = rs -> rs.getString(COL_1.getName());
+        assertEquals(Optional.of("test5"), SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .orderBy(COL_2.desc())
+                .executeFirst(connection, mapper));
+        assertEquals(Optional.of("test2"), SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .orderBy(COL_1)
+                .limit(3, 1)
+                .executeFirst(connection, mapper));
+        assertEquals(Optional.empty(), SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .where(COL_2.greaterThan(1000))
+                .executeFirst(connection, mapper));
+
+        assertEquals(Optional.of("test3"), SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .where(COL_1.equalTo("test3"))
+                .executeSingle(connection, mapper));
+        assertEquals(Optional.empty(), SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .where(COL_1.equalTo("test7"))
+                .executeSingle(connection, mapper));
+        assertThrows(IllegalStateException.class, () -> SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .where(COL_2.equalTo(10))
+                .executeSingle(connection, mapper));
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testSelectQuery_existsAndCount(Connection connection) throws SQLException {
+        assertFalse(SqlQuery.select(COL_1).from(TABLE_1).executeExists(connection));
+        assertEquals(0, SqlQuery.select(COL_1).from(TABLE_1).executeCount(connection));
+
+        insertRecordsInTable1(RECORDS, connection);
+
+        assertTrue(SqlQuery.select(COL_1).from(TABLE_1).executeExists(connection));
+        assertEquals(RECORDS.size(), SqlQuery.select(COL_1).from(TABLE_1).executeCount(connection));
+        assertTrue(SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .where(COL_2.equalTo(10))
+                .executeExists(connection));
+        assertEquals(2, SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .where(COL_2.equalTo(10))
+                .executeCount(connection));
+        assertFalse(SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .where(COL_2.greaterThan(1000).and(COL_1.equalTo("test1")))
+                .executeExists(connection));
+        assertEquals(0, SqlQuery.select(COL_1)
+                .from(TABLE_1)
+                .where(COL_2.greaterThan(1000))
+                .executeCount(connection));
+
+        // Distinct values and aggregates are counted as they are selected
+        assertEquals(4, SqlQuery.select(COL_2.distinct())
+                .from(TABLE_1)
+                .executeCount(connection));
+        assertEquals(1, SqlQuery.select(COL_2.distinct())
+                .from(TABLE_1)
+                .where(COL_2.equalTo(10))
+                .executeCount(connection));
+        assertTrue(SqlQuery.select(COL_2.distinct())
+                .from(TABLE_1)
+                .where(COL_2.equalTo(10))
+                .executeExists(connection));
+        assertEquals(1, SqlQuery.select(COL_2.max())
+                .from(TABLE_1)
+                .where(COL_2.greaterThan(1000))
+                .executeCount(connection));
+        assertTrue(SqlQuery.select(COL_2.max())
+                .from(TABLE_1)
+                .where(COL_2.greaterThan(1000))
+                .executeExists(connection));
+        assertEquals(1, SqlQuery.select(COL_2.max().as("MAX_COL_2"))
+                .from(TABLE_1)
+                .where(COL_2.greaterThan(1000))
+                .executeCount(connection));
+        // Other functions of columns are a value per matching row
+        assertEquals(2, SqlQuery.select(Column.forName("UPPER(" + COL_1.getName() + ")"))
+                .from(TABLE_1)
+                .where(COL_2.equalTo(10))
+                .executeCount(connection));
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testSelectQuery_async(Connection connection) throws Exception {
+        insertRecordsInTable1(RECORDS, connection);
+
+        try (Connection otherConnection = connectToSameDatabase(connection)) {
+            CompletableFuture<List<String>> future1 =
+                    SqlQuery.select(COL_1)
+                            .from(TABLE_1)
+                            .where(COL_2.equalTo(10))
+                            .executeAsync(connection, rs -> rs.getString(COL_1.getName()));
+            CompletableFuture<List<Integer>> future2 =
+                    SqlQuery.select(COL_2)
+                            .from(TABLE_1)
+                            .where(COL_1.equalTo("test3"))
+                            .executeAsync(otherConnection, rs -> rs.getInt(COL_2.getName()));
+
+            assertEquals(List.of("test1", "test2"), future1.get().stream().sorted().toList());
+            assertEquals(List.of(30), future2.get());
+        }
+
+        CompletableFuture<List<String>> failed =
+                SqlQuery.select(Column.forName("COL_7"))
+                        .from(TABLE_1)
+                        .executeAsync(connection, rs -> rs.getString(1));
+        ExecutionException e = assertThrows(ExecutionException.class, failed::get);
+        assertInstanceOf(SQLException.class, e.getCause());
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testSelectQuery_async_cancel(Connection connection) throws Exception {
+        assumeTrue(connection.getMetaData().getURL().startsWith("jdbc:h2:"), "uses H2 specific functions");
+
+        CompletableFuture<List<Long>> future;
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            future = SqlQuery.select(ALL.count().as("COUNT"))
+                    .from(Table.forName("SYSTEM_RANGE(1, 1000000000000)"))
+                    .where(Column.forName("MOD(X, 7)").equalTo(7))
+                    .executeAsync(connection, rs -> rs.getLong("COUNT"), executor);
+            Thread.sleep(200);
+            assertTrue(future.cancel(true));
+            assertTrue(future.cancel(true));
+            // The future completes once the execution has stopped using the connection
+            assertThrows(CancellationException.class, future::join);
+        }
+        assertTrue(future.isCancelled());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30));
+
+        // The connection can be used again
+        assertEquals(List.of(1), SqlQuery.select(ALL.count().as("COUNT"))
+                .from(Table.forName("SYSTEM_RANGE(1, 1)"))
+                .execute(connection, rs -> rs.getInt("COUNT")));
+
+        // Cancelled before it starts
+        List<Runnable> tasks = new ArrayList<>();
+        CompletableFuture<List<Integer>> notStarted = SqlQuery.select(ALL.count().as("COUNT"))
+                .from(Table.forName("SYSTEM_RANGE(1, 1)"))
+                .executeAsync(connection, rs -> rs.getInt("COUNT"), tasks::add);
+        assertTrue(notStarted.cancel(true));
+        assertTrue(notStarted.isCancelled());
+        tasks.forEach(Runnable::run);
+        assertTrue(notStarted.isCancelled());
+    }
+
+    public static class Col1AndCol3 {
+        private final String col1;
+        private final double col3;
+
+        @ConstructorProperties({"col1", "col3"})
+        public Col1AndCol3(String col1, double col3) {
+            this.col1 = col1;
+            this.col3 = col3;
+        }
+    }
 }
@@ -26,6 +26,9 @@ import org.junit.jupiter.api.BeforeAll;
 import org.sql4j.sql.query.Column;
 import org.sql4j.sql.query.Table;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -102,6 +105,44 @@ public abstract class SqlQueryExecuteTestBase {
         }
     }
 
+    /**
+     * Opens another connection to the database of the given connection, e.g. to execute queries in parallel
+     */
+    protected static Connection connectToSameDatabase(Connection connection) throws SQLException {
+        String dbUrl = connection.getMetaData().getURL();
+        return dbUrl.startsWith("jdbc:h2:")
+                ? DriverManager.getConnection(dbUrl, "sa", "")
+                : DriverManager.getConnection(dbUrl, System.getenv("DB_USER"), System.getenv("DB_PASS"));
+    }
+
+    /**
+     * Wraps the given connection to report the given database product name, e.g. to execute queries as they are executed
+     * on databases whose sql is rendered differently
+     */
+    protected static Connection withDatabaseProductName(Connection connection, String productName) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        DatabaseMetaData otherMetaData = (DatabaseMetaData) Proxy.newProxyInstance(DatabaseMetaData.class.getClassLoader(),
+                new Class<?>[] {DatabaseMetaData.class},
+                (proxy, method, args) -> method.getName().equals("getDatabaseProductName") ? productName : invoke(metaData, method, args));
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getMetaData" -> otherMetaData;
+                    // The wrapper is another connection than the wrapped one e.g. as a key of a map
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> invoke(connection, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
     protected void insertRecordsInTable1(List<Table1Row> records, Connection connection) throws SQLException {
         System.out.println("\nUsing connection: " + connection);
 
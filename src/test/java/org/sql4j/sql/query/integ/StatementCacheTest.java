@@ -0,0 +1,93 @@
+package org.sql4j.sql.query.integ;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.FieldSource;
+import org.sql4j.sql.query.SqlQuery;
+import org.sql4j.sql.query.StatementCache;
+
+import java.sql.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StatementCacheTest extends SqlQueryExecuteTestBase {
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testStatementCache_hitsAndMisses(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS, connection);
+
+        try (StatementCache cache = StatementCache.forConnection(connection, 10)) {
+            for (String col1 : List.of("test1", "test2", "test3")) {
+                List<Integer> results =
+                        SqlQuery.select(COL_2)
+                                .from(TABLE_1)
+                                .where(COL_1.equalTo(col1))
+                                .execute(cache.getConnection(), rs -> rs.getInt(COL_2.getName()));
+                assertEquals(RECORDS.stream().filter(record -> record.col1().equals(col1)).map(Table1Row::col2).toList(), results);
+            }
+
+            assertEquals(1, cache.getMisses());
+            assertEquals(2, cache.getHits());
+            assertEquals(0, cache.getEvictions());
+            assertEquals(1, cache.size());
+        }
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testStatementCache_eviction(Connection connection) throws SQLException {
+        try (StatementCache cache = StatementCache.forConnection(connection, 1)) {
+            Connection cachingConnection = cache.getConnection();
+            PreparedStatement stmt1 = cachingConnection.prepareStatement("SELECT 1");
+            PreparedStatement stmt2 = cachingConnection.prepareStatement("SELECT 1");
+            PreparedStatement stmt3 = cachingConnection.prepareStatement("SELECT 2");
+            stmt1.close();
+            // Only one of the two statements with the same sql is cached, the other one is closed
+            stmt2.close();
+            // Caching stmt3 evicts the least recently used stmt1
+            stmt3.close();
+
+            assertTrue(stmt1.isClosed());
+            assertEquals(3, cache.getMisses());
+            assertEquals(1, cache.getEvictions());
+            assertEquals(1, cache.size());
+
+            try (PreparedStatement stmt = cachingConnection.prepareStatement("SELECT 2")) {
+                assertNotSame(stmt3, stmt);
+                assertFalse(stmt.isClosed());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(2, rs.getInt(1));
+                }
+            }
+            assertEquals(1, cache.getHits());
+        }
+        assertFalse(connection.isClosed());
+    }
+}
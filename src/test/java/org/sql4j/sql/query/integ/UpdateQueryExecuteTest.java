@@ -23,11 +23,17 @@ package org.sql4j.sql.query.integ;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.FieldSource;
 import org.sql4j.sql.query.Column;
+import org.sql4j.sql.query.Param;
+import org.sql4j.sql.query.ParamValue;
 import org.sql4j.sql.query.SqlQuery;
 
 import java.sql.*;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class UpdateQueryExecuteTest extends SqlQueryExecuteTestBase {
 
@@ -141,4 +147,76 @@ public class UpdateQueryExecuteTest extends SqlQueryExecuteTestBase {
 
         assertEquals(1, rowCount);
     }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testUpdateQuery_batch(Connection connection) throws SQLException {
+        Column<Double> COL_3 = Column.forNameAndType("COL_3", Types.DOUBLE);
+
+        insertRecordsInTable1(RECORDS, connection);
+
+        Param<Integer> col2 = Param.forName("COL_2");
+        Param<Double> col3 = Param.forName("COL_3");
+        Param<String> col1 = Param.forName("COL_1");
+
+        int[] rowCounts =
+                SqlQuery.update(TABLE_1)
+                        .set(COL_2.param(col2), COL_3.param(col3))
+                        .where(COL_1.equalTo(col1))
+                        .executeBatch(connection, List.of(
+                                new ParamValue[] {col2.value(1), col3.value(1.1), col1.value("test1")},
+                                new ParamValue[] {col2.value(2), col3.value(null), col1.value("test2")},
+                                new ParamValue[] {col2.value(6), col3.value(1.6), col1.value("test6")}), 2);
+
+        assertArrayEquals(new int[] {1, 1, 0}, rowCounts);
+        assertEquals(List.of(
+                        Table1Row.builder().col1("test1").col2(1).col3(1.1).build(),
+                        Table1Row.builder().col1("test2").col2(2).col3(null).build()),
+                SqlQuery.select(COL_1, COL_2, COL_3)
+                        .from(TABLE_1)
+                        .where(COL_1.in("test1", "test2"))
+                        .orderBy(COL_1)
+                        .execute(connection, rs -> Table1Row.builder()
+                                .col1(rs.getString(COL_1.getName()))
+                                .col2(rs.getInt(COL_2.getName()))
+                                .col3(rs.getObject(COL_3.getName(), Double.class))
+                                .build()));
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testUpdateQuery_returning(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS, connection);
+
+        // The second connection executes the query as on a database without data change delta tables
+        for (Connection con : List.of(connection, withDatabaseProductName(connection, "PostgreSQL"))) {
+            double col3 = con == connection ? 2.0 : 3.0;
+            List<String> updatedRows = SqlQuery.update(TABLE_1)
+                    .set(COL_3.value(col3))
+                    .where(COL_2.equalTo(10))
+                    .executeReturning(con, rs -> rs.getString(COL_1.getName()) + "=" + rs.getDouble(COL_3.getName()));
+
+            assertEquals(List.of("test1=" + col3, "test2=" + col3), updatedRows.stream().sorted().toList());
+            assertTrue(connection.getAutoCommit());
+        }
+
+        // Rows are returned also if the update changes the columns of the condition, but not if it changes the key
+        for (Connection con : List.of(connection, withDatabaseProductName(connection, "PostgreSQL"))) {
+            int col2 = con == connection ? 10 : 20;
+            List<String> updatedRows = SqlQuery.update(TABLE_1)
+                    .set(COL_2.value(col2 + 10))
+                    .where(COL_2.equalTo(col2))
+                    .executeReturning(con, rs -> rs.getString(COL_1.getName()) + "=" + rs.getInt(COL_2.getName()));
+
+            assertEquals(List.of("test1=" + (col2 + 10), "test2=" + (col2 + 10)), updatedRows.stream().sorted().toList());
+        }
+        assertThrows(UnsupportedOperationException.class, () -> SqlQuery.update(TABLE_1)
+                .set(COL_1.value("test6"))
+                .where(COL_1.equalTo("test1"))
+                .executeReturning(withDatabaseProductName(connection, "PostgreSQL"), rs -> rs.getString(COL_1.getName())));
+
+        deleteRecordsFromTable1(RECORDS, connection);
+    }
 }
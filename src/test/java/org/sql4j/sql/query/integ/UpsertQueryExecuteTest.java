@@ -0,0 +1,112 @@
+package org.sql4j.sql.query.integ;
+
+/*-
+ * ==============================LICENSE_START==============================
+ * io.github.kumaryoge:sql4j
+ * --
+ * Copyright (C) 2025 io.github.kumaryoge
+ * --
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ===============================LICENSE_END===============================
+ */
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.FieldSource;
+import org.sql4j.sql.query.Param;
+import org.sql4j.sql.query.SqlQuery;
+import org.sql4j.sql.query.UpsertQuery.ExecutableUpsertQuery;
+
+import java.sql.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UpsertQueryExecuteTest extends SqlQueryExecuteTestBase {
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testUpsertQuery(Connection connection) throws SQLException {
+        // Inserted as there is no row with the key
+        assertTrue(SqlQuery.upsert(TABLE_1)
+                .key(COL_1)
+                .values(COL_1.value("test"), COL_2.value(1))
+                .execute(connection) > 0);
+        // Updated as there is a row with the key
+        assertTrue(SqlQuery.upsert(TABLE_1)
+                .key(COL_1)
+                .values(COL_1.value("test"), COL_2.value(2))
+                .execute(connection) > 0);
+
+        assertEquals(List.of(2), SqlQuery.select(COL_2)
+                .from(TABLE_1)
+                .where(COL_1.equalTo("test"))
+                .execute(connection, rs -> rs.getInt(COL_2.getName())));
+
+        SqlQuery.delete()
+                .from(TABLE_1)
+                .where(COL_1.equalTo("test"))
+                .execute(connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testUpsertQuery_multipleRows(Connection connection) throws SQLException {
+        insertRecordsInTable1(RECORDS.subList(0, 2), connection);
+
+        // test1 and test2 are updated, test6 is inserted
+        int[] rowCounts = SqlQuery.upsert(TABLE_1)
+                .key(COL_1)
+                .values(List.of(
+                        List.of(COL_1.value("test1"), COL_2.value(11)),
+                        List.of(COL_1.value("test2"), COL_2.value(12)),
+                        List.of(COL_1.value("test6"), COL_2.value(16))))
+                .execute(connection, 2);
+
+        assertEquals(3, rowCounts.length);
+        assertArrayEquals(new int[] {11, 12, 16}, SqlQuery.select(COL_2)
+                .from(TABLE_1)
+                .orderBy(COL_1)
+                .executeInts(connection));
+
+        deleteRecordsFromTable1(RECORDS.subList(0, 2), connection);
+        SqlQuery.delete()
+                .from(TABLE_1)
+                .where(COL_1.equalTo("test6"))
+                .execute(connection);
+    }
+
+    @ParameterizedTest(autoCloseArguments = false)
+    @FieldSource("CONNECTIONS")
+    void testUpsertQuery_bind(Connection connection) throws SQLException {
+        Param<String> col1 = Param.forName("COL_1");
+        Param<Integer> col2 = Param.forName("COL_2");
+        ExecutableUpsertQuery template = SqlQuery.upsert(TABLE_1)
+                .key(COL_1)
+                .values(COL_1.param(col1), COL_2.param(col2));
+
+        template.bind(col1.value("test"), col2.value(1)).execute(connection);
+        template.bind(col1.value("test"), col2.value(3)).execute(connection);
+
+        assertEquals(List.of(3), SqlQuery.select(COL_2)
+                .from(TABLE_1)
+                .where(COL_1.equalTo("test"))
+                .execute(connection, rs -> rs.getInt(COL_2.getName())));
+
+        SqlQuery.delete()
+                .from(TABLE_1)
+                .where(COL_1.equalTo("test"))
+                .execute(connection);
+    }
+}